@@ -9,6 +9,8 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import io.reactivex.rxjava3.core.Flowable;
@@ -25,19 +27,26 @@ import org.jboss.logging.Logger;
 import org.reactivestreams.Publisher;
 
 /**
- * Custom JDBC cache store implementation that executes all publisher actions on the caller thread.
+ * Custom JDBC cache store implementation that executes all publisher actions on a single blocking thread.
+ * Publisher threads are allocated on subscription from a bounded {@link PublisherExecutor} shared by all JDBC stores.
  * @author Paul Ferraro
  */
 @ConfiguredBy(JDBCStoreConfiguration.class)
 public class JDBCStore<K, V> extends JdbcStringBasedStore<K, V> {
     private static final Logger LOGGER = Logger.getLogger(JDBCStore.class);
-    private static final Runnable INTERRUPT = () -> Thread.currentThread().interrupt();
+    // Signals the completion of a publisher to its thread
+    private static final Runnable COMPLETE = () -> {};
 
-    private Executor executor;
+    private final LongAdder publishedRows = new LongAdder();
+    private final AtomicInteger activePublishers = new AtomicInteger();
+    private volatile int fetchSize = Flowable.bufferSize();
 
     @Override
     public CompletionStage<Void> start(InitializationContext context) {
-        this.executor = context.getBlockingManager().asExecutor(this.getClass().getSimpleName());
+        int fetchSize = context.<JDBCStoreConfiguration>getConfiguration().table().fetchSize();
+        if (fetchSize > 0) {
+            this.fetchSize = fetchSize;
+        }
         return super.start(context);
     }
 
@@ -51,39 +60,70 @@ public class JDBCStore<K, V> extends JdbcStringBasedStore<K, V> {
         return this.blocking(this.tableOperations.publishKeys(this.connectionFactory::getConnection, this.connectionFactory::releaseConnection, segments, filter));
     }
 
+    /**
+     * @return the number of rows emitted by the publishers of this store
+     */
+    public long getPublishedRows() {
+        return this.publishedRows.sum();
+    }
+
+    /**
+     * @return the number of publishers of this store that are subscribed and not yet terminated
+     */
+    public int getActivePublishers() {
+        return this.activePublishers.get();
+    }
+
+    private <T> Flowable<T> measure(Flowable<T> flowable) {
+        return Flowable.defer(() -> {
+            this.activePublishers.incrementAndGet();
+            return flowable.doOnNext(value -> this.publishedRows.increment()).doFinally(this.activePublishers::decrementAndGet);
+        });
+    }
+
     private <T> Flowable<T> blocking(Flowable<T> flowable) {
-        if (Thread.currentThread().getThreadGroup() instanceof BlockingResource) return flowable;
+        if (Thread.currentThread().getThreadGroup() instanceof BlockingResource) return this.measure(flowable);
 
-        BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
-        // Allocate single blocking thread from pool for running queued tasks
-        this.executor.execute(new Runnable() {
-            @Override
-            public void run() {
-                // Continue executing queued tasks until interruption
-                while (!Thread.interrupted()) {
+        return publish(this.measure(flowable), PublisherExecutor.INSTANCE, this.fetchSize);
+    }
+
+    /**
+     * Executes all actions of the specified publisher on a single thread of the specified executor, allocated on subscription.
+     * The thread is released once the publisher completes, fails, or is cancelled.
+     * @param flowable a publisher
+     * @param executor the executor providing the publisher thread
+     * @param fetchSize the number of emissions requested per batch
+     * @return a publisher whose actions execute on a single publisher thread
+     */
+    static <T> Flowable<T> publish(Flowable<T> flowable, Executor executor, int fetchSize) {
+        // Defer allocation of a publisher thread until subscription
+        return Flowable.defer(() -> {
+            BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+            // Run queued tasks on a single publisher thread until completion
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
                     try {
-                        queue.take().run();
+                        Runnable task = queue.take();
+                        while (task != COMPLETE) {
+                            try {
+                                task.run();
+                            } catch (Throwable e) {
+                                LOGGER.warn(e.getLocalizedMessage(), e);
+                            }
+                            task = queue.take();
+                        }
                     } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
-                    } catch (Throwable e) {
-                        LOGGER.warn(e.getLocalizedMessage(), e);
                     }
                 }
-            }
+            });
+            // Scheduler facade that queues tasks
+            Scheduler scheduler = Schedulers.from(queue::add, false, true);
+            // Execute subscribe, unsubscribe, observer, and finally actions on same publisher thread
+            // Emissions are requested in batches of the configured fetch size
+            // Conclude with completion task, whether the publisher terminates or is cancelled
+            return flowable.subscribeOn(scheduler).unsubscribeOn(scheduler).observeOn(scheduler, false, fetchSize).doFinally(() -> queue.add(COMPLETE));
         });
-        // Scheduler facade that queues tasks
-        Scheduler scheduler = Schedulers.from(new Executor() {
-            @Override
-            public void execute(Runnable task) {
-                try {
-                    queue.put(task);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }
-        }, false, true);
-        // Execute subscribe, unsubscribe, observer, and finally actions on same blocking thread
-        // Conclude with interrupt task to signal completion
-        return flowable.subscribeOn(scheduler).unsubscribeOn(scheduler).observeOn(scheduler).doAfterTerminate(() -> queue.put(INTERRUPT));
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.clustering.infinispan.persistence.jdbc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.commons.executors.BlockingResource;
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Bounded executor, shared by all JDBC stores, running the publishers of a {@link JDBCStore}.
+ * A publisher occupies a single thread from subscription until completion, error, or cancellation.
+ * Publishers exceeding the maximum number of threads are queued until a thread becomes available,
+ * rather than exhausting the blocking thread pool of the cache container.
+ */
+enum PublisherExecutor implements Executor {
+    INSTANCE;
+
+    private static final String MAX_THREADS = "org.wildfly.clustering.infinispan.jdbc.max-publisher-threads";
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ThreadPoolExecutor executor;
+
+    PublisherExecutor() {
+        int maxThreads = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_THREADS, Integer.toString(Math.max(8, Runtime.getRuntime().availableProcessors() * 2))));
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory(new PublisherThreadFactory(), WildFlySecurityManager.getClassLoaderPrivileged(PublisherExecutor.class)));
+        // Idle threads are not retained
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        this.executor.execute(task);
+    }
+
+    /**
+     * @return the maximum number of publisher threads
+     */
+    int getMaxThreads() {
+        return this.executor.getMaximumPoolSize();
+    }
+
+    /**
+     * @return the approximate number of threads currently running a publisher
+     */
+    int getActiveThreads() {
+        return this.executor.getActiveCount();
+    }
+
+    /**
+     * Creates daemon threads recognized as blocking threads by Infinispan.
+     */
+    private static class PublisherThreadFactory implements ThreadFactory {
+        private final ThreadGroup group = new PublisherThreadGroup();
+        private final AtomicInteger index = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(this.group, task, "jdbc-store-publisher-" + this.index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static class PublisherThreadGroup extends ThreadGroup implements BlockingResource {
+        PublisherThreadGroup() {
+            super("jdbc-store-publisher");
+        }
+    }
+}
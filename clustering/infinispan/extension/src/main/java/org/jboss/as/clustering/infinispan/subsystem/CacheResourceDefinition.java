@@ -149,11 +149,13 @@ public class CacheResourceDefinition extends ChildResourceDefinition<ManagementR
 
     private final UnaryOperator<ResourceDescriptor> configurator;
     private final CacheMode mode;
+    private final FunctionExecutorRegistry<Cache<?, ?>> executors;
 
     public CacheResourceDefinition(PathElement path, UnaryOperator<ResourceDescriptor> configurator, CacheMode mode, FunctionExecutorRegistry<Cache<?, ?>> executors) {
         super(path, InfinispanExtension.SUBSYSTEM_RESOLVER.createChildResolver(path, PathElement.pathElement("cache")));
         this.configurator = configurator;
         this.mode = mode;
+        this.executors = executors;
     }
 
     @SuppressWarnings({ "deprecation", "removal" })
@@ -189,7 +191,7 @@ public class CacheResourceDefinition extends ChildResourceDefinition<ManagementR
         new NoStoreResourceDefinition().register(registration);
         new CustomStoreResourceDefinition<>().register(registration);
         new FileStoreResourceDefinition().register(registration);
-        new JDBCStoreResourceDefinition().register(registration);
+        new JDBCStoreResourceDefinition(this.executors).register(registration);
         new RemoteStoreResourceDefinition().register(registration);
         new HotRodStoreResourceDefinition().register(registration);
 
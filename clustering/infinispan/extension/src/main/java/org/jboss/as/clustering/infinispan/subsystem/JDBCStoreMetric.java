@@ -0,0 +1,47 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.infinispan.persistence.jdbc.JDBCStore;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Enumeration of management metrics for the publishers of a JDBC cache store.
+ * These metrics are undefined if the cache does not use a JDBC store.
+ */
+public enum JDBCStoreMetric implements Metric<JDBCStore<?, ?>> {
+
+    PUBLISHED_ROWS("published-rows", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(JDBCStore<?, ?> store) {
+            return new ModelNode(store.getPublishedRows());
+        }
+    },
+    ACTIVE_PUBLISHERS("active-publishers", ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        public ModelNode execute(JDBCStore<?, ?> store) {
+            return new ModelNode(store.getActivePublishers());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    JDBCStoreMetric(String name, ModelType type, AttributeAccess.Flag metricType) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                .setFlags(metricType)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
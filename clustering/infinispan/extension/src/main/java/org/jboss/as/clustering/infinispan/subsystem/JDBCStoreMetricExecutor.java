@@ -0,0 +1,35 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import java.util.Iterator;
+
+import org.infinispan.Cache;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.jboss.as.clustering.infinispan.persistence.jdbc.JDBCStore;
+import org.jboss.as.controller.capability.BinaryCapabilityNameResolver;
+import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
+
+/**
+ * Executor for metrics based on the JDBC store of a cache.
+ */
+public class JDBCStoreMetricExecutor extends CacheMetricExecutor<JDBCStore<?, ?>> {
+
+    public JDBCStoreMetricExecutor(FunctionExecutorRegistry<Cache<?, ?>> executors, BinaryCapabilityNameResolver resolver) {
+        super(executors, resolver);
+    }
+
+    @SuppressWarnings({ "deprecation", "rawtypes" })
+    @Override
+    public JDBCStore<?, ?> apply(Cache<?, ?> cache) {
+        PersistenceManager manager = cache.getAdvancedCache().getComponentRegistry().getLocalComponent(PersistenceManager.class);
+        if (manager == null) {
+            return null;
+        }
+        Iterator<JDBCStore> stores = manager.getStores(JDBCStore.class).iterator();
+        return stores.hasNext() ? stores.next() : null;
+    }
+}
@@ -16,11 +16,13 @@ import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
+import org.infinispan.Cache;
 import org.infinispan.persistence.jdbc.common.DatabaseType;
 import org.infinispan.persistence.jdbc.configuration.TableManipulationConfiguration;
 import org.infinispan.persistence.keymappers.TwoWayKey2StringMapper;
 import org.jboss.as.clustering.controller.CommonServiceDescriptor;
 import org.jboss.as.clustering.controller.ManagementResourceRegistration;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
 import org.jboss.as.clustering.infinispan.persistence.jdbc.DataSourceConnectionFactoryConfigurationBuilder;
 import org.jboss.as.clustering.infinispan.persistence.jdbc.JDBCStoreConfiguration;
@@ -32,6 +34,7 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.RequirementServiceBuilder;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.capability.BinaryCapabilityNameResolver;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
@@ -40,6 +43,7 @@ import org.jboss.modules.Module;
 import org.wildfly.clustering.server.util.MapEntry;
 import org.wildfly.subsystem.resource.capability.CapabilityReferenceRecorder;
 import org.wildfly.subsystem.service.ServiceDependency;
+import org.wildfly.subsystem.service.capture.FunctionExecutorRegistry;
 
 /**
  * Base class for store resources which require common store attributes and JDBC store attributes
@@ -95,8 +99,11 @@ public class JDBCStoreResourceDefinition extends StoreResourceDefinition<JDBCSto
         }
     }
 
-    JDBCStoreResourceDefinition() {
+    private final FunctionExecutorRegistry<Cache<?, ?>> executors;
+
+    JDBCStoreResourceDefinition(FunctionExecutorRegistry<Cache<?, ?>> executors) {
         super(PATH, InfinispanExtension.SUBSYSTEM_RESOLVER.createChildResolver(PATH, WILDCARD_PATH), new ResourceDescriptorConfigurator(), JDBCStoreConfigurationBuilder.class);
+        this.executors = executors;
     }
 
     @Override
@@ -105,6 +112,10 @@ public class JDBCStoreResourceDefinition extends StoreResourceDefinition<JDBCSto
 
         new StringTableResourceDefinition().register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new JDBCStoreMetricExecutor(this.executors, BinaryCapabilityNameResolver.GRANDPARENT_PARENT), JDBCStoreMetric.class).register(registration);
+        }
+
         return registration;
     }
 
@@ -0,0 +1,135 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.clustering.infinispan.persistence.jdbc;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import io.reactivex.rxjava3.core.Flowable;
+import io.reactivex.rxjava3.subscribers.TestSubscriber;
+
+import org.infinispan.commons.executors.BlockingResource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PublisherExecutor} and for the publishers of a {@link JDBCStore}.
+ */
+public class PublisherExecutorTestCase {
+
+    private static final int FETCH_SIZE = 10;
+
+    private final PublisherExecutor executor = PublisherExecutor.INSTANCE;
+
+    @After
+    public void destroy() throws InterruptedException {
+        // Every test must release its publisher threads
+        await(() -> this.executor.getActiveThreads() == 0);
+    }
+
+    @Test
+    public void publish() {
+        List<Thread> threads = JDBCStore.publish(Flowable.range(0, 100).map(value -> Thread.currentThread()), this.executor, FETCH_SIZE).toList().blockingGet();
+
+        Assert.assertEquals(100, threads.size());
+        Thread thread = threads.get(0);
+        // All emissions are produced on the same publisher thread
+        for (Thread emitter : threads) {
+            Assert.assertSame(thread, emitter);
+        }
+        Assert.assertNotSame(Thread.currentThread(), thread);
+        Assert.assertTrue(thread.isDaemon());
+        Assert.assertTrue(thread.getThreadGroup() instanceof BlockingResource);
+    }
+
+    @Test
+    public void deferred() throws InterruptedException {
+        Flowable<Integer> flowable = JDBCStore.publish(Flowable.just(1), this.executor, FETCH_SIZE);
+
+        // A publisher thread is not allocated until subscription
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(0, this.executor.getActiveThreads());
+
+        Assert.assertEquals(Integer.valueOf(1), flowable.blockingSingle());
+    }
+
+    @Test
+    public void cancel() throws InterruptedException {
+        AtomicInteger emitted = new AtomicInteger();
+        // Infinite publisher that only terminates on cancellation
+        Flowable<Integer> flowable = Flowable.generate(emitter -> emitter.onNext(emitted.incrementAndGet()));
+
+        TestSubscriber<Integer> subscriber = JDBCStore.publish(flowable, this.executor, FETCH_SIZE).test(1);
+        subscriber.awaitCount(1);
+        Assert.assertEquals(1, this.executor.getActiveThreads());
+
+        subscriber.cancel();
+        await(() -> this.executor.getActiveThreads() == 0);
+
+        // Emissions are requested in batches of the fetch size, and stop once cancelled
+        int count = emitted.get();
+        Assert.assertTrue(count <= FETCH_SIZE);
+        TimeUnit.MILLISECONDS.sleep(100);
+        Assert.assertEquals(count, emitted.get());
+    }
+
+    @Test
+    public void take() {
+        List<Integer> values = JDBCStore.publish(Flowable.<Integer>generate(emitter -> emitter.onNext(1)), this.executor, FETCH_SIZE).take(5).toList().blockingGet();
+        Assert.assertEquals(5, values.size());
+    }
+
+    @Test
+    public void error() {
+        Exception exception = new Exception();
+        TestSubscriber<Integer> subscriber = JDBCStore.publish(Flowable.<Integer>error(exception), this.executor, FETCH_SIZE).test();
+        subscriber.awaitDone(10, TimeUnit.SECONDS);
+        subscriber.assertError(exception);
+    }
+
+    @Test
+    public void bounded() throws InterruptedException {
+        int maxThreads = this.executor.getMaxThreads();
+        AtomicInteger started = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(maxThreads + 1);
+        Runnable task = () -> {
+            started.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                completed.countDown();
+            }
+        };
+        for (int i = 0; i <= maxThreads; ++i) {
+            this.executor.execute(task);
+        }
+        try {
+            await(() -> started.get() == maxThreads);
+            // Tasks exceeding the maximum number of threads are queued
+            TimeUnit.MILLISECONDS.sleep(100);
+            Assert.assertEquals(maxThreads, started.get());
+        } finally {
+            release.countDown();
+        }
+        Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(maxThreads + 1, started.get());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.nanoTime() < deadline);
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
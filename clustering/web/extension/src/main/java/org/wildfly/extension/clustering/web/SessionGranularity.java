@@ -13,7 +13,13 @@ import org.wildfly.clustering.session.SessionAttributePersistenceStrategy;
  */
 public enum SessionGranularity {
 
+    /**
+     * All attributes of a session are marshalled and replicated as a single value whenever any of them is mutated.
+     */
     SESSION(SessionAttributePersistenceStrategy.COARSE),
+    /**
+     * Each attribute of a session is marshalled and replicated as a separate value, only when that attribute is mutated.
+     */
     ATTRIBUTE(SessionAttributePersistenceStrategy.FINE),
     ;
     private final SessionAttributePersistenceStrategy strategy;
@@ -9,6 +9,7 @@ import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.infinispan.protostream.FileDescriptorSource;
@@ -29,6 +30,7 @@ import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilde
 import org.wildfly.clustering.marshalling.protostream.SerializationContextInitializer;
 import org.wildfly.clustering.marshalling.protostream.modules.ModuleClassLoaderMarshaller;
 import org.wildfly.clustering.marshalling.protostream.reflect.ProxyMarshaller;
+import org.wildfly.extension.clustering.web.deployment.DistributableWebDeploymentProcessor;
 
 /**
  * @author Paul Ferraro
@@ -100,6 +102,22 @@ public enum SessionMarshallerFactory implements Function<DeploymentUnit, ByteBuf
                 }
             }
 
+            // Create schemas/marshallers for simple application types, grouped by package
+            Map<String, List<SimpleTypeMarshaller<?>>> simpleTypes = new TreeMap<>();
+            for (String className : unit.getAttachmentList(DistributableWebDeploymentProcessor.SIMPLE_TYPES)) {
+                try {
+                    SimpleTypeMarshaller<?> marshaller = SimpleTypeMarshaller.of(module.getClassLoader().loadClass(className));
+                    if (marshaller != null) {
+                        simpleTypes.computeIfAbsent(marshaller.getJavaClass().getPackage().getName(), key -> new LinkedList<>()).add(marshaller);
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // Class is not visible to the deployment, let the default marshalling handle it
+                }
+            }
+            for (Map.Entry<String, List<SimpleTypeMarshaller<?>>> entry : simpleTypes.entrySet()) {
+                builder.register(new SimpleTypeSerializationContextInitializer(entry.getKey(), entry.getValue()));
+            }
+
             return new ProtoStreamByteBufferMarshaller(builder.build(), module.getClassLoader());
         }
     },
@@ -0,0 +1,347 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.infinispan.protostream.descriptors.WireType;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamReader;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamWriter;
+
+/**
+ * Compact marshaller for a simple application class, i.e. a record, or a class with a no-arg constructor extending {@link Object},
+ * whose instance fields are all of primitive, boxed primitive or string type.
+ * Each field is marshalled using its native protobuf type, in component order for records and in name order otherwise.
+ * Null and default primitive values are not written.
+ * Since field numbers are derived from the field layout of the class, the message name includes a hash of that layout,
+ * i.e. of the names, types, and order of its fields.
+ * Consequently, a value written by a different version of a class with a different layout fails to unmarshal, rather than populating the wrong fields.
+ */
+public class SimpleTypeMarshaller<T> implements ProtoStreamMarshaller<T> {
+
+    // Methods customizing the serialized form of a class
+    private static final Set<String> SERIALIZATION_METHODS = Set.of("writeObject", "readObject", "readObjectNoData", "writeReplace", "readResolve");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final Class<T> targetClass;
+    private final String messageName;
+    private final String typeName;
+    private final Constructor<T> constructor;
+    private final Field[] fields;
+    private final FieldType[] types;
+    private final Object[] defaultValues;
+
+    /**
+     * Returns a marshaller for the specified class, if it is simple.
+     * @param targetClass an application class
+     * @return a marshaller for the specified class, or null if the class is not simple
+     */
+    public static <T> SimpleTypeMarshaller<T> of(Class<T> targetClass) {
+        Package targetPackage = targetClass.getPackage();
+        if (targetPackage == null || targetPackage.getName().isEmpty() || targetClass.isInterface() || targetClass.isEnum() || Modifier.isAbstract(targetClass.getModifiers()) || targetClass.isAnonymousClass() || targetClass.isLocalClass() || (targetClass.isMemberClass() && !Modifier.isStatic(targetClass.getModifiers()))) {
+            return null;
+        }
+        List<Field> fields = new ArrayList<>();
+        for (Field field : targetClass.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                if (field.isSynthetic() || !IDENTIFIER.matcher(field.getName()).matches() || FieldType.of(field.getType()) == null) {
+                    return null;
+                }
+                fields.add(field);
+            }
+        }
+        if (fields.isEmpty()) {
+            return null;
+        }
+        try {
+            if (declaresSerializationMethods(targetClass)) {
+                return null;
+            }
+            Constructor<T> constructor;
+            if (targetClass.isRecord()) {
+                RecordComponent[] components = targetClass.getRecordComponents();
+                Class<?>[] parameterTypes = new Class<?>[components.length];
+                fields.clear();
+                for (int i = 0; i < components.length; ++i) {
+                    parameterTypes[i] = components[i].getType();
+                    fields.add(targetClass.getDeclaredField(components[i].getName()));
+                }
+                constructor = targetClass.getDeclaredConstructor(parameterTypes);
+            } else {
+                if (targetClass.getSuperclass() != Object.class || Externalizable.class.isAssignableFrom(targetClass)) {
+                    return null;
+                }
+                fields.sort(Comparator.comparing(Field::getName));
+                constructor = targetClass.getDeclaredConstructor();
+            }
+            constructor.setAccessible(true);
+            for (Field field : fields) {
+                field.setAccessible(true);
+            }
+            return new SimpleTypeMarshaller<>(targetClass, constructor, fields.toArray(new Field[0]));
+        } catch (NoSuchMethodException | NoSuchFieldException | RuntimeException e) {
+            // No suitable constructor, or class is not accessible
+            return null;
+        }
+    }
+
+    private static boolean declaresSerializationMethods(Class<?> targetClass) {
+        for (Method method : targetClass.getDeclaredMethods()) {
+            if (SERIALIZATION_METHODS.contains(method.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SimpleTypeMarshaller(Class<T> targetClass, Constructor<T> constructor, Field[] fields) {
+        this.targetClass = targetClass;
+        String packageName = targetClass.getPackage().getName();
+        this.messageName = getMessageName(targetClass, fields);
+        this.typeName = packageName + "." + this.messageName;
+        this.constructor = constructor;
+        this.fields = fields;
+        this.types = new FieldType[fields.length];
+        this.defaultValues = new Object[fields.length];
+        for (int i = 0; i < fields.length; ++i) {
+            Class<?> fieldClass = fields[i].getType();
+            this.types[i] = FieldType.of(fieldClass);
+            this.defaultValues[i] = fieldClass.isPrimitive() ? this.types[i].defaultValue : null;
+        }
+    }
+
+    /**
+     * Returns the name of the message of the specified class within its package.
+     * @param targetClass an application class
+     * @param fields the marshalled fields of the class, in field number order
+     * @return a message name, qualified by a hash of the field layout
+     */
+    static String getMessageName(Class<?> targetClass, Field[] fields) {
+        return targetClass.getName().substring(targetClass.getPackage().getName().length() + 1).replace('$', '_') + '_' + String.format("%08x", getLayout(fields).hashCode());
+    }
+
+    /**
+     * Returns a description of the field layout of a class, whose hash code is stable across JVMs.
+     * @param fields the marshalled fields of a class, in field number order
+     * @return a field layout description
+     */
+    static String getLayout(Field[] fields) {
+        StringBuilder builder = new StringBuilder();
+        for (Field field : fields) {
+            // Include the Java type, since primitive and boxed fields differ in how default values are written
+            builder.append(field.getName()).append(':').append(field.getType().getName()).append(';');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the schema of the message of this marshaller.
+     * @return a protobuf message definition
+     */
+    public String getMessageSchema() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("message ").append(this.messageName).append(" {");
+        for (int i = 0; i < this.fields.length; ++i) {
+            builder.append(" optional ").append(this.types[i].schemaType).append(' ').append(this.fields[i].getName()).append(" = ").append(i + 1).append(';');
+        }
+        return builder.append(" }").toString();
+    }
+
+    @Override
+    public T readFrom(ProtoStreamReader reader) throws IOException {
+        Object[] values = this.defaultValues.clone();
+        while (!reader.isAtEnd()) {
+            int tag = reader.readTag();
+            int index = WireType.getTagFieldNumber(tag) - 1;
+            if (index >= 0 && index < this.fields.length) {
+                values[index] = this.types[index].read(reader);
+            } else {
+                reader.skipField(tag);
+            }
+        }
+        try {
+            if (this.targetClass.isRecord()) {
+                return this.constructor.newInstance(values);
+            }
+            T result = this.constructor.newInstance();
+            for (int i = 0; i < this.fields.length; ++i) {
+                this.fields[i].set(result, values[i]);
+            }
+            return result;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void writeTo(ProtoStreamWriter writer, T value) throws IOException {
+        for (int i = 0; i < this.fields.length; ++i) {
+            Object fieldValue;
+            try {
+                fieldValue = this.fields[i].get(value);
+            } catch (IllegalAccessException e) {
+                throw new IOException(e);
+            }
+            if ((fieldValue != null) && !fieldValue.equals(this.defaultValues[i])) {
+                this.types[i].write(writer, i + 1, fieldValue);
+            }
+        }
+    }
+
+    @Override
+    public Class<? extends T> getJavaClass() {
+        return this.targetClass;
+    }
+
+    @Override
+    public String getTypeName() {
+        return this.typeName;
+    }
+
+    private enum FieldType {
+        BOOLEAN("bool", Boolean.FALSE) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return reader.readBool();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeBool(index, (Boolean) value);
+            }
+        },
+        BYTE("sint32", (byte) 0) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return (byte) reader.readSInt32();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeSInt32(index, (Byte) value);
+            }
+        },
+        SHORT("sint32", (short) 0) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return (short) reader.readSInt32();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeSInt32(index, (Short) value);
+            }
+        },
+        INTEGER("sint32", 0) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return reader.readSInt32();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeSInt32(index, (Integer) value);
+            }
+        },
+        LONG("sint64", 0L) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return reader.readSInt64();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeSInt64(index, (Long) value);
+            }
+        },
+        CHARACTER("uint32", (char) 0) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return (char) reader.readUInt32();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeUInt32(index, (Character) value);
+            }
+        },
+        FLOAT("float", 0f) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return reader.readFloat();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeFloat(index, (Float) value);
+            }
+        },
+        DOUBLE("double", 0d) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return reader.readDouble();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeDouble(index, (Double) value);
+            }
+        },
+        STRING("string", null) {
+            @Override
+            Object read(ProtoStreamReader reader) throws IOException {
+                return reader.readString();
+            }
+
+            @Override
+            void write(ProtoStreamWriter writer, int index, Object value) throws IOException {
+                writer.writeString(index, (String) value);
+            }
+        },
+        ;
+        private static final Map<Class<?>, FieldType> TYPES = Map.ofEntries(
+                Map.entry(boolean.class, BOOLEAN), Map.entry(Boolean.class, BOOLEAN),
+                Map.entry(byte.class, BYTE), Map.entry(Byte.class, BYTE),
+                Map.entry(short.class, SHORT), Map.entry(Short.class, SHORT),
+                Map.entry(int.class, INTEGER), Map.entry(Integer.class, INTEGER),
+                Map.entry(long.class, LONG), Map.entry(Long.class, LONG),
+                Map.entry(char.class, CHARACTER), Map.entry(Character.class, CHARACTER),
+                Map.entry(float.class, FLOAT), Map.entry(Float.class, FLOAT),
+                Map.entry(double.class, DOUBLE), Map.entry(Double.class, DOUBLE),
+                Map.entry(String.class, STRING));
+
+        static FieldType of(Class<?> fieldClass) {
+            return TYPES.get(fieldClass);
+        }
+
+        final String schemaType;
+        final Object defaultValue;
+
+        FieldType(String schemaType, Object defaultValue) {
+            this.schemaType = schemaType;
+            this.defaultValue = defaultValue;
+        }
+
+        abstract Object read(ProtoStreamReader reader) throws IOException;
+
+        abstract void write(ProtoStreamWriter writer, int index, Object value) throws IOException;
+    }
+}
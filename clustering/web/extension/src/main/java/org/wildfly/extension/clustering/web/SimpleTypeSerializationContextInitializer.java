@@ -0,0 +1,43 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.List;
+
+import org.infinispan.protostream.FileDescriptorSource;
+import org.wildfly.clustering.marshalling.protostream.SerializationContext;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextInitializer;
+
+/**
+ * Registers a generated schema and the marshallers of the simple application classes of a package.
+ */
+public class SimpleTypeSerializationContextInitializer implements SerializationContextInitializer {
+
+    private final String packageName;
+    private final List<SimpleTypeMarshaller<?>> marshallers;
+
+    public SimpleTypeSerializationContextInitializer(String packageName, List<SimpleTypeMarshaller<?>> marshallers) {
+        this.packageName = packageName;
+        this.marshallers = marshallers;
+    }
+
+    @Override
+    public void registerSchema(SerializationContext context) {
+        StringBuilder schemaBuilder = new StringBuilder();
+        schemaBuilder.append("package ").append(this.packageName).append(';').append(System.lineSeparator());
+        for (SimpleTypeMarshaller<?> marshaller : this.marshallers) {
+            schemaBuilder.append(marshaller.getMessageSchema()).append(System.lineSeparator());
+        }
+        context.registerProtoFiles(FileDescriptorSource.fromString(this.packageName + ".proto", schemaBuilder.toString()));
+    }
+
+    @Override
+    public void registerMarshallers(SerializationContext context) {
+        for (SimpleTypeMarshaller<?> marshaller : this.marshallers) {
+            context.registerMarshaller(marshaller);
+        }
+    }
+}
@@ -5,18 +5,33 @@
 
 package org.wildfly.extension.clustering.web.deployment;
 
+import java.lang.reflect.Modifier;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.as.controller.capability.CapabilityServiceSupport.NoSuchCapabilityException;
 import org.jboss.as.jsf.deployment.JsfVersionMarker;
+import org.jboss.as.server.deployment.AttachmentKey;
+import org.jboss.as.server.deployment.AttachmentList;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.module.ModuleDependency;
+import org.jboss.as.server.deployment.annotation.CompositeIndex;
 import org.jboss.as.server.deployment.module.ModuleSpecification;
 import org.jboss.as.weld.Capabilities;
 import org.jboss.as.weld.WeldCapability;
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.Type;
 import org.jboss.modules.Module;
 import org.jboss.modules.ModuleLoader;
 import org.wildfly.clustering.web.service.session.DistributableSessionManagementProvider;
@@ -28,6 +43,16 @@ import org.wildfly.extension.clustering.web.SessionMarshallerFactory;
  */
 public class DistributableWebDeploymentProcessor implements DeploymentUnitProcessor {
 
+    /**
+     * Names of the application classes referenced by the fields of stateful session beans and session scoped beans,
+     * for which {@link SessionMarshallerFactory#PROTOSTREAM} generates marshallers, if they are simple.
+     */
+    public static final AttachmentKey<AttachmentList<String>> SIMPLE_TYPES = AttachmentKey.createList(String.class);
+
+    private static final DotName STATEFUL = DotName.createSimple("jakarta.ejb.Stateful");
+    private static final DotName SESSION_SCOPED = DotName.createSimple("jakarta.enterprise.context.SessionScoped");
+    private static final DotName SERIALIZATION_CONTEXT_INITIALIZER = DotName.createSimple("org.infinispan.protostream.SerializationContextInitializer");
+
     private static final String WEB_API = "org.wildfly.clustering.web.api";
     private static final String MARSHALLING_API = "org.wildfly.clustering.marshalling.api";
     private static final String PROTOSTREAM = "org.infinispan.protostream";
@@ -56,6 +81,10 @@ public class DistributableWebDeploymentProcessor implements DeploymentUnitProces
                 specification.addSystemDependency(new ModuleDependency(loader, PROTOSTREAM, false, false, false, false));
                 specification.addSystemDependency(new ModuleDependency(loader, UNDERTOW, false, false, true, false));
 
+                for (String className : findSimpleTypeCandidates(unit)) {
+                    unit.addToAttachmentList(SIMPLE_TYPES, className);
+                }
+
                 CapabilityServiceSupport support = unit.getAttachment(Attachments.CAPABILITY_SERVICE_SUPPORT);
                 if (support.hasCapability(Capabilities.WELD_CAPABILITY_NAME)) {
                     try {
@@ -83,8 +112,41 @@ public class DistributableWebDeploymentProcessor implements DeploymentUnitProces
         }
     }
 
+    /**
+     * Returns the names of the indexed classes referenced by the instance fields of stateful session beans and session scoped beans,
+     * excluding the packages containing an application provided {@link org.infinispan.protostream.SerializationContextInitializer}.
+     */
+    private static Set<String> findSimpleTypeCandidates(DeploymentUnit unit) {
+        CompositeIndex index = unit.getAttachment(Attachments.COMPOSITE_ANNOTATION_INDEX);
+        if (index == null) {
+            return Set.of();
+        }
+        Set<String> excludedPackages = new HashSet<>();
+        for (ClassInfo initializer : index.getAllKnownImplementors(SERIALIZATION_CONTEXT_INITIALIZER)) {
+            excludedPackages.add(initializer.name().packagePrefix());
+        }
+        Set<String> candidates = new LinkedHashSet<>();
+        for (DotName annotation : List.of(STATEFUL, SESSION_SCOPED)) {
+            for (AnnotationInstance instance : index.getAnnotations(annotation)) {
+                if (instance.target().kind() == AnnotationTarget.Kind.CLASS) {
+                    for (FieldInfo field : instance.target().asClass().fields()) {
+                        Type type = field.type();
+                        if (!Modifier.isStatic(field.flags()) && !Modifier.isTransient(field.flags()) && (type.kind() == Type.Kind.CLASS)) {
+                            DotName name = type.name();
+                            if ((index.getClassByName(name) != null) && !excludedPackages.contains(name.packagePrefix())) {
+                                candidates.add(name.toString());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
     @Override
     public void undeploy(DeploymentUnit unit) {
         unit.removeAttachment(DistributableSessionManagementProvider.ATTACHMENT_KEY);
+        unit.removeAttachment(SIMPLE_TYPES);
     }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.jboss.modules.Module;
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.protostream.DefaultSerializationContext;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextInitializer;
+import org.wildfly.clustering.marshalling.protostream.modules.ModuleClassLoaderMarshaller;
+
+/**
+ * Unit test for {@link SimpleTypeMarshaller}.
+ */
+public class SimpleTypeMarshallerTestCase {
+
+    @Test
+    public void record() {
+        SimpleTypeMarshaller<Person> marshaller = SimpleTypeMarshaller.of(Person.class);
+        Assert.assertNotNull(marshaller);
+        // Message name is qualified by a hash of the field layout
+        String messageName = "SimpleTypeMarshallerTestCase_Person_" + String.format("%08x", "name:java.lang.String;age:int;active:java.lang.Boolean;".hashCode());
+        Assert.assertEquals(Person.class.getPackageName() + "." + messageName, marshaller.getTypeName());
+        // Record components keep their declaration order
+        Assert.assertEquals("message " + messageName + " { optional string name = 1; optional sint32 age = 2; optional bool active = 3; }", marshaller.getMessageSchema());
+    }
+
+    @Test
+    public void pojo() {
+        SimpleTypeMarshaller<Counter> marshaller = SimpleTypeMarshaller.of(Counter.class);
+        Assert.assertNotNull(marshaller);
+        // Fields are sorted by name, static and transient fields are ignored
+        String messageName = "SimpleTypeMarshallerTestCase_Counter_" + String.format("%08x", "count:long;ratio:java.lang.Double;unit:char;".hashCode());
+        Assert.assertEquals("message " + messageName + " { optional sint64 count = 1; optional double ratio = 2; optional uint32 unit = 3; }", marshaller.getMessageSchema());
+    }
+
+    @Test
+    public void layout() {
+        // Classes whose fields only differ by type or order have distinct layouts
+        Assert.assertNotEquals(layoutHash(Primitives.class), layoutHash(Boxed.class));
+        Assert.assertNotEquals(layoutHash(Person.class), layoutHash(ReorderedPerson.class));
+    }
+
+    private static String layoutHash(Class<?> targetClass) {
+        String typeName = SimpleTypeMarshaller.of(targetClass).getTypeName();
+        return typeName.substring(typeName.lastIndexOf('_') + 1);
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        ByteBufferMarshaller marshaller = createMarshaller(Person.class, ReorderedPerson.class, Primitives.class, Boxed.class, Settings.class);
+
+        // Records
+        assertRoundTrip(marshaller, new Person("Jane", 42, Boolean.TRUE));
+        assertRoundTrip(marshaller, new ReorderedPerson(Boolean.FALSE, -1, "John"));
+        // Nulls
+        assertRoundTrip(marshaller, new Person(null, 0, null));
+        assertRoundTrip(marshaller, new Boxed(null, null, null, null, null, null, null, null));
+        // Defaults, which are not written
+        assertRoundTrip(marshaller, new Primitives(false, (byte) 0, (short) 0, 0, 0L, (char) 0, 0f, 0d));
+        // Boxed zeros, which are distinct from null
+        assertRoundTrip(marshaller, new Boxed(Boolean.FALSE, (byte) 0, (short) 0, 0, 0L, (char) 0, 0f, 0d));
+        // Extreme values
+        assertRoundTrip(marshaller, new Primitives(true, Byte.MIN_VALUE, Short.MIN_VALUE, Integer.MIN_VALUE, Long.MIN_VALUE, Character.MAX_VALUE, Float.MIN_VALUE, Double.MAX_VALUE));
+        assertRoundTrip(marshaller, new Boxed(Boolean.TRUE, Byte.MAX_VALUE, Short.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, 'x', -1f, Double.NaN));
+        // Plain classes
+        assertRoundTrip(marshaller, new Settings());
+        Settings settings = new Settings();
+        settings.name = "settings";
+        settings.size = 0;
+        settings.enabled = true;
+        settings.separator = ';';
+        assertRoundTrip(marshaller, settings);
+    }
+
+    private static ByteBufferMarshaller createMarshaller(Class<?>... classes) {
+        ClassLoader loader = SimpleTypeMarshallerTestCase.class.getClassLoader();
+        List<SimpleTypeMarshaller<?>> marshallers = new ArrayList<>(classes.length);
+        for (Class<?> targetClass : classes) {
+            SimpleTypeMarshaller<?> marshaller = SimpleTypeMarshaller.of(targetClass);
+            Assert.assertNotNull(targetClass.getName(), marshaller);
+            marshallers.add(marshaller);
+        }
+        SerializationContextBuilder<SerializationContextInitializer> builder = SerializationContextBuilder.newInstance(new ModuleClassLoaderMarshaller(Module.getBootModuleLoader()), DefaultSerializationContext::new);
+        builder.register(new SimpleTypeSerializationContextInitializer(SimpleTypeMarshallerTestCase.class.getPackageName(), marshallers));
+        return new ProtoStreamByteBufferMarshaller(builder.build(), loader);
+    }
+
+    private static void assertRoundTrip(ByteBufferMarshaller marshaller, Object value) throws IOException {
+        Assert.assertTrue(marshaller.isMarshallable(value));
+        Object result = marshaller.read(marshaller.write(value));
+        Assert.assertNotSame(value, result);
+        Assert.assertEquals(value, result);
+    }
+
+    @Test
+    public void unsupported() {
+        Assert.assertNull(SimpleTypeMarshaller.of(NoDefaultConstructor.class));
+        Assert.assertNull(SimpleTypeMarshaller.of(ComplexField.class));
+        Assert.assertNull(SimpleTypeMarshaller.of(CustomSerialization.class));
+        Assert.assertNull(SimpleTypeMarshaller.of(Subclass.class));
+        Assert.assertNull(SimpleTypeMarshaller.of(Inner.class));
+    }
+
+    public record Person(String name, int age, Boolean active) {
+    }
+
+    public record ReorderedPerson(Boolean active, int age, String name) {
+    }
+
+    public record Primitives(boolean z, byte b, short s, int i, long l, char c, float f, double d) {
+    }
+
+    public record Boxed(Boolean z, Byte b, Short s, Integer i, Long l, Character c, Float f, Double d) {
+    }
+
+    public static class Settings {
+        private String name = "default";
+        private Integer size;
+        private boolean enabled;
+        private Character separator;
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.name, this.size, this.enabled, this.separator);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Settings)) return false;
+            Settings settings = (Settings) object;
+            return Objects.equals(this.name, settings.name) && Objects.equals(this.size, settings.size) && (this.enabled == settings.enabled) && Objects.equals(this.separator, settings.separator);
+        }
+    }
+
+    public static class Counter {
+        static final long INITIAL = 0L;
+        private long count = INITIAL;
+        private Double ratio;
+        private char unit;
+        private transient String label;
+    }
+
+    public static class NoDefaultConstructor {
+        private final int value;
+
+        public NoDefaultConstructor(int value) {
+            this.value = value;
+        }
+    }
+
+    public static class ComplexField {
+        private List<String> values;
+    }
+
+    public static class CustomSerialization implements Serializable {
+        private static final long serialVersionUID = 1L;
+        private int value;
+
+        private Object writeReplace() {
+            return this;
+        }
+    }
+
+    public static class Subclass extends Counter {
+        private int value;
+    }
+
+    public class Inner {
+        private int value;
+    }
+}
@@ -21,8 +21,8 @@ public class ConcurrencyImplementation30 extends AbstractConcurrencyImplementati
     }
 
     @Override
-    public WildFlyManagedThreadFactory newManagedThreadFactory(String name, WildFlyContextService contextService, int priority) {
-        return new ManagedThreadFactoryImpl(name, contextService, priority);
+    public WildFlyManagedThreadFactory newManagedThreadFactory(String name, WildFlyContextService contextService, int priority, boolean virtual) {
+        return new ManagedThreadFactoryImpl(name, contextService, priority, virtual);
     }
 
     @Override
@@ -31,7 +31,22 @@ public class ConcurrencyImplementation30 extends AbstractConcurrencyImplementati
     }
 
     @Override
-    public WildFlyManagedExecutorService newManagedExecutorService(String name, WildFlyManagedThreadFactory managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, WildFlyContextService contextService, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier) {
+    public WildFlyManagedExecutorService newManagedExecutorService(String name, WildFlyManagedThreadFactory managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, WildFlyContextService contextService, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier, boolean virtual) {
+        if (virtual) {
+            if (((ManagedThreadFactoryImpl) managedThreadFactory).isVirtual()) {
+                // each task is handed to a new virtual thread, up to max-threads concurrent tasks,
+                // beyond which tasks are queued up to queue-length, and then rejected per the reject policy
+                ManagedExecutorServiceImpl executor = new ManagedExecutorServiceImpl(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, maxPoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy, controlPoint, processStateNotifier);
+                if (keepAliveTime > 0) {
+                    // idle virtual threads are not worth retaining
+                    executor.getThreadPoolExecutor().allowCoreThreadTimeOut(true);
+                }
+                return executor;
+            }
+            // virtual threads are not supported: core-threads, ignored by a virtual executor, may exceed max-threads, which is unbounded if undefined
+            int maxThreads = (maxPoolSize == Integer.MAX_VALUE) ? corePoolSize : maxPoolSize;
+            return new ManagedExecutorServiceImpl(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, Math.min(corePoolSize, maxThreads), maxThreads, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy, controlPoint, processStateNotifier);
+        }
         return new ManagedExecutorServiceImpl(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, contextService, rejectPolicy, controlPoint, processStateNotifier);
     }
 
@@ -7,7 +7,9 @@ package org.jboss.as.ee.concurrent;
 import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
 
 /**
  * Executor runtime stats obtained from a thread pool executor.
@@ -17,15 +19,18 @@ class ManagedExecutorRuntimeStatsImpl30 implements ManagedExecutorRuntimeStats {
 
     private final AbstractManagedExecutorService abstractManagedExecutorService;
     private final ThreadPoolExecutor threadPoolExecutor;
+    private final Supplier<Collection<?>> hungVirtualThreadTasks;
 
     ManagedExecutorRuntimeStatsImpl30(ManagedExecutorServiceImpl executorService) {
         this.abstractManagedExecutorService = executorService;
         this.threadPoolExecutor = executorService.getThreadPoolExecutor();
+        this.hungVirtualThreadTasks = executorService::getHungVirtualThreadTasks;
     }
 
     ManagedExecutorRuntimeStatsImpl30(ManagedScheduledExecutorServiceImpl executorService) {
         this.abstractManagedExecutorService = executorService;
         this.threadPoolExecutor = executorService.getThreadPoolExecutor();
+        this.hungVirtualThreadTasks = Collections::emptyList;
     }
 
     @Override
@@ -46,7 +51,7 @@ class ManagedExecutorRuntimeStatsImpl30 implements ManagedExecutorRuntimeStats {
     @Override
     public int getHungThreadsCount() {
         final Collection hungThreads = abstractManagedExecutorService.getHungThreads();
-        return hungThreads != null ? hungThreads.size() : 0;
+        return (hungThreads != null ? hungThreads.size() : 0) + hungVirtualThreadTasks.get().size();
     }
 
     @Override
@@ -8,6 +8,7 @@ package org.jboss.as.ee.concurrent;
 import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
 import org.glassfish.enterprise.concurrent.AbstractManagedThread;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.internal.ManagedFutureTask;
 import org.jboss.as.controller.ProcessStateNotifier;
 import org.jboss.as.ee.logging.EeLogger;
 import org.wildfly.extension.requestcontroller.ControlPoint;
@@ -30,11 +31,13 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
     private final ControlPoint controlPoint;
     private final ProcessStateNotifier processStateNotifier;
     private final ManagedExecutorRuntimeStats runtimeStats;
+    private final long hungTaskThreshold;
 
     public ManagedExecutorServiceImpl(String name, WildFlyManagedThreadFactory managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, WildFlyContextService contextService, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, BlockingQueue<Runnable> queue, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier) {
         super(name, (ManagedThreadFactoryImpl) managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, (ContextServiceImpl) contextService, convertRejectPolicy(rejectPolicy), queue);
         this.controlPoint = controlPoint;
         this.processStateNotifier = processStateNotifier;
+        this.hungTaskThreshold = hungTaskThreshold;
         this.runtimeStats = new ManagedExecutorRuntimeStatsImpl30(this);
     }
 
@@ -42,6 +45,7 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         super(name, (ManagedThreadFactoryImpl) managedThreadFactory, hungTaskThreshold, longRunningTasks, corePoolSize, maxPoolSize, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueCapacity, (ContextServiceImpl) contextService, convertRejectPolicy(rejectPolicy));
         this.controlPoint = controlPoint;
         this.processStateNotifier = processStateNotifier;
+        this.hungTaskThreshold = hungTaskThreshold;
         this.runtimeStats = new ManagedExecutorRuntimeStatsImpl30(this);
     }
 
@@ -60,7 +64,9 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         try {
             return super.submit(doIdentityWrap(callable));
         } catch (Exception e) {
-            controlPoint.requestComplete();
+            if (controlPoint != null) {
+                controlPoint.requestComplete();
+            }
             throw e;
         }
     }
@@ -71,7 +77,9 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         try {
             return super.submit(doIdentityWrap(runnable), result);
         } catch (Exception e) {
-            controlPoint.requestComplete();
+            if (controlPoint != null) {
+                controlPoint.requestComplete();
+            }
             throw e;
         }
     }
@@ -82,7 +90,9 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         try {
             return super.submit(doIdentityWrap(runnable));
         } catch (Exception e) {
-            controlPoint.requestComplete();
+            if (controlPoint != null) {
+                controlPoint.requestComplete();
+            }
             throw e;
         }
     }
@@ -93,7 +103,9 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         try {
             super.execute(doIdentityWrap(runnable));
         } catch (Exception e) {
-            controlPoint.requestComplete();
+            if (controlPoint != null) {
+                controlPoint.requestComplete();
+            }
             throw e;
         }
     }
@@ -111,6 +123,14 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
         return runtimeStats;
     }
 
+    /**
+     *
+     * @return the hung tasks executed by virtual threads
+     */
+    Collection<ManagedFutureTask> getHungVirtualThreadTasks() {
+        return ((ManagedThreadFactoryImpl) getManagedThreadFactory()).getHungVirtualThreadTasks(hungTaskThreshold);
+    }
+
     @Override
     public void terminateHungTasks() {
         final String executorName = getClass().getSimpleName() + ":" + getName();
@@ -132,5 +152,17 @@ public class ManagedExecutorServiceImpl extends org.glassfish.enterprise.concurr
                 }
             }
         }
+        for (ManagedFutureTask task : getHungVirtualThreadTasks()) {
+            final String taskIdentityName = task.toString();
+            try {
+                if (task.cancel(true)) {
+                    EeLogger.ROOT_LOGGER.hungTaskCancelled(executorName, taskIdentityName);
+                } else {
+                    EeLogger.ROOT_LOGGER.hungTaskNotCancelled(executorName, taskIdentityName);
+                }
+            } catch (Throwable throwable) {
+                EeLogger.ROOT_LOGGER.huntTaskTerminationFailure(throwable, executorName, taskIdentityName);
+            }
+        }
     }
 }
@@ -9,6 +9,7 @@ import org.glassfish.enterprise.concurrent.AbstractManagedThread;
 import org.glassfish.enterprise.concurrent.ContextServiceImpl;
 import org.glassfish.enterprise.concurrent.internal.ManagedFutureTask;
 import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
 import org.wildfly.security.auth.server.SecurityIdentity;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
@@ -16,6 +17,14 @@ import jakarta.enterprise.concurrent.ManagedThreadFactory;
 import java.security.AccessControlContext;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * {@link ManagedThreadFactory} implementation ensuring {@link SecurityIdentity} propagation into new threads.
@@ -34,10 +43,46 @@ public class ManagedThreadFactoryImpl extends org.glassfish.enterprise.concurren
      */
     private final AccessControlContext accessControlContext;
 
+    /**
+     * the context service used to propagate context into new virtual threads
+     */
+    private final ContextServiceImpl contextService;
+
+    /**
+     * the factory of virtual threads, null if the factory creates platform threads
+     */
+    private final ThreadFactory virtualThreadFactory;
+
+    /**
+     * the virtual threads created, and not yet terminated
+     */
+    private final Set<Thread> virtualThreads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * the tasks being executed by virtual threads
+     */
+    private final Map<Thread, VirtualThreadTask> virtualThreadTasks = new ConcurrentHashMap<>();
+
+    private volatile boolean virtualThreadsStopped;
+
     public ManagedThreadFactoryImpl(String name, WildFlyContextService contextService, int priority) {
+        this(name, contextService, priority, false);
+    }
+
+    public ManagedThreadFactoryImpl(String name, WildFlyContextService contextService, int priority, boolean virtual) {
         super(name, (ContextServiceImpl) contextService, priority);
         this.priority = priority;
         this.accessControlContext = AccessController.getContext();
+        this.contextService = (ContextServiceImpl) contextService;
+        this.virtualThreadFactory = virtual ? VirtualThreads.createThreadFactory(name) : null;
+    }
+
+    /**
+     *
+     * @return true if the factory creates virtual threads, false otherwise
+     */
+    public boolean isVirtual() {
+        return virtualThreadFactory != null;
     }
 
     /**
@@ -67,11 +112,60 @@ public class ManagedThreadFactoryImpl extends org.glassfish.enterprise.concurren
         return t;
     }
 
+    @Override
+    public Thread newThread(Runnable r) {
+        if (virtualThreadFactory == null) {
+            return super.newThread(r);
+        }
+        if (virtualThreadsStopped) {
+            throw new IllegalStateException();
+        }
+        final Runnable target;
+        final ContextSetupProvider contextSetupProvider = contextService != null ? contextService.getContextSetupProvider() : null;
+        if (contextSetupProvider != null) {
+            // app thread, do identity wrap and propagate the context, as done by managed platform threads
+            final Runnable identityWrapped = SecurityIdentityUtils.doIdentityWrap(r);
+            final ContextHandle contextHandleForSetup = contextSetupProvider.saveContext(contextService);
+            target = () -> {
+                final ContextHandle contextHandleForReset = contextSetupProvider.setup(contextHandleForSetup);
+                try {
+                    identityWrapped.run();
+                } finally {
+                    contextSetupProvider.reset(contextHandleForReset);
+                }
+            };
+        } else {
+            target = r;
+        }
+        final Thread t = virtualThreadFactory.newThread(() -> {
+            try {
+                target.run();
+            } finally {
+                virtualThreads.remove(Thread.currentThread());
+            }
+        });
+        // reset thread classloader to prevent leaks
+        t.setContextClassLoader(null);
+        virtualThreads.add(t);
+        return t;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        virtualThreadsStopped = true;
+        for (Thread t : virtualThreads) {
+            t.interrupt();
+        }
+    }
+
     @Override
     public void taskStarting(Thread t, ManagedFutureTask task) {
         super.taskStarting(t, task);
         if (t instanceof ManagedThread) {
             ((ManagedThread)t).task = task;
+        } else if (virtualThreadFactory != null) {
+            virtualThreadTasks.put(t, new VirtualThreadTask(task));
         }
     }
 
@@ -80,9 +174,30 @@ public class ManagedThreadFactoryImpl extends org.glassfish.enterprise.concurren
         super.taskDone(t);
         if (t instanceof ManagedThread) {
             ((ManagedThread)t).task = null;
+        } else if (virtualThreadFactory != null) {
+            virtualThreadTasks.remove(t);
         }
     }
 
+    /**
+     * Retrieves the tasks being executed by virtual threads for longer than the specified threshold, which are not tracked as hung threads by the managed thread pool.
+     * @param hungTaskThreshold the hung task threshold, in milliseconds
+     * @return the hung tasks executed by virtual threads
+     */
+    Collection<ManagedFutureTask> getHungVirtualThreadTasks(long hungTaskThreshold) {
+        if (hungTaskThreshold <= 0 || virtualThreadTasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final long now = System.currentTimeMillis();
+        final List<ManagedFutureTask> hungTasks = new ArrayList<>();
+        for (VirtualThreadTask virtualThreadTask : virtualThreadTasks.values()) {
+            if (now - virtualThreadTask.startTime > hungTaskThreshold) {
+                hungTasks.add(virtualThreadTask.task);
+            }
+        }
+        return hungTasks;
+    }
+
     private final class CreateThreadAction implements PrivilegedAction<AbstractManagedThread> {
         private final Runnable r;
         private final ContextHandle contextHandleForSetup;
@@ -98,6 +213,19 @@ public class ManagedThreadFactoryImpl extends org.glassfish.enterprise.concurren
         }
     }
 
+    /**
+     * A task being executed by a virtual thread.
+     */
+    private static final class VirtualThreadTask {
+        private final ManagedFutureTask task;
+        private final long startTime;
+
+        private VirtualThreadTask(ManagedFutureTask task) {
+            this.task = task;
+            this.startTime = System.currentTimeMillis();
+        }
+    }
+
     /**
      * Managed thread extension, to allow canceling the task running in the thread.
      * @author emmartins
@@ -0,0 +1,166 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ee.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the virtual thread option of managed thread factories and managed executors.
+ */
+public class VirtualThreadsTestCase {
+
+    // Thread.isVirtual(), null if virtual threads are not supported by the Java runtime
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws Throwable {
+        return (IS_VIRTUAL != null) && (boolean) IS_VIRTUAL.invoke(thread);
+    }
+
+    private final ConcurrencyImplementation30 implementation = new ConcurrencyImplementation30();
+    private WildFlyContextService contextService;
+    private WildFlyManagedThreadFactory threadFactory;
+    private WildFlyManagedExecutorService executor;
+
+    @Before
+    public void init() {
+        this.contextService = this.implementation.newContextService("test", ContextServiceTypesConfiguration.DEFAULT);
+    }
+
+    @After
+    public void destroy() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+        if (this.threadFactory != null) {
+            this.threadFactory.stop();
+        }
+    }
+
+    @Test
+    public void platformThreadFactory() throws Throwable {
+        this.threadFactory = this.implementation.newManagedThreadFactory("test", this.contextService, Thread.NORM_PRIORITY, false);
+        assertFalse(((ManagedThreadFactoryImpl) this.threadFactory).isVirtual());
+
+        Thread thread = this.threadFactory.newThread(() -> { });
+        assertFalse(isVirtual(thread));
+        assertTrue(thread instanceof ManagedThreadFactoryImpl.ManagedThread);
+    }
+
+    @Test
+    public void virtualThreadFactory() throws Throwable {
+        Assume.assumeNotNull(IS_VIRTUAL);
+        this.threadFactory = this.implementation.newManagedThreadFactory("test", this.contextService, Thread.NORM_PRIORITY, true);
+        assertTrue(((ManagedThreadFactoryImpl) this.threadFactory).isVirtual());
+
+        Thread[] current = new Thread[1];
+        Thread thread = this.threadFactory.newThread(() -> current[0] = Thread.currentThread());
+        assertTrue(isVirtual(thread));
+        assertTrue(thread.getName().startsWith("test-"));
+
+        thread.start();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(thread.isAlive());
+        // The task runs on the virtual thread itself, not on a carrier thread
+        assertEquals(thread, current[0]);
+    }
+
+    @Test
+    public void virtualThreadFactoryNotSupported() throws Throwable {
+        Assume.assumeTrue(IS_VIRTUAL == null);
+        this.threadFactory = this.implementation.newManagedThreadFactory("test", this.contextService, Thread.NORM_PRIORITY, true);
+        // Falls back to platform threads
+        assertFalse(((ManagedThreadFactoryImpl) this.threadFactory).isVirtual());
+        assertTrue(this.threadFactory.newThread(() -> { }) instanceof ManagedThreadFactoryImpl.ManagedThread);
+    }
+
+    @Test
+    public void virtualExecutor() throws Throwable {
+        Assume.assumeNotNull(IS_VIRTUAL);
+        this.threadFactory = this.implementation.newManagedThreadFactory("test", this.contextService, Thread.NORM_PRIORITY, true);
+        // The core threads of a virtual executor are ignored, and its number of concurrent tasks is unbounded unless max-threads is defined
+        this.executor = this.implementation.newManagedExecutorService("test", this.threadFactory, 0, false, 1, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, 0, Integer.MAX_VALUE, this.contextService, WildFlyManagedExecutorService.RejectPolicy.ABORT, null, null, true);
+
+        int tasks = 10;
+        // Each task waits for all others to start, which requires a thread per task
+        CountDownLatch started = new CountDownLatch(tasks);
+        List<Future<Thread>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; ++i) {
+            futures.add(this.executor.submit(() -> {
+                started.countDown();
+                assertTrue(started.await(10, TimeUnit.SECONDS));
+                return Thread.currentThread();
+            }));
+        }
+        for (Future<Thread> future : futures) {
+            assertTrue(isVirtual(future.get(10, TimeUnit.SECONDS)));
+        }
+    }
+
+    @Test
+    public void boundedVirtualExecutor() throws Throwable {
+        Assume.assumeNotNull(IS_VIRTUAL);
+        this.threadFactory = this.implementation.newManagedThreadFactory("test", this.contextService, Thread.NORM_PRIORITY, true);
+        // At most 2 concurrent tasks, 1 queued task, further tasks are rejected
+        this.executor = this.implementation.newManagedExecutorService("test", this.threadFactory, 0, false, 8, 2, 60, TimeUnit.SECONDS, 0, 1, this.contextService, WildFlyManagedExecutorService.RejectPolicy.ABORT, null, null, true);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Callable<Thread> task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            try {
+                assertTrue(release.await(10, TimeUnit.SECONDS));
+            } finally {
+                running.decrementAndGet();
+            }
+            return Thread.currentThread();
+        };
+        List<Future<Thread>> futures = new ArrayList<>(3);
+        for (int i = 0; i < 3; ++i) {
+            futures.add(this.executor.submit(task));
+        }
+        try {
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            assertThrows(RejectedExecutionException.class, () -> this.executor.submit(task));
+        } finally {
+            release.countDown();
+        }
+        for (Future<Thread> future : futures) {
+            assertTrue(isVirtual(future.get(10, TimeUnit.SECONDS)));
+        }
+        assertEquals(2, maxRunning.get());
+    }
+}
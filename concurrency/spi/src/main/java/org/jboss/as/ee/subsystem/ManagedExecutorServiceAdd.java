@@ -61,16 +61,24 @@ public class ManagedExecutorServiceAdd extends AbstractAddStepHandler {
             coreThreads = (ProcessorInfo.availableProcessors() * 2);
         }
 
+        final boolean virtual = ManagedExecutorServiceResourceDefinition.VIRTUAL_AD.resolveModelAttribute(context, model).asBoolean();
+
         final int maxThreads;
         final ModelNode maxThreadsModel = ManagedExecutorServiceResourceDefinition.MAX_THREADS_AD.resolveModelAttribute(context, model);
         if (maxThreadsModel.isDefined()) {
             maxThreads = maxThreadsModel.asInt();
         } else {
-            maxThreads = coreThreads;
+            // the number of concurrent tasks of a virtual executor is unbounded, unless max-threads is defined
+            maxThreads = virtual ? Integer.MAX_VALUE : coreThreads;
         }
 
         // Note that this must be done in the runtime stage since the core-threads value may be calculated
-        if (maxThreads < coreThreads) {
+        if (virtual) {
+            // A virtual executor ignores core-threads
+            if (maxThreads <= 0) {
+                throw EeLogger.ROOT_LOGGER.invalidVirtualMaxThreads(maxThreads);
+            }
+        } else if (maxThreads < coreThreads) {
             throw EeLogger.ROOT_LOGGER.invalidMaxThreads(maxThreads, coreThreads);
         }
 
@@ -116,7 +124,7 @@ public class ManagedExecutorServiceAdd extends AbstractAddStepHandler {
         if (context.hasOptionalCapability(REQUEST_CONTROLLER_CAPABILITY_NAME, ManagedExecutorServiceResourceDefinition.CAPABILITY.getDynamicName(context.getCurrentAddress()), null)) {
             requestControllerSupplier = serviceBuilder.requiresCapability(REQUEST_CONTROLLER_CAPABILITY_NAME, RequestController.class);
         }
-        final ManagedExecutorServiceService service = new ManagedExecutorServiceService(consumer, contextServiceSupplier, threadFactorySupplier, processStateNotifierSupplier, requestControllerSupplier, name, jndiName, hungTaskThreshold, hungTaskTerminationPeriod, longRunningTasks, coreThreads, maxThreads, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueLength, rejectPolicy, threadPriority, hungTasksPeriodicTerminationService);
+        final ManagedExecutorServiceService service = new ManagedExecutorServiceService(consumer, contextServiceSupplier, threadFactorySupplier, processStateNotifierSupplier, requestControllerSupplier, name, jndiName, hungTaskThreshold, hungTaskTerminationPeriod, longRunningTasks, coreThreads, maxThreads, keepAliveTime, keepAliveTimeUnit, threadLifeTime, queueLength, rejectPolicy, threadPriority, hungTasksPeriodicTerminationService, virtual);
         serviceBuilder.setInstance(service);
         serviceBuilder.install();
     }
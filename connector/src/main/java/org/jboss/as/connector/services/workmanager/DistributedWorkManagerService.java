@@ -35,6 +35,8 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
 
     private final NamedDistributedWorkManager value;
 
+    private final long batchInterval;
+
     private final InjectedValue<Executor> executorShort = new InjectedValue<Executor>();
 
     private final InjectedValue<Executor> executorLong = new InjectedValue<Executor>();
@@ -49,9 +51,20 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
      * @param value the work manager
      */
     public DistributedWorkManagerService(NamedDistributedWorkManager value) {
+        this(value, 0L);
+    }
+
+    /**
+     * create an instance
+     *
+     * @param value the work manager
+     * @param batchInterval the interval in milliseconds at which the transport sends its batched updates, or 0 to send them immediately
+     */
+    public DistributedWorkManagerService(NamedDistributedWorkManager value, long batchInterval) {
         super();
         ROOT_LOGGER.debugf("Building DistributedWorkManager");
         this.value = value;
+        this.batchInterval = batchInterval;
     }
 
     @Override
@@ -63,7 +76,7 @@ public final class DistributedWorkManagerService implements Service<NamedDistrib
     public void start(StartContext context) throws StartException {
         ROOT_LOGGER.debugf("Starting Jakarta Connectors DistributedWorkManager: ", value.getName());
 
-        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.dispatcherFactory.getValue(), this.value.getName());
+        CommandDispatcherTransport transport = new CommandDispatcherTransport(this.dispatcherFactory.getValue(), this.value.getName(), this.batchInterval);
 
         this.value.setTransport(transport);
 
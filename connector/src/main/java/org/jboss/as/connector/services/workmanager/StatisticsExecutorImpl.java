@@ -6,7 +6,10 @@
 package org.jboss.as.connector.services.workmanager;
 
 import java.lang.invoke.MethodHandles;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
+import org.jboss.as.ee.utils.LatencyHistogram;
 import org.jboss.as.threads.ManagedJBossThreadPoolExecutorService;
 import org.jboss.as.threads.ManagedQueueExecutorService;
 import org.jboss.as.threads.ManagedQueuelessExecutorService;
@@ -19,7 +22,8 @@ import org.jboss.threads.JBossThreadPoolExecutor;
 import org.jboss.threads.management.ThreadPoolExecutorMBean;
 
 /**
- * A StatisticsExecutor implementation keeping track of numberOfFreeThreads
+ * A StatisticsExecutor implementation keeping track of numberOfFreeThreads,
+ * and of the time works spend queued and executing.
  *
  * @author Stefano Maestri
  */
@@ -32,7 +36,11 @@ public class StatisticsExecutorImpl implements StatisticsExecutor {
             MethodHandles.lookup(), CoreLogger.class,
             org.jboss.jca.core.workmanager.StatisticsExecutorImpl.class.getName());
 
-    private final BlockingExecutor realExecutor;
+    private final Executor realExecutor;
+
+    private final LatencyHistogram queueWaitTime = new LatencyHistogram();
+
+    private final LatencyHistogram executionTime = new LatencyHistogram();
 
     /**
      * StatisticsExecutorImpl constructor
@@ -40,17 +48,53 @@ public class StatisticsExecutorImpl implements StatisticsExecutor {
      * @param realExecutor the real executor we are delegating
      */
     public StatisticsExecutorImpl(BlockingExecutor realExecutor) {
+        this((Executor) realExecutor);
+    }
+
+    /**
+     * StatisticsExecutorImpl constructor
+     *
+     * @param realExecutor the real executor we are delegating, e.g. a work-stealing {@link ForkJoinPool}
+     */
+    public StatisticsExecutorImpl(Executor realExecutor) {
         this.realExecutor = realExecutor;
     }
 
 
     @Override
     public void execute(Runnable runnable) {
-        realExecutor.execute(runnable);
+        final long submitted = System.nanoTime();
+        realExecutor.execute(() -> {
+            final long started = System.nanoTime();
+            queueWaitTime.record(started - submitted);
+            try {
+                runnable.run();
+            } finally {
+                executionTime.record(System.nanoTime() - started);
+            }
+        });
+    }
+
+    /**
+     * @return the histogram of the time works spent queued before being executed
+     */
+    public LatencyHistogram getQueueWaitTimeHistogram() {
+        return queueWaitTime;
+    }
+
+    /**
+     * @return the histogram of the time spent executing works
+     */
+    public LatencyHistogram getExecutionTimeHistogram() {
+        return executionTime;
     }
 
     @Override
     public long getNumberOfFreeThreads() {
+        if (realExecutor instanceof ForkJoinPool) {
+            return (long) ((ForkJoinPool) realExecutor).getParallelism()
+                    - ((ForkJoinPool) realExecutor).getActiveThreadCount();
+        }
         if (realExecutor instanceof JBossThreadPoolExecutor) {
             return (long) ((JBossThreadPoolExecutor) realExecutor).getMaximumPoolSize()
                     - ((JBossThreadPoolExecutor) realExecutor).getActiveCount();
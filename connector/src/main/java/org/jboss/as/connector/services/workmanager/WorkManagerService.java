@@ -9,9 +9,14 @@ import static org.jboss.as.connector.logging.ConnectorLogger.ROOT_LOGGER;
 import static org.jboss.as.connector.subsystems.jca.Constants.DEFAULT_NAME;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 import org.jboss.as.connector.security.ElytronSecurityIntegration;
 import org.jboss.as.connector.util.ConnectorServices;
+import org.jboss.as.threads.ManagedJBossThreadPoolExecutorService;
+import org.jboss.as.threads.ManagedQueueExecutorService;
+import org.jboss.as.threads.ManagedQueuelessExecutorService;
 import org.jboss.as.txn.integration.JBossContextXATerminator;
 import org.jboss.jca.core.tx.jbossts.XATerminatorImpl;
 import org.jboss.jca.core.workmanager.WorkManagerCoordinator;
@@ -33,6 +38,10 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
 
     private final NamedWorkManager value;
 
+    private final boolean workStealing;
+
+    private volatile ForkJoinPool workStealingPool;
+
     private final InjectedValue<Executor> executorShort = new InjectedValue<Executor>();
 
     private final InjectedValue<Executor> executorLong = new InjectedValue<Executor>();
@@ -45,9 +54,20 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
      * @param value the work manager
      */
     public WorkManagerService(NamedWorkManager value) {
+        this(value, false);
+    }
+
+    /**
+     * create an instance
+     *
+     * @param value the work manager
+     * @param workStealing whether short running works are executed by a work-stealing pool
+     */
+    public WorkManagerService(NamedWorkManager value, boolean workStealing) {
         super();
         ROOT_LOGGER.debugf("Building WorkManager");
         this.value = value;
+        this.workStealing = workStealing;
     }
 
     @Override
@@ -62,11 +82,15 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
         BlockingExecutor longRunning = (BlockingExecutor) executorLong.getOptionalValue();
         if (longRunning != null) {
             this.value.setLongRunningThreadPool(longRunning);
-            this.value.setShortRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
         } else {
             this.value.setLongRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
+        }
+        if (workStealing) {
+            // the bounded short running pool only sizes the work-stealing pool, and still runs long running works if no long running pool is defined
+            workStealingPool = new ForkJoinPool(getMaxThreads(executorShort.getValue()), this::newWorkStealingThread, null, true);
+            this.value.setShortRunningThreadPool(new StatisticsExecutorImpl(workStealingPool));
+        } else {
             this.value.setShortRunningThreadPool(new StatisticsExecutorImpl((BlockingExecutor) executorShort.getValue()));
-
         }
 
         this.value.setXATerminator(new XATerminatorImpl(xaTerminator.getValue()));
@@ -93,6 +117,11 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
         //shutting down immediately (synchronous method) the workmanager and release all works
         value.shutdown();
 
+        if (workStealingPool != null) {
+            workStealingPool.shutdown();
+            workStealingPool = null;
+        }
+
         if (value.getName().equals(DEFAULT_NAME)) {
             WorkManagerCoordinator.getInstance().setDefaultWorkManager(null);
         } else {
@@ -102,6 +131,26 @@ public final class WorkManagerService implements Service<NamedWorkManager> {
         ROOT_LOGGER.debugf("Stopped Jakarta Connectors WorkManager: ", value.getName());
     }
 
+    private ForkJoinWorkerThread newWorkStealingThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName(value.getName() + "-short-running-" + thread.getPoolIndex());
+        thread.setContextClassLoader(WorkManagerService.class.getClassLoader());
+        return thread;
+    }
+
+    private static int getMaxThreads(Executor executor) {
+        if (executor instanceof ManagedQueueExecutorService) {
+            return ((ManagedQueueExecutorService) executor).getMaxThreads();
+        }
+        if (executor instanceof ManagedJBossThreadPoolExecutorService) {
+            return ((ManagedJBossThreadPoolExecutorService) executor).getMaxThreads();
+        }
+        if (executor instanceof ManagedQueuelessExecutorService) {
+            return ((ManagedQueuelessExecutorService) executor).getMaxThreads();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     public Injector<Executor> getExecutorShortInjector() {
         return executorShort;
     }
@@ -10,10 +10,12 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.jboss.as.connector.dynamicresource.ClearWorkManagerStatisticsHandler;
+import org.jboss.as.connector.services.workmanager.StatisticsExecutorImpl;
 import org.jboss.as.connector.subsystems.resourceadapters.CommonAttributes;
 import org.jboss.as.connector.subsystems.resourceadapters.Constants;
 import org.jboss.as.connector.subsystems.resourceadapters.WorkManagerRuntimeAttributeReadHandler;
 import org.jboss.as.connector.subsystems.resourceadapters.WorkManagerRuntimeAttributeWriteHandler;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
@@ -87,6 +89,11 @@ public class WorkManagerStatisticsService implements Service<ManagementResourceR
                 for (SimpleAttributeDefinition metric : Constants.WORKMANAGER_METRICS) {
                     wmSubRegistration.registerMetric(metric, metricHandler);
                 }
+                if (wm.getShortRunningThreadPool() instanceof StatisticsExecutorImpl) {
+                    for (ObjectTypeAttributeDefinition metric : Constants.WORKMANAGER_PERCENTILE_METRICS) {
+                        wmSubRegistration.registerMetric(metric, metricHandler);
+                    }
+                }
 
                 OperationStepHandler readHandler = new WorkManagerRuntimeAttributeReadHandler(wm, wm.getStatistics(), false);
                 OperationStepHandler writeHandler = new WorkManagerRuntimeAttributeWriteHandler(wm, false, Constants.WORKMANAGER_RW_ATTRIBUTES);
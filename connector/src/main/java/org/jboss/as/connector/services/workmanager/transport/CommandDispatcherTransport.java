@@ -15,6 +15,10 @@ import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import jakarta.resource.spi.work.DistributableWork;
 import jakarta.resource.spi.work.WorkException;
@@ -47,14 +51,26 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
     private final BlockingExecutor executor;
     private final CommandDispatcherFactory<GroupMember> dispatcherFactory;
     private final String name;
+    private final long batchInterval;
+    private final Map<GroupMember, StatisticsBatch> batches = new ConcurrentHashMap<>();
 
     private volatile CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher;
     private volatile Registration groupListenerRegistration;
+    private volatile ScheduledExecutorService batchScheduler;
     private volatile boolean initialized = false;
 
     public CommandDispatcherTransport(CommandDispatcherFactory<GroupMember> dispatcherFactory, String name) {
+        this(dispatcherFactory, name, 0L);
+    }
+
+    /**
+     * @param batchInterval the interval in milliseconds at which the statistics deltas and free thread updates are sent to each member as a single batch,
+     *        or 0 to send each of them immediately
+     */
+    public CommandDispatcherTransport(CommandDispatcherFactory<GroupMember> dispatcherFactory, String name, long batchInterval) {
         this.dispatcherFactory = dispatcherFactory;
         this.name = name;
+        this.batchInterval = batchInterval;
         this.executor = BlockingExecutor.newInstance(() -> {
             try {
                 CommandDispatcherTransport.this.broadcast(new LeaveCommand(this.getOwnAddress()));
@@ -76,11 +92,24 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
     public void startup() throws Exception {
         this.dispatcher = this.dispatcherFactory.createCommandDispatcher(this.name, this, WildFlySecurityManager.getClassLoaderPrivileged(this.getClass()));
         this.groupListenerRegistration = this.dispatcherFactory.getGroup().register(this);
+        if (this.batchInterval > 0) {
+            this.batchScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "DistributedWorkManager-" + this.name + "-batch");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.batchScheduler.scheduleWithFixedDelay(() -> this.executor.execute((Runnable) this::flush), this.batchInterval, this.batchInterval, TimeUnit.MILLISECONDS);
+        }
         this.broadcast(new JoinCommand());
     }
 
     @Override
     public void shutdown() {
+        ScheduledExecutorService batchScheduler = this.batchScheduler;
+        if (batchScheduler != null) {
+            batchScheduler.shutdownNow();
+            this.executor.execute((Runnable) this::flush);
+        }
         this.executor.close();
     }
 
@@ -121,9 +150,34 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
 
     @Override
     protected Serializable sendMessage(GroupMember physicalAddress, Request request, Serializable... parameters) throws WorkException {
+        if ((this.batchScheduler != null) && StatisticsBatch.isBatched(request)) {
+            this.batches.computeIfAbsent(physicalAddress, member -> new StatisticsBatch()).add(request, (Object[]) parameters);
+            return null;
+        }
         return (Serializable) this.sendMessage(physicalAddress, request, (Object[]) parameters);
     }
 
+    /**
+     * Sends the pending batch of each member, without waiting for the members to apply them.
+     */
+    private void flush() {
+        CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher = this.dispatcher;
+        for (Map.Entry<GroupMember, StatisticsBatch> entry : this.batches.entrySet()) {
+            StatisticsBatchCommand command = entry.getValue().drain();
+            if (command != null) {
+                try {
+                    dispatcher.dispatchToMember(command, entry.getKey()).whenComplete((result, exception) -> {
+                        if (exception != null) {
+                            ConnectorLogger.ROOT_LOGGER.debugf(exception, "Failed to send statistics batch to %s", entry.getKey());
+                        }
+                    });
+                } catch (IOException e) {
+                    ConnectorLogger.ROOT_LOGGER.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+    }
+
     private Object sendMessage(GroupMember physicalAddress, Request request, Object... parameters) throws WorkException {
         TransportCommand<?> command = createCommand(request, parameters);
         CommandDispatcher<GroupMember, CommandDispatcherTransport> dispatcher = this.dispatcher;
@@ -242,6 +296,7 @@ public class CommandDispatcherTransport extends AbstractRemoteTransport<GroupMem
         Runnable task = () -> {
             // Handle abrupt leavers
             for (GroupMember leaver : event.getLeavers()) {
+                this.batches.remove(leaver);
                 this.leave(leaver);
             }
         };
@@ -0,0 +1,64 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+
+/**
+ * The statistics deltas and free thread updates pending to be sent to a member by a {@link CommandDispatcherTransport}.
+ * Deltas are counted, while only the last free thread count of each work manager is kept.
+ */
+class StatisticsBatch {
+    static final List<Request> DELTAS = List.of(Request.DELTA_DOWORK_ACCEPTED, Request.DELTA_DOWORK_REJECTED,
+            Request.DELTA_SCHEDULEWORK_ACCEPTED, Request.DELTA_SCHEDULEWORK_REJECTED,
+            Request.DELTA_STARTWORK_ACCEPTED, Request.DELTA_STARTWORK_REJECTED,
+            Request.DELTA_WORK_FAILED, Request.DELTA_WORK_SUCCESSFUL);
+
+    private Map<Address, long[]> deltas = new HashMap<>();
+    private Map<Address, Long> shortRunningFree = new HashMap<>();
+    private Map<Address, Long> longRunningFree = new HashMap<>();
+
+    static boolean isBatched(Request request) {
+        return (request == Request.UPDATE_SHORTRUNNING_FREE) || (request == Request.UPDATE_LONGRUNNING_FREE) || DELTAS.contains(request);
+    }
+
+    synchronized void add(Request request, Object... parameters) {
+        Address address = (Address) parameters[0];
+        switch (request) {
+            case UPDATE_SHORTRUNNING_FREE: {
+                this.shortRunningFree.put(address, (Long) parameters[1]);
+                break;
+            }
+            case UPDATE_LONGRUNNING_FREE: {
+                this.longRunningFree.put(address, (Long) parameters[1]);
+                break;
+            }
+            default: {
+                this.deltas.computeIfAbsent(address, key -> new long[DELTAS.size()])[DELTAS.indexOf(request)] += 1;
+            }
+        }
+    }
+
+    /**
+     * Drains this batch.
+     * @return a command applying the pending updates, or null if there are none.
+     */
+    synchronized StatisticsBatchCommand drain() {
+        if (this.deltas.isEmpty() && this.shortRunningFree.isEmpty() && this.longRunningFree.isEmpty()) {
+            return null;
+        }
+        StatisticsBatchCommand command = new StatisticsBatchCommand(this.deltas, this.shortRunningFree, this.longRunningFree);
+        this.deltas = new HashMap<>();
+        this.shortRunningFree = new HashMap<>();
+        this.longRunningFree = new HashMap<>();
+        return command;
+    }
+}
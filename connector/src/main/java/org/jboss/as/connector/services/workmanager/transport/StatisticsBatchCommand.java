@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import java.util.Map;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+
+/**
+ * Applies the statistics deltas and free thread updates of the distributed work managers of a member, aggregated since its previous batch.
+ * Equivalent to the sequence of delta and update free commands it replaces.
+ */
+public class StatisticsBatchCommand implements TransportCommand<Void> {
+    private static final long serialVersionUID = 4390417271405853366L;
+
+    private final Map<Address, long[]> deltas;
+    private final Map<Address, Long> shortRunningFree;
+    private final Map<Address, Long> longRunningFree;
+
+    /**
+     * @param deltas the number of occurrences of each statistics delta, per work manager, indexed by {@link StatisticsBatch#DELTAS}
+     * @param shortRunningFree the last free short running thread count, per work manager
+     * @param longRunningFree the last free long running thread count, per work manager
+     */
+    public StatisticsBatchCommand(Map<Address, long[]> deltas, Map<Address, Long> shortRunningFree, Map<Address, Long> longRunningFree) {
+        this.deltas = deltas;
+        this.shortRunningFree = shortRunningFree;
+        this.longRunningFree = longRunningFree;
+    }
+
+    @Override
+    public Void execute(CommandDispatcherTransport transport) {
+        for (Map.Entry<Address, long[]> entry : this.deltas.entrySet()) {
+            long[] counts = entry.getValue();
+            for (int i = 0; i < counts.length; ++i) {
+                for (long j = 0; j < counts[i]; ++j) {
+                    applyDelta(transport, StatisticsBatch.DELTAS.get(i), entry.getKey());
+                }
+            }
+        }
+        for (Map.Entry<Address, Long> entry : this.shortRunningFree.entrySet()) {
+            transport.localUpdateShortRunningFree(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Address, Long> entry : this.longRunningFree.entrySet()) {
+            transport.localUpdateLongRunningFree(entry.getKey(), entry.getValue());
+        }
+        return null;
+    }
+
+    private static void applyDelta(CommandDispatcherTransport transport, Request request, Address address) {
+        switch (request) {
+            case DELTA_DOWORK_ACCEPTED: {
+                transport.localDeltaDoWorkAccepted(address);
+                break;
+            }
+            case DELTA_DOWORK_REJECTED: {
+                transport.localDeltaDoWorkRejected(address);
+                break;
+            }
+            case DELTA_SCHEDULEWORK_ACCEPTED: {
+                transport.localDeltaScheduleWorkAccepted(address);
+                break;
+            }
+            case DELTA_SCHEDULEWORK_REJECTED: {
+                transport.localDeltaScheduleWorkRejected(address);
+                break;
+            }
+            case DELTA_STARTWORK_ACCEPTED: {
+                transport.localDeltaStartWorkAccepted(address);
+                break;
+            }
+            case DELTA_STARTWORK_REJECTED: {
+                transport.localDeltaStartWorkRejected(address);
+                break;
+            }
+            case DELTA_WORK_FAILED: {
+                transport.localDeltaWorkFailed(address);
+                break;
+            }
+            case DELTA_WORK_SUCCESSFUL: {
+                transport.localDeltaWorkSuccessful(address);
+                break;
+            }
+            default: {
+                throw new IllegalStateException(request.name());
+            }
+        }
+    }
+}
@@ -41,5 +41,9 @@ public class Constants {
 
     static final String ELYTRON_ENABLED_NAME = "elytron-enabled";
 
+    static final String WORK_STEALING_NAME = "work-stealing";
+
+    static final String TRANSPORT_BATCH_INTERVAL_NAME = "transport-batch-interval";
+
 
 }
@@ -62,6 +62,7 @@ public class DistributedWorkManagerAdd extends AbstractAddStepHandler {
 
         String policy = JcaDistributedWorkManagerDefinition.DWmParameters.POLICY.getAttribute().resolveModelAttribute(context, model).asString();
         String selector = JcaDistributedWorkManagerDefinition.DWmParameters.SELECTOR.getAttribute().resolveModelAttribute(context, model).asString();
+        long batchInterval = JcaDistributedWorkManagerDefinition.DWmParameters.TRANSPORT_BATCH_INTERVAL.getAttribute().resolveModelAttribute(context, model).asLong();
 
         ServiceTarget serviceTarget = context.getServiceTarget();
         NamedDistributedWorkManager namedDistributedWorkManager = new NamedDistributedWorkManager(name, elytronEnabled);
@@ -125,7 +126,7 @@ public class DistributedWorkManagerAdd extends AbstractAddStepHandler {
             namedDistributedWorkManager.setSelector(new PingTime());
         }
 
-        DistributedWorkManagerService wmService = new DistributedWorkManagerService(namedDistributedWorkManager);
+        DistributedWorkManagerService wmService = new DistributedWorkManagerService(namedDistributedWorkManager, batchInterval);
         ServiceBuilder<NamedDistributedWorkManager> builder = serviceTarget
                 .addService(ConnectorServices.WORKMANAGER_SERVICE.append(name), wmService);
         builder.addDependency(context.getCapabilityServiceName(ClusteringServiceDescriptor.DEFAULT_COMMAND_DISPATCHER_FACTORY), CommandDispatcherFactory.class, wmService.getCommandDispatcherFactoryInjector());
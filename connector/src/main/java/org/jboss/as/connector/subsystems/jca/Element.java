@@ -57,7 +57,13 @@ public enum Element {
     TRACER("tracer"),
 
     /** elytron-enabled element **/
-    ELYTRON_ENABLED("elytron-enabled");
+    ELYTRON_ENABLED("elytron-enabled"),
+
+    /** work-stealing element **/
+    WORK_STEALING("work-stealing"),
+
+    /** transport-batch-interval element **/
+    TRANSPORT_BATCH_INTERVAL("transport-batch-interval");
 
 
 
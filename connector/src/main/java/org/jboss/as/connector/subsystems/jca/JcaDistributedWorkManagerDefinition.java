@@ -9,6 +9,7 @@ import static org.jboss.as.connector.subsystems.jca.Constants.DISTRIBUTED_WORKMA
 import static org.jboss.as.connector.subsystems.jca.Constants.ELYTRON_BY_DEFAULT_VERSION;
 import static org.jboss.as.connector.subsystems.jca.Constants.ELYTRON_ENABLED_NAME;
 import static org.jboss.as.connector.subsystems.jca.Constants.ELYTRON_MANAGED_SECURITY;
+import static org.jboss.as.connector.subsystems.jca.Constants.TRANSPORT_BATCH_INTERVAL_NAME;
 import static org.jboss.as.connector.subsystems.jca.JcaWorkManagerDefinition.registerSubModels;
 
 import java.util.Arrays;
@@ -25,6 +26,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -115,6 +117,14 @@ public class JcaDistributedWorkManagerDefinition extends SimpleResourceDefinitio
                 .setAllowExpression(true)
                 .setDefaultValue(new ModelNode(ELYTRON_MANAGED_SECURITY))
                 .setDeprecated(ELYTRON_BY_DEFAULT_VERSION)
+                .build()),
+        TRANSPORT_BATCH_INTERVAL(new SimpleAttributeDefinitionBuilder(TRANSPORT_BATCH_INTERVAL_NAME, ModelType.LONG, true)
+                .setXmlName(Element.TRANSPORT_BATCH_INTERVAL.getLocalName())
+                .setAllowExpression(true)
+                .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                .setValidator(new LongRangeValidator(0, Long.MAX_VALUE, true, true))
+                .setDefaultValue(ModelNode.ZERO_LONG)
+                .setRestartAllServices()
                 .build());
 
         public static AttributeDefinition[] getAttributeDefinitions() {
@@ -133,7 +143,8 @@ public class JcaDistributedWorkManagerDefinition extends SimpleResourceDefinitio
                     SELECTOR.getAttribute(),
                     POLICY_OPTIONS.getAttribute(),
                     SELECTOR_OPTIONS.getAttribute(),
-                    ELYTRON_ENABLED.getAttribute()
+                    ELYTRON_ENABLED.getAttribute(),
+                    TRANSPORT_BATCH_INTERVAL.getAttribute()
             };
         }
 
@@ -106,6 +106,9 @@ public class JcaDistributedWorkManagerWriteHandler extends AbstractWriteAttribut
                 }
 
             }
+        } else if (attributeName.equals(JcaDistributedWorkManagerDefinition.DWmParameters.TRANSPORT_BATCH_INTERVAL.getAttribute().getName())) {
+            // the transport is only created once the distributed workmanager starts
+            return true;
         }
 
 
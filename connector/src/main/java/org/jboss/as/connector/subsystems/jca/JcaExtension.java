@@ -63,7 +63,7 @@ public class JcaExtension implements Extension {
 
     public static final String SUBSYSTEM_NAME = "jca";
 
-    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(6, 0, 0);
+    private static final ModelVersion CURRENT_MODEL_VERSION = ModelVersion.create(7, 0, 0);
 
     private static final String RESOURCE_NAME = JcaExtension.class.getPackage().getName() + ".LocalDescriptions";
 
@@ -97,6 +97,7 @@ public class JcaExtension implements Extension {
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_4_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_5_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
         context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_6_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
+        context.setSubsystemXmlMapping(SUBSYSTEM_NAME, Namespace.JCA_7_0.getUriString(), () -> ConnectorSubsystemParser.INSTANCE);
     }
 
     static final class ConnectorSubsystemParser implements XMLStreamConstants, XMLElementReader<List<ModelNode>>,
@@ -183,6 +184,7 @@ public class JcaExtension implements Extension {
                     ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.NAME.getAttribute()).marshallAsAttribute(workManager, writer);
 
                     JcaDistributedWorkManagerDefinition.DWmParameters.ELYTRON_ENABLED.getAttribute().marshallAsElement(workManager, writer);
+                    JcaDistributedWorkManagerDefinition.DWmParameters.TRANSPORT_BATCH_INTERVAL.getAttribute().marshallAsElement(workManager, writer);
 
                     for (Property prop : workManager.asPropertyList()) {
                         if (WORKMANAGER_LONG_RUNNING.equals(prop.getName()) && prop.getValue().isDefined() && !prop.getValue().asPropertyList().isEmpty()) {
@@ -250,6 +252,7 @@ public class JcaExtension implements Extension {
                     }
 
                     JcaWorkManagerDefinition.WmParameters.ELYTRON_ENABLED.getAttribute().marshallAsElement(workManager, writer);
+                    JcaWorkManagerDefinition.WmParameters.WORK_STEALING.getAttribute().marshallAsElement(workManager, writer);
 
                     if (workManager.hasDefined(WORKMANAGER_SHORT_RUNNING))  {
                         ThreadsParser.getInstance().writeBoundedQueueThreadPool(writer, workManager.get(WORKMANAGER_SHORT_RUNNING).asProperty(), Element.SHORT_RUNNING_THREADS.getLocalName(), false, true);
@@ -309,6 +312,7 @@ public class JcaExtension implements Extension {
             while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
                 Namespace readerNs = Namespace.forUri(reader.getNamespaceURI());
                 switch (readerNs) {
+                    case JCA_7_0:
                     case JCA_6_0:
                     case JCA_5_0:
                     case JCA_4_0:
@@ -371,7 +375,8 @@ public class JcaExtension implements Extension {
                                 if (Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_3_0) ||
                                     Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_4_0) ||
                                     Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_5_0) ||
-                                    Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_6_0))
+                                    Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_6_0) ||
+                                    Namespace.forUri(reader.getNamespaceURI()).equals(Namespace.JCA_7_0))
                                 {
                                     list.add(parseTracer(reader, address));
                                 } else {
@@ -512,7 +517,8 @@ public class JcaExtension implements Extension {
                     case ELYTRON_ENABLED: {
                         switch (readerNS) {
                             case JCA_5_0:
-                            case JCA_6_0: {
+                            case JCA_6_0:
+                            case JCA_7_0: {
                                 String value = rawElementText(reader);
                                 JcaWorkManagerDefinition.WmParameters.ELYTRON_ENABLED.getAttribute().parseAndSetParameter(value, workManagerOperation, reader);
                                 break;
@@ -523,6 +529,19 @@ public class JcaExtension implements Extension {
                         }
                         break;
                     }
+                    case WORK_STEALING: {
+                        switch (readerNS) {
+                            case JCA_7_0: {
+                                String value = rawElementText(reader);
+                                JcaWorkManagerDefinition.WmParameters.WORK_STEALING.getAttribute().parseAndSetParameter(value, workManagerOperation, reader);
+                                break;
+                            }
+                            default: {
+                                throw unexpectedElement(reader);
+                            }
+                        }
+                        break;
+                    }
                     default:
                         throw unexpectedElement(reader);
                 }
@@ -605,7 +624,8 @@ public class JcaExtension implements Extension {
                             case JCA_3_0:
                             case JCA_4_0:
                             case JCA_5_0:
-                            case JCA_6_0:{
+                            case JCA_6_0:
+                            case JCA_7_0:{
                                 parsePolicy(reader, distributedWorkManagerOperation);
                                 break;
                             }
@@ -621,7 +641,8 @@ public class JcaExtension implements Extension {
                             case JCA_3_0:
                             case JCA_4_0:
                             case JCA_5_0:
-                            case JCA_6_0:{
+                            case JCA_6_0:
+                            case JCA_7_0:{
                                 parseSelector(reader, distributedWorkManagerOperation);
                                 break;
                             }
@@ -635,6 +656,7 @@ public class JcaExtension implements Extension {
                         switch (readerNS) {
                             case JCA_5_0:
                             case JCA_6_0:
+                            case JCA_7_0:
                             {
                                 String value = rawElementText(reader);
                                 ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.ELYTRON_ENABLED.getAttribute()).parseAndSetParameter(value, distributedWorkManagerOperation, reader);
@@ -646,6 +668,19 @@ public class JcaExtension implements Extension {
                         }
                         break;
                     }
+                    case TRANSPORT_BATCH_INTERVAL: {
+                        switch (readerNS) {
+                            case JCA_7_0: {
+                                String value = rawElementText(reader);
+                                ((SimpleAttributeDefinition) JcaDistributedWorkManagerDefinition.DWmParameters.TRANSPORT_BATCH_INTERVAL.getAttribute()).parseAndSetParameter(value, distributedWorkManagerOperation, reader);
+                                break;
+                            }
+                            default: {
+                                throw unexpectedElement(reader);
+                            }
+                        }
+                        break;
+                    }
                     default:
                         throw unexpectedElement(reader);
                 }
@@ -13,12 +13,15 @@ import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
 import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
 import org.jboss.as.controller.transform.description.AttributeConverter;
 import org.jboss.as.controller.transform.description.ChainedTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 
 public class JcaTransformers implements ExtensionTransformerRegistration {
 
     private static final ModelVersion EAP_7_4 = ModelVersion.create(5, 0, 0);
+    private static final ModelVersion VERSION_6_0_0 = ModelVersion.create(6, 0, 0);
 
     @Override
     public String getSubsystemName() {
@@ -28,13 +31,28 @@ public class JcaTransformers implements ExtensionTransformerRegistration {
     @Override
     public void registerTransformers(SubsystemTransformerRegistration subsystemRegistration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(subsystemRegistration.getCurrentSubsystemVersion());
-        get500TransformationDescription(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), EAP_7_4));
+        get600TransformationDescription(chainedBuilder.createBuilder(subsystemRegistration.getCurrentSubsystemVersion(), VERSION_6_0_0));
+        get500TransformationDescription(chainedBuilder.createBuilder(VERSION_6_0_0, EAP_7_4));
 
         chainedBuilder.buildAndRegister(subsystemRegistration, new ModelVersion[]{
+                VERSION_6_0_0,
                 EAP_7_4
         });
     }
 
+    private static void get600TransformationDescription(ResourceTransformationDescriptionBuilder parentBuilder) {
+        parentBuilder.addChildResource(PATH_WORK_MANAGER)
+            .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, JcaWorkManagerDefinition.WmParameters.WORK_STEALING.getAttribute())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, JcaWorkManagerDefinition.WmParameters.WORK_STEALING.getAttribute())
+                .end();
+        parentBuilder.addChildResource(PATH_DISTRIBUTED_WORK_MANAGER)
+            .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, JcaDistributedWorkManagerDefinition.DWmParameters.TRANSPORT_BATCH_INTERVAL.getAttribute())
+                .addRejectCheck(RejectAttributeChecker.DEFINED, JcaDistributedWorkManagerDefinition.DWmParameters.TRANSPORT_BATCH_INTERVAL.getAttribute())
+                .end();
+    }
+
     private static void get500TransformationDescription(ResourceTransformationDescriptionBuilder parentBuilder) {
         parentBuilder.addChildResource(PATH_WORK_MANAGER)
             .getAttributeBuilder()
@@ -10,6 +10,7 @@ import static org.jboss.as.connector.subsystems.jca.Constants.ELYTRON_MANAGED_SE
 import static org.jboss.as.connector.subsystems.jca.Constants.WORKMANAGER;
 import static org.jboss.as.connector.subsystems.jca.Constants.WORKMANAGER_LONG_RUNNING;
 import static org.jboss.as.connector.subsystems.jca.Constants.WORKMANAGER_SHORT_RUNNING;
+import static org.jboss.as.connector.subsystems.jca.Constants.WORK_STEALING_NAME;
 import static org.jboss.as.controller.OperationContext.Stage.MODEL;
 
 import java.util.Arrays;
@@ -65,6 +66,7 @@ public class JcaWorkManagerDefinition extends SimpleResourceDefinition {
 
         resourceRegistration.registerReadOnlyAttribute(WmParameters.NAME.getAttribute(), ReadResourceNameOperationStepHandler.INSTANCE);
         resourceRegistration.registerReadOnlyAttribute(WmParameters.ELYTRON_ENABLED.getAttribute(), null);
+        resourceRegistration.registerReadOnlyAttribute(WmParameters.WORK_STEALING.getAttribute(), null);
 
     }
 
@@ -147,6 +149,13 @@ public class JcaWorkManagerDefinition extends SimpleResourceDefinition {
                 .setXmlName(Security.Tag.ELYTRON_ENABLED.getLocalName())
                 .setAllowExpression(true)
                 .setDefaultValue(new ModelNode(ELYTRON_MANAGED_SECURITY))
+                .build()),
+
+        WORK_STEALING(new SimpleAttributeDefinitionBuilder(WORK_STEALING_NAME, ModelType.BOOLEAN, true)
+                .setXmlName(Element.WORK_STEALING.getLocalName())
+                .setAllowExpression(true)
+                .setDefaultValue(ModelNode.FALSE)
+                .setRestartAllServices()
                 .build());
 
 
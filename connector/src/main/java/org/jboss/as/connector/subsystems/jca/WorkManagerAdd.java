@@ -44,12 +44,13 @@ public class WorkManagerAdd extends AbstractAddStepHandler {
     protected void performRuntime(final OperationContext context, final ModelNode operation, final Resource resource) throws OperationFailedException {
 
         String name = JcaWorkManagerDefinition.WmParameters.NAME.getAttribute().resolveModelAttribute(context, resource.getModel()).asString();
+        boolean workStealing = JcaWorkManagerDefinition.WmParameters.WORK_STEALING.getAttribute().resolveModelAttribute(context, resource.getModel()).asBoolean();
 
         ServiceTarget serviceTarget = context.getServiceTarget();
 
 
         NamedWorkManager wm = new NamedWorkManager(name);
-        WorkManagerService wmService = new WorkManagerService(wm);
+        WorkManagerService wmService = new WorkManagerService(wm, workStealing);
         ServiceBuilder builder = serviceTarget
                 .addService(ConnectorServices.WORKMANAGER_SERVICE.append(name), wmService);
 
@@ -657,6 +657,10 @@ public class Constants {
 
     static final String START_WORK_REJECTED_NAME = "startwork-rejected";
 
+    static final String QUEUE_WAIT_TIME_PERCENTILES_NAME = "queue-wait-time-percentiles";
+
+    static final String EXECUTION_TIME_PERCENTILES_NAME = "execution-time-percentiles";
+
 
     static SimpleAttributeDefinition WORK_ACTIVE = new SimpleAttributeDefinitionBuilder(WORK_ACTIVE_NAME, ModelType.INT)
             .setStorageRuntime()
@@ -703,10 +707,38 @@ public class Constants {
             .setUndefinedMetricValue(ModelNode.ZERO)
             .build();
 
+    static final double[] WORKMANAGER_PERCENTILES = new double[]{50d, 90d, 99d, 99.9d};
+
+    static final SimpleAttributeDefinition[] WORKMANAGER_PERCENTILE_FIELDS = new SimpleAttributeDefinition[]{
+            createPercentileField("p50"), createPercentileField("p90"), createPercentileField("p99"), createPercentileField("p999"), createPercentileField("max")};
+
+    static ObjectTypeAttributeDefinition QUEUE_WAIT_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of(QUEUE_WAIT_TIME_PERCENTILES_NAME, WORKMANAGER_PERCENTILE_FIELDS)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static ObjectTypeAttributeDefinition EXECUTION_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of(EXECUTION_TIME_PERCENTILES_NAME, WORKMANAGER_PERCENTILE_FIELDS)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    private static SimpleAttributeDefinition createPercentileField(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setStorageRuntime()
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .build();
+    }
+
 
     public static final SimpleAttributeDefinition[] WORKMANAGER_METRICS = new SimpleAttributeDefinition[]{WORK_ACTIVE, WORK_SUCCESSFUL, WORK_FAILED, DO_WORK_ACCEPTED,
             DO_WORK_REJECTED, SCHEDULED_WORK_ACCEPTED, SCHEDULED_WORK_REJECTED, START_WORK_ACCEPTED, START_WORK_REJECTED};
 
+    /**
+     * Metrics of the works executed by the short running thread pool of a workmanager
+     */
+    public static final ObjectTypeAttributeDefinition[] WORKMANAGER_PERCENTILE_METRICS = new ObjectTypeAttributeDefinition[]{QUEUE_WAIT_TIME_PERCENTILES, EXECUTION_TIME_PERCENTILES};
+
     public static final String WORKMANAGER_STATISTICS_ENABLED_NAME = "workmanager-statistics-enabled";
     public static final SimpleAttributeDefinition WORKMANAGER_STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.STATISTICS_ENABLED, ModelType.BOOLEAN)
             .setStorageRuntime()
@@ -5,11 +5,15 @@
 
 package org.jboss.as.connector.subsystems.resourceadapters;
 
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.as.connector.logging.ConnectorLogger;
+import org.jboss.as.connector.services.workmanager.StatisticsExecutorImpl;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.ee.utils.LatencyHistogram;
 import org.jboss.dmr.ModelNode;
 import org.jboss.jca.core.api.workmanager.DistributedWorkManager;
 import org.jboss.jca.core.api.workmanager.WorkManager;
@@ -75,6 +79,14 @@ public class WorkManagerRuntimeAttributeReadHandler implements OperationStepHand
                                 result.set(wmStat.getStartWorkRejected());
                                 break;
                             }
+                            case Constants.QUEUE_WAIT_TIME_PERCENTILES_NAME: {
+                                readPercentiles(result, ((StatisticsExecutorImpl) wm.getShortRunningThreadPool()).getQueueWaitTimeHistogram());
+                                break;
+                            }
+                            case Constants.EXECUTION_TIME_PERCENTILES_NAME: {
+                                readPercentiles(result, ((StatisticsExecutorImpl) wm.getShortRunningThreadPool()).getExecutionTimeHistogram());
+                                break;
+                            }
                             case ModelDescriptionConstants.STATISTICS_ENABLED: {
                                 if (distributed) {
                                     result.set(((DistributedWorkManager) wm).isDistributedStatisticsEnabled());
@@ -114,4 +126,11 @@ public class WorkManagerRuntimeAttributeReadHandler implements OperationStepHand
         }
     }
 
+    private static void readPercentiles(final ModelNode result, final LatencyHistogram histogram) {
+        final long[] values = histogram.getValuesAtPercentiles(Constants.WORKMANAGER_PERCENTILES);
+        for (int i = 0; i < values.length; ++i) {
+            result.get(Constants.WORKMANAGER_PERCENTILE_FIELDS[i].getName()).set(TimeUnit.NANOSECONDS.toMicros(values[i]));
+        }
+        result.get(Constants.WORKMANAGER_PERCENTILE_FIELDS[values.length].getName()).set(TimeUnit.NANOSECONDS.toMicros(histogram.getMax()));
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.connector.services.workmanager.transport;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.jboss.jca.core.spi.workmanager.Address;
+import org.jboss.jca.core.workmanager.transport.remote.ProtocolMessages.Request;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.Marshalling;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.Unmarshaller;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StatisticsBatch} and {@link StatisticsBatchCommand}.
+ */
+public class StatisticsBatchTestCase {
+
+    private final Address address1 = new Address("wm1", "workmanager1", "transport");
+    private final Address address2 = new Address("wm2", "workmanager2", "transport");
+
+    @Test
+    public void isBatched() {
+        for (Request request : StatisticsBatch.DELTAS) {
+            Assert.assertTrue(request.name(), StatisticsBatch.isBatched(request));
+        }
+        Assert.assertTrue(StatisticsBatch.isBatched(Request.UPDATE_SHORTRUNNING_FREE));
+        Assert.assertTrue(StatisticsBatch.isBatched(Request.UPDATE_LONGRUNNING_FREE));
+        for (Request request : new Request[] { Request.PING, Request.DO_WORK, Request.START_WORK, Request.SCHEDULE_WORK, Request.GET_SHORTRUNNING_FREE, Request.GET_LONGRUNNING_FREE, Request.GET_DISTRIBUTED_STATISTICS, Request.CLEAR_DISTRIBUTED_STATISTICS, Request.WORKMANAGER_ADD, Request.WORKMANAGER_REMOVE }) {
+            Assert.assertFalse(request.name(), StatisticsBatch.isBatched(request));
+        }
+    }
+
+    @Test
+    public void drainEmpty() {
+        Assert.assertNull(new StatisticsBatch().drain());
+    }
+
+    @Test
+    public void merge() {
+        StatisticsBatch batch = this.createBatch();
+
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+        batch.drain().execute(transport);
+        this.verifyBatch(transport);
+    }
+
+    @Test
+    public void drain() {
+        StatisticsBatch batch = new StatisticsBatch();
+        batch.add(Request.DELTA_WORK_SUCCESSFUL, this.address1);
+        batch.add(Request.UPDATE_SHORTRUNNING_FREE, this.address1, 1L);
+        StatisticsBatchCommand command = batch.drain();
+        Assert.assertNotNull(command);
+
+        // A drained batch is empty
+        Assert.assertNull(batch.drain());
+
+        // Updates after a drain belong to the next batch, and do not affect the drained command
+        batch.add(Request.DELTA_WORK_FAILED, this.address2);
+        batch.add(Request.UPDATE_SHORTRUNNING_FREE, this.address1, 2L);
+
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+        command.execute(transport);
+        verify(transport).localDeltaWorkSuccessful(this.address1);
+        verify(transport).localUpdateShortRunningFree(this.address1, 1L);
+        verifyNoMoreInteractions(transport);
+
+        transport = mock(CommandDispatcherTransport.class);
+        batch.drain().execute(transport);
+        verify(transport).localDeltaWorkFailed(this.address2);
+        verify(transport).localUpdateShortRunningFree(this.address1, 2L);
+        verifyNoMoreInteractions(transport);
+
+        Assert.assertNull(batch.drain());
+    }
+
+    @Test
+    public void marshalling() throws IOException, ClassNotFoundException {
+        StatisticsBatchCommand command = this.createBatch().drain();
+
+        MarshallerFactory factory = Marshalling.getProvidedMarshallerFactory("river");
+        MarshallingConfiguration configuration = new MarshallingConfiguration();
+        configuration.setClassTable(new CommandDispatcherTransportClassTable());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (Marshaller marshaller = factory.createMarshaller(configuration)) {
+            marshaller.start(Marshalling.createByteOutput(output));
+            marshaller.writeObject(command);
+            marshaller.finish();
+        }
+        StatisticsBatchCommand result;
+        try (Unmarshaller unmarshaller = factory.createUnmarshaller(configuration)) {
+            unmarshaller.start(Marshalling.createByteInput(new ByteArrayInputStream(output.toByteArray())));
+            result = unmarshaller.readObject(StatisticsBatchCommand.class);
+            unmarshaller.finish();
+        }
+
+        // The unmarshalled command applies the same updates
+        CommandDispatcherTransport transport = mock(CommandDispatcherTransport.class);
+        result.execute(transport);
+        this.verifyBatch(transport);
+    }
+
+    private StatisticsBatch createBatch() {
+        StatisticsBatch batch = new StatisticsBatch();
+        batch.add(Request.DELTA_DOWORK_ACCEPTED, this.address1);
+        batch.add(Request.DELTA_DOWORK_ACCEPTED, this.address1);
+        batch.add(Request.DELTA_DOWORK_ACCEPTED, this.address2);
+        batch.add(Request.DELTA_DOWORK_REJECTED, this.address1);
+        batch.add(Request.DELTA_SCHEDULEWORK_ACCEPTED, this.address1);
+        batch.add(Request.DELTA_SCHEDULEWORK_REJECTED, this.address1);
+        batch.add(Request.DELTA_STARTWORK_ACCEPTED, this.address2);
+        batch.add(Request.DELTA_STARTWORK_REJECTED, this.address2);
+        batch.add(Request.DELTA_WORK_FAILED, this.address1);
+        for (int i = 0; i < 3; ++i) {
+            batch.add(Request.DELTA_WORK_SUCCESSFUL, this.address2);
+        }
+        // Only the last free thread count of each work manager is kept
+        batch.add(Request.UPDATE_SHORTRUNNING_FREE, this.address1, 1L);
+        batch.add(Request.UPDATE_SHORTRUNNING_FREE, this.address1, 3L);
+        batch.add(Request.UPDATE_SHORTRUNNING_FREE, this.address2, 5L);
+        batch.add(Request.UPDATE_LONGRUNNING_FREE, this.address2, 2L);
+        batch.add(Request.UPDATE_LONGRUNNING_FREE, this.address2, 4L);
+        return batch;
+    }
+
+    private void verifyBatch(CommandDispatcherTransport transport) {
+        verify(transport, times(2)).localDeltaDoWorkAccepted(this.address1);
+        verify(transport, times(1)).localDeltaDoWorkAccepted(this.address2);
+        verify(transport, times(1)).localDeltaDoWorkRejected(this.address1);
+        verify(transport, times(1)).localDeltaScheduleWorkAccepted(this.address1);
+        verify(transport, times(1)).localDeltaScheduleWorkRejected(this.address1);
+        verify(transport, times(1)).localDeltaStartWorkAccepted(this.address2);
+        verify(transport, times(1)).localDeltaStartWorkRejected(this.address2);
+        verify(transport, times(1)).localDeltaWorkFailed(this.address1);
+        verify(transport, times(3)).localDeltaWorkSuccessful(this.address2);
+
+        verify(transport, never()).localUpdateShortRunningFree(this.address1, 1L);
+        verify(transport, times(1)).localUpdateShortRunningFree(this.address1, 3L);
+        verify(transport, times(1)).localUpdateShortRunningFree(this.address2, 5L);
+        verify(transport, never()).localUpdateLongRunningFree(this.address2, 2L);
+        verify(transport, times(1)).localUpdateLongRunningFree(this.address2, 4L);
+        verifyNoMoreInteractions(transport);
+    }
+}
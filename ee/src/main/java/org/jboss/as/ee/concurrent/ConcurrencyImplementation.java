@@ -90,6 +90,15 @@ public interface ConcurrencyImplementation {
      */
     void parseConcurrentElement60(XMLExtendedStreamReader reader, List<ModelNode> operations, PathAddress subsystemPathAddress) throws XMLStreamException;
 
+    /**
+     * Parses <concurrent/> XML element for EE subsystem schema 7.0
+     * @param reader the stream reader
+     * @param operations the list to add operations
+     * @param subsystemPathAddress the subsystem path address
+     * @throws XMLStreamException if an error occurs
+     */
+    void parseConcurrentElement70(XMLExtendedStreamReader reader, List<ModelNode> operations, PathAddress subsystemPathAddress) throws XMLStreamException;
+
     /**
      * Writes <concurrent/> XML element.
      * @param writer the stream writer
@@ -109,9 +118,10 @@ public interface ConcurrencyImplementation {
      * @param name the instance name
      * @param contextService the context service to use
      * @param priority the thread factory priority
+     * @param virtual if true the thread factory creates virtual threads, if supported by the Java runtime
      * @return a new WildFlyManagedThreadFactory instance with the specified params.
      */
-    WildFlyManagedThreadFactory newManagedThreadFactory(String name, WildFlyContextService contextService, int priority);
+    WildFlyManagedThreadFactory newManagedThreadFactory(String name, WildFlyContextService contextService, int priority, boolean virtual);
 
     /**
      *
@@ -149,9 +159,10 @@ public interface ConcurrencyImplementation {
      * @param rejectPolicy the policy to be applied to aborted tasks.
      * @param controlPoint the control point
      * @param processStateNotifier the process state notifier
+     * @param virtual if true each task is executed by a new virtual thread, if supported by the Java runtime, with at most maxPoolSize concurrent tasks, and the core pool size is ignored
      * @return a new WildFlyManagedExecutorService instance with the specified params.
      */
-    WildFlyManagedExecutorService newManagedExecutorService(String name, WildFlyManagedThreadFactory managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, WildFlyContextService contextService, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier);
+    WildFlyManagedExecutorService newManagedExecutorService(String name, WildFlyManagedThreadFactory managedThreadFactory, long hungTaskThreshold, boolean longRunningTasks, int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit keepAliveTimeUnit, long threadLifeTime, int queueCapacity, WildFlyContextService contextService, WildFlyManagedExecutorService.RejectPolicy rejectPolicy, ControlPoint controlPoint, ProcessStateNotifier processStateNotifier, boolean virtual);
 
     /**
      *
@@ -1233,4 +1233,11 @@ public interface EeLogger extends BasicLogger {
 
     @Message(id = 143, value = "Lifecycle operation not supported")
     IllegalStateException lifecycleOperationNotSupported();
+
+    @LogMessage(level = WARN)
+    @Message(id = 144, value = "Virtual threads are not supported by the Java runtime, %s will use platform threads")
+    void virtualThreadsNotSupported(String name);
+
+    @Message(id = 145, value = "The max-threads value %d of a virtual executor must be greater than 0.")
+    OperationFailedException invalidVirtualMaxThreads(int maxThreads);
 }
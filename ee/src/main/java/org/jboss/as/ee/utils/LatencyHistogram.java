@@ -0,0 +1,92 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ee.utils;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, log-linear histogram of latencies, in the spirit of HdrHistogram.
+ * Each power of two range is split into {@value #SUB_BUCKETS} linear buckets, so recorded values are resolved to within 12.5%.
+ * Bucket counts and the maximum are striped, so that concurrent recordings do not contend on a shared counter.
+ * Recording a value does not allocate, other than the stripes of a bucket, once it becomes contended.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values beyond 2^44 ns (~4.9 hours) are recorded in the last bucket
+    private static final int MAX_MAGNITUDE = 44;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified latency.
+     * @param nanos a latency in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, Math.min(nanos, MAX_VALUE));
+        this.counts[index(value)].increment();
+        this.max.accumulate(value);
+    }
+
+    /**
+     * Returns the maximum recorded latency.
+     * @return a latency in nanoseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Returns the latencies at the specified percentiles, computed against a single snapshot of this histogram.
+     * Each latency is the highest value equivalent to the bucket containing the percentile.
+     * @param percentiles an ascending array of percentiles, each between 0 and 100
+     * @return an array of latencies in nanoseconds, of the same length as the specified percentiles.
+     */
+    public long[] getValuesAtPercentiles(double... percentiles) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            snapshot[i] = this.counts[i].sum();
+            total += snapshot[i];
+        }
+        long[] result = new long[percentiles.length];
+        if (total == 0) return result;
+        long max = this.max.get();
+        int bucket = 0;
+        long cumulative = snapshot[0];
+        for (int i = 0; i < percentiles.length; ++i) {
+            long rank = Math.max(1L, (long) Math.ceil(percentiles[i] / 100d * total));
+            while ((cumulative < rank) && (bucket < BUCKETS - 1)) {
+                cumulative += snapshot[++bucket];
+            }
+            result[i] = Math.min(highestEquivalentValue(bucket), max);
+        }
+        return result;
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = SUB_BUCKETS + (index & (SUB_BUCKETS - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ee.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValuesAtPercentiles(50d)[0]);
+
+        for (long i = 1; i <= 1000; ++i) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        long[] values = histogram.getValuesAtPercentiles(50d, 90d, 99d, 100d);
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(500), values[0]);
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(900), values[1]);
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(990), values[2]);
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), values[3]);
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), histogram.getMax());
+    }
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[] { 0, 1, 7, 8, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE >>> 20 }) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 4;
+        int values = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                long offset = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (long value = 0; value < values; ++value) {
+                        histogram.record(value * threads + offset);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Every recording is counted, the 100th percentile being the maximum
+        long max = (long) values * threads - 1;
+        assertEquals(max, histogram.getMax());
+        assertEquals(max, histogram.getValuesAtPercentiles(100d)[0]);
+        assertWithin(max / 2, histogram.getValuesAtPercentiles(50d)[0]);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        // Buckets resolve values to within 12.5%
+        assertTrue(actual + " not within range of " + expected, (actual >= expected) && (actual <= expected + expected / 8));
+    }
+}
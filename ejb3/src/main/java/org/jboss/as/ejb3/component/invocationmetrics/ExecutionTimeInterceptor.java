@@ -4,35 +4,60 @@
  */
 package org.jboss.as.ejb3.component.invocationmetrics;
 
+import java.lang.reflect.Method;
+
+import org.jboss.as.ee.component.Component;
+import org.jboss.as.ee.component.ComponentInterceptorFactory;
 import org.jboss.as.ejb3.component.EJBComponent;
-import org.jboss.as.ejb3.component.interceptors.AbstractEJBInterceptor;
-import org.jboss.invocation.ImmediateInterceptorFactory;
+import org.jboss.invocation.Interceptor;
 import org.jboss.invocation.InterceptorContext;
 import org.jboss.invocation.InterceptorFactory;
+import org.jboss.invocation.InterceptorFactoryContext;
 
 /**
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
-public class ExecutionTimeInterceptor extends AbstractEJBInterceptor {
-    public static final InterceptorFactory FACTORY = new ImmediateInterceptorFactory(new ExecutionTimeInterceptor());
+public class ExecutionTimeInterceptor implements Interceptor {
+
+    private final EJBComponent component;
+    private final InvocationMetrics.MethodMetrics methodMetrics;
+
+    private ExecutionTimeInterceptor(final EJBComponent component, final InvocationMetrics.MethodMetrics methodMetrics) {
+        this.component = component;
+        this.methodMetrics = methodMetrics;
+    }
 
-    private ExecutionTimeInterceptor() {
+    /**
+     * Creates a factory of interceptors that record invocation metrics for the specified component method.
+     * The metrics of the method are resolved once, when the component interceptors are created.
+     *
+     * @param method a component method
+     * @return an interceptor factory
+     */
+    public static InterceptorFactory factory(final Method method) {
+        return new ComponentInterceptorFactory() {
+            @Override
+            protected Interceptor create(final Component component, final InterceptorFactoryContext context) {
+                final EJBComponent ejbComponent = (EJBComponent) component;
+                return new ExecutionTimeInterceptor(ejbComponent, ejbComponent.getInvocationMetrics().getMethodMetrics(method));
+            }
+        };
     }
 
     @Override
     public Object processInvocation(final InterceptorContext context) throws Exception {
-        final EJBComponent component = getComponent(context, EJBComponent.class);
         if (!component.isStatisticsEnabled())
             return context.proceed();
         final Long startWaitTime = (Long) context.getPrivateData(WaitTimeInterceptor.START_WAIT_TIME);
-        final long waitTime = startWaitTime != null && startWaitTime != 0L ? System.currentTimeMillis() - startWaitTime : 0L;
-        component.getInvocationMetrics().startInvocation();
-        final long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
+        final long waitTime = startWaitTime != null ? start - startWaitTime : 0L;
+        final InvocationMetrics metrics = component.getInvocationMetrics();
+        metrics.startInvocation();
         try {
             return context.proceed();
         } finally {
-            final long executionTime = System.currentTimeMillis() - start;
-            component.getInvocationMetrics().finishInvocation(context.getMethod(), waitTime, executionTime);
+            final long executionTime = System.nanoTime() - start;
+            metrics.finishInvocation(methodMetrics, waitTime, executionTime);
         }
     }
 }
@@ -5,17 +5,24 @@
 package org.jboss.as.ejb3.component.invocationmetrics;
 
 import java.lang.reflect.Method;
-import java.util.AbstractMap;
-import java.util.AbstractSet;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.jboss.as.ee.utils.LatencyHistogram;
 
 /**
+ * Invocation metrics of an EJB component.
+ * Times are recorded in nanoseconds into striped counters and reported in milliseconds.
+ * Per-method metrics are resolved once per component method when the component interceptors are created.
+ *
  * @author <a href="mailto:cdewolf@redhat.com">Carlo de Wolf</a>
  */
 public class InvocationMetrics {
@@ -43,38 +50,75 @@ public class InvocationMetrics {
         }
     }
 
-    private final AtomicReference<Values> values = new AtomicReference<Values>(new Values(0, 0, 0));
+    /**
+     * Invocation counters of a single component method.
+     */
+    public static class MethodMetrics {
+        private final Method method;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder waitTime = new LongAdder();
+        private final LongAdder executionTime = new LongAdder();
+
+        MethodMetrics(final Method method) {
+            this.method = method;
+        }
+
+        Values getValues() {
+            return new Values(invocations.sum(), toMillis(waitTime.sum()), toMillis(executionTime.sum()));
+        }
+    }
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+    private final LongAdder executionTime = new LongAdder();
+    private final LongAdder cloneTime = new LongAdder();
+    private final LatencyHistogram waitTimeHistogram = new LatencyHistogram();
+    private final LatencyHistogram executionTimeHistogram = new LatencyHistogram();
     private final AtomicLong concurrent = new AtomicLong(0);
     private final AtomicLong peakConcurrent = new AtomicLong(0);
 
-    private final ConcurrentMap<String, AtomicReference<Values>> methods = new ConcurrentHashMap<String, AtomicReference<Values>>();
+    // Keyed by method equality, so that overloaded methods are tracked separately
+    private final ConcurrentMap<Method, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the metrics of the specified component method.
+     * This is intended to be called once per method, when the component interceptors are created.
+     *
+     * @param method a component method
+     * @return the metrics of the method
+     */
+    public MethodMetrics getMethodMetrics(final Method method) {
+        return methods.computeIfAbsent(method, MethodMetrics::new);
+    }
 
-    void finishInvocation(final Method method, final long invocationWaitTime, final long invocationExecutionTime) {
+    void finishInvocation(final MethodMetrics method, final long invocationWaitTime, final long invocationExecutionTime) {
         concurrent.decrementAndGet();
-        for(;;) {
-            final Values oldv = values.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (values.compareAndSet(oldv, newv))
-                break;
-        }
-        final AtomicReference<Values> methodValues = ref(methods, method.getName());
-        for (;;) {
-            final Values oldv = methodValues.get();
-            final Values newv = new Values(oldv.invocations + 1, oldv.waitTime + invocationWaitTime, oldv.executionTime + invocationExecutionTime);
-            if (methodValues.compareAndSet(oldv, newv))
-                break;
-        }
+        invocations.increment();
+        waitTime.add(invocationWaitTime);
+        executionTime.add(invocationExecutionTime);
+        waitTimeHistogram.record(invocationWaitTime);
+        executionTimeHistogram.record(invocationExecutionTime);
+        method.invocations.increment();
+        method.waitTime.add(invocationWaitTime);
+        method.executionTime.add(invocationExecutionTime);
     }
 
-    private static AtomicReference<Values> ref(final ConcurrentMap<String, AtomicReference<Values>> map, final String key) {
-        AtomicReference<Values> ref = map.get(key);
-        if (ref == null) {
-            ref = new AtomicReference<Values>(new Values(0, 0, 0));
-            final AtomicReference<Values> prevRef = map.putIfAbsent(key, ref);
-            if (prevRef != null)
-                ref = prevRef;
-        }
-        return ref;
+    /**
+     * Records the time spent cloning the parameters, or the result, of a local invocation of a remote view.
+     *
+     * @param nanos the clone time, in nanoseconds
+     */
+    public void recordCloneTime(final long nanos) {
+        cloneTime.add(nanos);
+    }
+
+    /**
+     * Returns the time spent cloning the parameters and results of local invocations of remote views, in milliseconds.
+     *
+     * @return the clone time
+     */
+    public long getCloneTime() {
+        return toMillis(cloneTime.sum());
     }
 
     public long getConcurrent() {
@@ -82,62 +126,31 @@ public class InvocationMetrics {
     }
 
     public long getExecutionTime() {
-        return values.get().executionTime;
+        return toMillis(executionTime.sum());
     }
 
     public long getInvocations() {
-        return values.get().invocations;
+        return invocations.sum();
     }
 
+    /**
+     * Returns the metrics of each invoked method, keyed by method name.
+     * Overloaded methods are distinguished by their parameter types.
+     *
+     * @return a map of method metrics
+     */
     public Map<String, Values> getMethods() {
-        return new AbstractMap<String, Values>() {
-            @Override
-            public Set<Entry<String, Values>> entrySet() {
-                return new AbstractSet<Entry<String, Values>>() {
-                    @Override
-                    public Iterator<Entry<String, Values>> iterator() {
-                        final Iterator<Entry<String, AtomicReference<Values>>> delegate = methods.entrySet().iterator();
-                        return new Iterator<Entry<String, Values>>() {
-                            @Override
-                            public boolean hasNext() {
-                                return delegate.hasNext();
-                            }
-
-                            @Override
-                            public Entry<String, Values> next() {
-                                final Entry<String, AtomicReference<Values>> next = delegate.next();
-                                return new Entry<String, Values>() {
-                                    @Override
-                                    public String getKey() {
-                                        return next.getKey();
-                                    }
-
-                                    @Override
-                                    public Values getValue() {
-                                        return next.getValue().get();
-                                    }
-
-                                    @Override
-                                    public Values setValue(final Values value) {
-                                        throw new UnsupportedOperationException("NYI");
-                                    }
-                                };
-                            }
-
-                            @Override
-                            public void remove() {
-                                throw new UnsupportedOperationException("NYI");
-                            }
-                        };
-                    }
-
-                    @Override
-                    public int size() {
-                        return methods.size();
-                    }
-                };
+        final Map<String, Long> overloads = methods.keySet().stream().collect(Collectors.groupingBy(Method::getName, Collectors.counting()));
+        final Map<String, Values> result = new LinkedHashMap<>();
+        for (MethodMetrics metrics : methods.values()) {
+            final Values values = metrics.getValues();
+            if (values.getInvocations() > 0) {
+                final Method method = metrics.method;
+                final String name = overloads.get(method.getName()) > 1 ? method.getName() + Arrays.stream(method.getParameterTypes()).map(Class::getTypeName).collect(Collectors.joining(",", "(", ")")) : method.getName();
+                result.put(name, values);
             }
-        };
+        }
+        return Collections.unmodifiableMap(result);
     }
 
     public long getPeakConcurrent() {
@@ -145,7 +158,25 @@ public class InvocationMetrics {
     }
 
     public long getWaitTime() {
-        return values.get().waitTime;
+        return toMillis(waitTime.sum());
+    }
+
+    /**
+     * Returns the distribution of the time spent waiting to obtain an instance, in nanoseconds.
+     *
+     * @return a latency histogram
+     */
+    public LatencyHistogram getWaitTimeHistogram() {
+        return waitTimeHistogram;
+    }
+
+    /**
+     * Returns the distribution of the time spent within bean methods, in nanoseconds.
+     *
+     * @return a latency histogram
+     */
+    public LatencyHistogram getExecutionTimeHistogram() {
+        return executionTimeHistogram;
     }
 
     void startInvocation() {
@@ -154,4 +185,8 @@ public class InvocationMetrics {
         if (peakConcurrent.get() < v)
             peakConcurrent.incrementAndGet();
     }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
 }
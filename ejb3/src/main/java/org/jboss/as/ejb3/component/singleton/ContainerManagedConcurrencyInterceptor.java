@@ -54,7 +54,8 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
             invokedMethod = method;
         }
         // get the Lock applicable for this method
-        Lock lock = getLock(lockableComponent, invokedMethod);
+        LockType lockType = lockableComponent.getLockType(invokedMethod);
+        Lock lock = getLock(lockableComponent, lockType, invokedMethod);
         // the default access timeout (will be used in the absence of any explicit access timeout value for the invoked method)
         AccessTimeoutDetails defaultAccessTimeout = lockableComponent.getDefaultAccessTimeout();
         // set to the default values
@@ -80,7 +81,9 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
             }
         }
         // try getting the lock
+        long start = System.nanoTime();
         boolean success = lock.tryLock(time, unit);
+        lockableComponent.recordLockWaitTime(lockType, System.nanoTime() - start);
         if (!success) {
             throw EjbLogger.ROOT_LOGGER.concurrentAccessTimeoutException(lockableComponent.getComponentName(), time + unit.name());
         }
@@ -92,8 +95,7 @@ class ContainerManagedConcurrencyInterceptor implements Interceptor {
         }
     }
 
-    private Lock getLock(SingletonComponent lockableComponent, Method method) {
-        LockType lockType = lockableComponent.getLockType(method);
+    private Lock getLock(SingletonComponent lockableComponent, LockType lockType, Method method) {
         switch (lockType) {
             case READ:
                 return lockableComponent.getLock().readLock();
@@ -9,6 +9,8 @@ import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 
 import jakarta.ejb.LockType;
@@ -61,6 +63,12 @@ public class SingletonComponent extends SessionBeanComponent {
      */
     private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
 
+    /**
+     * Time spent waiting to obtain the read and write locks of container managed concurrency, in nanoseconds
+     */
+    private final LongAdder readLockWaitTime = new LongAdder();
+    private final LongAdder writeLockWaitTime = new LongAdder();
+
     /**
      * Construct a new instance.
      *
@@ -168,6 +176,34 @@ public class SingletonComponent extends SessionBeanComponent {
         return readWriteLock;
     }
 
+    /**
+     * Records the time spent waiting to obtain a container managed concurrency lock.
+     *
+     * @param lockType the type of the lock
+     * @param nanos the wait time, in nanoseconds
+     */
+    void recordLockWaitTime(LockType lockType, long nanos) {
+        (lockType == LockType.READ ? readLockWaitTime : writeLockWaitTime).add(nanos);
+    }
+
+    /**
+     * Returns the time spent waiting to obtain the read lock of container managed concurrency, in milliseconds.
+     *
+     * @return the read lock wait time
+     */
+    public long getReadLockWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(readLockWaitTime.sum());
+    }
+
+    /**
+     * Returns the time spent waiting to obtain the write lock of container managed concurrency, in milliseconds.
+     *
+     * @return the write lock wait time
+     */
+    public long getWriteLockWaitTime() {
+        return TimeUnit.NANOSECONDS.toMillis(writeLockWaitTime.sum());
+    }
+
     private void destroySingletonInstance() {
         synchronized (creationLock) {
             if (this.singletonComponentInstance != null) {
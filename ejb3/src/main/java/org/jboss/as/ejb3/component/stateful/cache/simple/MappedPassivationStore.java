@@ -0,0 +1,181 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.component.stateful.cache.simple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local store of the serialized form of passivated bean instances, backed by memory-mapped segment files.
+ * Records are appended to the current segment, and a segment file is deleted once all of its records were removed.
+ * Since passivated instances are either activated or expired, segments are reclaimed without compaction.
+ * Records do not survive a restart of the server.
+ * @param <K> the bean identifier type
+ */
+public class MappedPassivationStore<K> implements AutoCloseable {
+
+    static final int SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    private final Path directory;
+    private final Map<K, Record> records = new ConcurrentHashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    // Guarded by this
+    private Segment current;
+
+    public MappedPassivationStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Stores the serialized form of the specified bean instance.
+     * @param id a bean identifier
+     * @param data the serialized bean instance
+     * @throws IOException if the record could not be written
+     */
+    public void put(K id, byte[] data) throws IOException {
+        Record record = this.append(data);
+        Record previous = this.records.put(id, record);
+        if (previous != null) {
+            this.release(previous);
+        }
+    }
+
+    /**
+     * Removes and returns the serialized form of the specified bean instance.
+     * @param id a bean identifier
+     * @return the serialized bean instance, or null if no such record exists
+     */
+    public byte[] remove(K id) {
+        Record record = this.records.remove(id);
+        if (record == null) return null;
+        byte[] data = record.read();
+        this.release(record);
+        return data;
+    }
+
+    /**
+     * Removes the serialized form of the specified bean instance, without reading it.
+     * @param id a bean identifier
+     * @return true, if a record was removed, false otherwise
+     */
+    public boolean discard(K id) {
+        Record record = this.records.remove(id);
+        if (record == null) return false;
+        this.release(record);
+        return true;
+    }
+
+    /**
+     * @return the number of stored records
+     */
+    public int size() {
+        return this.records.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        this.records.clear();
+        for (Segment segment : this.segments) {
+            segment.delete();
+        }
+        this.segments.clear();
+        this.current = null;
+    }
+
+    private synchronized Record append(byte[] data) throws IOException {
+        Segment segment = this.current;
+        if ((segment == null) || (segment.buffer.remaining() < data.length)) {
+            // Retire the current segment, which is deleted once its last record is released
+            if ((segment != null) && segment.release(0)) {
+                this.delete(segment);
+            }
+            Files.createDirectories(this.directory);
+            segment = new Segment(Files.createTempFile(this.directory, "sfsb-", ".passivation"), Math.max(SEGMENT_SIZE, data.length));
+            this.segments.add(segment);
+            this.current = segment;
+        }
+        int offset = segment.buffer.position();
+        segment.buffer.put(data);
+        segment.references.incrementAndGet();
+        return new Record(segment, offset, data.length);
+    }
+
+    private void release(Record record) {
+        if (record.segment.release(1)) {
+            synchronized (this) {
+                if (record.segment != this.current) {
+                    this.delete(record.segment);
+                }
+            }
+        }
+    }
+
+    private void delete(Segment segment) {
+        if (this.segments.remove(segment)) {
+            segment.delete();
+        }
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger references = new AtomicInteger();
+
+        Segment(Path file, int size) throws IOException {
+            this.file = file;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        }
+
+        /**
+         * Releases the specified number of records of this segment.
+         * @return true, if this segment no longer references any record
+         */
+        boolean release(int count) {
+            return this.references.addAndGet(-count) == 0;
+        }
+
+        void delete() {
+            try {
+                // The mapping itself is released once the buffer is collected
+                Files.deleteIfExists(this.file);
+            } catch (IOException e) {
+                this.file.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    private static class Record {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+
+        Record(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        byte[] read() {
+            byte[] data = new byte[this.length];
+            ByteBuffer buffer = this.segment.buffer.duplicate();
+            buffer.position(this.offset);
+            buffer.get(data);
+            return data;
+        }
+    }
+}
@@ -5,11 +5,15 @@
 
 package org.jboss.as.ejb3.component.stateful.cache.simple;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -21,74 +25,95 @@ import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanInstanceFac
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.ejb.client.Affinity;
 import org.jboss.ejb.client.NodeAffinity;
-import org.wildfly.clustering.context.DefaultThreadFactory;
-import org.wildfly.clustering.server.local.scheduler.LocalScheduler;
-import org.wildfly.clustering.server.local.scheduler.LocalSchedulerConfiguration;
-import org.wildfly.clustering.server.local.scheduler.ScheduledEntries;
-import org.wildfly.clustering.server.scheduler.Scheduler;
-import org.wildfly.security.manager.WildFlySecurityManager;
+import org.jboss.marshalling.InputStreamByteInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.ModularClassResolver;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+import org.jboss.marshalling.river.RiverMarshallerFactory;
 
 /**
  * A simple stateful session bean cache implementation.
  * Bean instances are stored in memory and are lost on undeploy, shutdown, or server crash.
+ * The expiration of beans is scheduled by a scheduler shared by all simple caches.
+ * If a passivation idle timeout is configured, beans that stay idle for that long are passivated to a local memory-mapped store,
+ * and activated on their next access.
+ * Passivation, activation, and expiration of a given bean are serialized via a per-bean transition,
+ * so that bean callbacks and marshalling never run while holding a lock of the underlying maps.
  * @author Paul Ferraro
  * @param <K> the bean identifier type
  * @param <V> the bean instance type
  */
 public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInstance<K>> implements StatefulSessionBeanCache<K, V>, Predicate<K>, Consumer<StatefulSessionBean<K, V>> {
-    private static final ThreadFactory THREAD_FACTORY = new DefaultThreadFactory(SimpleStatefulSessionBeanCache.class, WildFlySecurityManager.getClassLoaderPrivileged(SimpleStatefulSessionBeanCache.class));
 
     private final Map<K, V> instances = new ConcurrentHashMap<>();
+    private final Map<K, ScheduledTask> expirations = new ConcurrentHashMap<>();
+    private final Map<K, ScheduledTask> passivations = new ConcurrentHashMap<>();
+    // In-progress passivation, activation, or expiration, per bean
+    private final Map<K, CompletableFuture<Void>> transitions = new ConcurrentHashMap<>();
     private final Consumer<K> remover = this.instances::remove;
     private final StatefulSessionBeanInstanceFactory<V> factory;
     private final Supplier<K> identifierFactory;
     private final Duration timeout;
+    private final Duration passivationIdleTimeout;
     private final Affinity strongAffinity;
+    private final SimpleStatefulSessionBeanCacheConfiguration<K, V> configuration;
 
-    private volatile Scheduler<K, Instant> scheduler;
+    private volatile MappedPassivationStore<K> store;
+    private volatile MarshallerFactory marshallerFactory;
+    private volatile MarshallingConfiguration marshallingConfiguration;
 
     public SimpleStatefulSessionBeanCache(SimpleStatefulSessionBeanCacheConfiguration<K, V> configuration) {
         this.factory = configuration.getInstanceFactory();
         this.identifierFactory = configuration.getIdentifierFactory();
         this.timeout = configuration.getTimeout();
         this.strongAffinity = new NodeAffinity(configuration.getEnvironment().getNodeName());
+        Duration passivationIdleTimeout = configuration.getPassivationIdleTimeout();
+        // Passivation is pointless if beans expire first
+        this.passivationIdleTimeout = (passivationIdleTimeout != null) && ((this.timeout == null) || (passivationIdleTimeout.compareTo(this.timeout) < 0)) ? passivationIdleTimeout : null;
+        this.configuration = configuration;
     }
 
     @Override
     public void start() {
-        Predicate<K> task = this;
-        this.scheduler = (this.timeout != null) && !this.timeout.isZero() ? new LocalScheduler<>(new LocalSchedulerConfiguration<>() {
-            @Override
-            public ScheduledEntries<K, Instant> getScheduledEntries() {
-                return ScheduledEntries.linked();
-            }
-
-            @Override
-            public Predicate<K> getTask() {
-                return task;
-            }
-
-            @Override
-            public ThreadFactory getThreadFactory() {
-                return THREAD_FACTORY;
-            }
-
-            @Override
-            public Duration getCloseTimeout() {
-                return Duration.ZERO;
-            }
-        }) : null;
+        if (this.passivationIdleTimeout != null) {
+            this.store = new MappedPassivationStore<>(this.configuration.getEnvironment().getServerTempDir().toPath().resolve("ejb3-passivation"));
+            this.marshallerFactory = new RiverMarshallerFactory();
+            MarshallingConfiguration marshallingConfiguration = new MarshallingConfiguration();
+            marshallingConfiguration.setClassResolver(ModularClassResolver.getInstance(this.configuration.getModuleLoader()));
+            this.marshallingConfiguration = marshallingConfiguration;
+        }
     }
 
     @Override
     public void stop() {
-        if (this.scheduler != null) {
-            this.scheduler.close();
-        }
+        this.cancel(this.expirations);
+        this.cancel(this.passivations);
         for (V instance : this.instances.values()) {
             instance.removed();
         }
         this.instances.clear();
+        MappedPassivationStore<K> store = this.store;
+        if (store != null) {
+            // Passivated beans are discarded without invoking their @PreDestroy callbacks
+            store.close();
+        }
+    }
+
+    private void cancel(Map<K, ScheduledTask> tasks) {
+        for (ScheduledTask task : tasks.values()) {
+            task.cancel();
+        }
+        tasks.clear();
+    }
+
+    private void cancel(Map<K, ScheduledTask> tasks, K id) {
+        ScheduledTask task = tasks.remove(id);
+        if (task != null) {
+            task.cancel();
+        }
     }
 
     @Override
@@ -103,16 +128,126 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
 
     @Override
     public void accept(StatefulSessionBean<K, V> bean) {
+        K id = bean.getId();
         if (this.timeout != null) {
-            K id = bean.getId();
-            if (this.scheduler != null) {
+            if (!this.timeout.isZero()) {
                 // Timeout > 0, schedule bean to expire
-                this.scheduler.schedule(id, Instant.now().plus(this.timeout));
+                this.schedule(this.expirations, id, this.timeout, this::expire);
             } else {
                 // Timeout = 0, remove bean immediately
                 this.test(id);
+                return;
             }
         }
+        if (this.passivationIdleTimeout != null) {
+            this.schedule(this.passivations, id, this.passivationIdleTimeout, this::passivate);
+        }
+    }
+
+    private void schedule(Map<K, ScheduledTask> tasks, K id, Duration delay, BiConsumer<K, ScheduledTask> action) {
+        ScheduledTask task = new ScheduledTask(id, action);
+        // Register the task before scheduling, so that it is never executed before it is registered
+        ScheduledTask previous = tasks.put(id, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+        task.schedule(delay);
+    }
+
+    private void expire(K id, ScheduledTask task) {
+        // Ignore the expiration of a bean that was accessed concurrently
+        if (!this.expirations.remove(id, task)) return;
+        this.cancel(this.passivations, id);
+        if (this.store == null) {
+            this.test(id);
+            return;
+        }
+        // Wait for any concurrent passivation, so that the bean is not stored after its expiration
+        this.transition(id, () -> {
+            if (!this.test(id)) {
+                // Expired beans are discarded from the passivation store without invoking their @PreDestroy callbacks
+                this.store.discard(id);
+            }
+            return null;
+        });
+    }
+
+    private void passivate(K id, ScheduledTask task) {
+        CompletableFuture<Void> transition = new CompletableFuture<>();
+        // Ignore the passivation of a bean that is concurrently accessed or expired
+        if (this.transitions.putIfAbsent(id, transition) != null) return;
+        try {
+            // Ignore the passivation of a bean that was accessed concurrently
+            if (!this.passivations.remove(id, task)) return;
+            V instance = this.instances.remove(id);
+            if (instance == null) return;
+            instance.prePassivate();
+            try {
+                this.store.put(id, this.marshal(instance));
+            } catch (IOException | RuntimeException e) {
+                EjbLogger.ROOT_LOGGER.failedToPassivateBean(id, e);
+                instance.postActivate();
+                this.instances.put(id, instance);
+            }
+        } finally {
+            this.transitions.remove(id, transition);
+            transition.complete(null);
+        }
+    }
+
+    private V activate(K id) {
+        V instance = this.instances.get(id);
+        if (instance != null) return instance;
+        byte[] data = this.store.remove(id);
+        if (data == null) return null;
+        try {
+            @SuppressWarnings("unchecked")
+            V activated = (V) this.unmarshal(data);
+            activated.postActivate();
+            this.instances.put(id, activated);
+            return activated;
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            EjbLogger.ROOT_LOGGER.failedToActivateBean(id, e);
+            return null;
+        }
+    }
+
+    /**
+     * Performs the specified action once no other passivation, activation, or expiration of the specified bean is in progress.
+     * @param id a bean identifier
+     * @param action an action, e.g. an activation
+     * @return the result of the action
+     */
+    private <R> R transition(K id, Supplier<R> action) {
+        CompletableFuture<Void> transition = new CompletableFuture<>();
+        CompletableFuture<Void> existing = this.transitions.putIfAbsent(id, transition);
+        while (existing != null) {
+            existing.join();
+            existing = this.transitions.putIfAbsent(id, transition);
+        }
+        try {
+            return action.get();
+        } finally {
+            this.transitions.remove(id, transition);
+            transition.complete(null);
+        }
+    }
+
+    private byte[] marshal(Object value) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Marshaller marshaller = this.marshallerFactory.createMarshaller(this.marshallingConfiguration);
+        marshaller.start(new OutputStreamByteOutput(output));
+        marshaller.writeObject(value);
+        marshaller.finish();
+        return output.toByteArray();
+    }
+
+    private Object unmarshal(byte[] data) throws IOException, ClassNotFoundException {
+        Unmarshaller unmarshaller = this.marshallerFactory.createUnmarshaller(this.marshallingConfiguration);
+        unmarshaller.start(new InputStreamByteInput(new ByteArrayInputStream(data)));
+        Object result = unmarshaller.readObject();
+        unmarshaller.finish();
+        return result;
     }
 
     @Override
@@ -121,7 +256,7 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
         if (instance != null) {
             instance.removed();
         }
-        return true;
+        return instance != null;
     }
 
     @Override
@@ -138,11 +273,11 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
 
     @Override
     public StatefulSessionBean<K, V> findStatefulSessionBean(K id) {
-        V instance = this.instances.get(id);
+        // Cancel scheduled tasks before lookup, so that a concurrent expiration or passivation is ignored
+        this.cancel(this.expirations, id);
+        this.cancel(this.passivations, id);
+        V instance = (this.store != null) ? this.transition(id, () -> this.activate(id)) : this.instances.get(id);
         if (instance == null) return null;
-        if (this.scheduler != null) {
-            this.scheduler.cancel(id);
-        }
         return new SimpleStatefulSessionBean<>(instance, this.remover, this);
     }
 
@@ -153,11 +288,42 @@ public class SimpleStatefulSessionBeanCache<K, V extends StatefulSessionBeanInst
 
     @Override
     public int getPassiveCount() {
-        return 0;
+        MappedPassivationStore<K> store = this.store;
+        return (store != null) ? store.size() : 0;
     }
 
     @Override
     public Supplier<K> getIdentifierFactory() {
         return this.identifierFactory;
     }
+
+    /**
+     * The expiration or passivation of a bean, scheduled via the shared scheduler.
+     */
+    private class ScheduledTask implements Runnable {
+        private final K id;
+        private final BiConsumer<K, ScheduledTask> action;
+        private volatile Future<?> future;
+
+        ScheduledTask(K id, BiConsumer<K, ScheduledTask> action) {
+            this.id = id;
+            this.action = action;
+        }
+
+        void schedule(Duration delay) {
+            this.future = SimpleStatefulSessionBeanScheduler.INSTANCE.schedule(this, delay);
+        }
+
+        void cancel() {
+            Future<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            this.action.accept(this.id, this);
+        }
+    }
 }
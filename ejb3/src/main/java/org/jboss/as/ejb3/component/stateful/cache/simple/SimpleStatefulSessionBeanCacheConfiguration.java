@@ -5,9 +5,12 @@
 
 package org.jboss.as.ejb3.component.stateful.cache.simple;
 
+import java.time.Duration;
+
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanCacheConfiguration;
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanInstance;
 import org.jboss.as.server.ServerEnvironment;
+import org.jboss.modules.ModuleLoader;
 
 /**
  * Configuration of a simple stateful session bean cache.
@@ -18,4 +21,16 @@ import org.jboss.as.server.ServerEnvironment;
 public interface SimpleStatefulSessionBeanCacheConfiguration<K, V extends StatefulSessionBeanInstance<K>> extends StatefulSessionBeanCacheConfiguration<K, V> {
 
     ServerEnvironment getEnvironment();
+
+    /**
+     * Returns the duration after which an idle bean is passivated, or null, if passivation is disabled.
+     * @return a duration, or null
+     */
+    Duration getPassivationIdleTimeout();
+
+    /**
+     * Returns the module loader used to resolve the classes of passivated beans.
+     * @return a module loader
+     */
+    ModuleLoader getModuleLoader();
 }
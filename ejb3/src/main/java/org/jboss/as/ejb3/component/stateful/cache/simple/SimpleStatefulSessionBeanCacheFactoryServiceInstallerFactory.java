@@ -16,6 +16,7 @@ import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanCacheFactor
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanInstance;
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanInstanceFactory;
 import org.jboss.as.server.ServerEnvironment;
+import org.jboss.modules.ModuleLoader;
 import org.wildfly.subsystem.service.ServiceDependency;
 import org.wildfly.subsystem.service.ServiceInstaller;
 
@@ -28,8 +29,28 @@ import org.wildfly.subsystem.service.ServiceInstaller;
  */
 public class SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<K, V extends StatefulSessionBeanInstance<K>> implements Function<StatefulComponentDescription, ServiceInstaller> {
 
+    private final Duration passivationIdleTimeout;
+    private final ModuleLoader moduleLoader;
+
+    public SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory() {
+        this(null, null);
+    }
+
+    /**
+     * Creates an installer factory for caches that passivate beans after the specified idle timeout.
+     * @param passivationIdleTimeout the duration after which an idle bean is passivated, or null, if passivation is disabled
+     * @param moduleLoader the module loader used to resolve the classes of passivated beans
+     */
+    public SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory(Duration passivationIdleTimeout, ModuleLoader moduleLoader) {
+        this.passivationIdleTimeout = passivationIdleTimeout;
+        this.moduleLoader = moduleLoader;
+    }
+
     @Override
     public ServiceInstaller apply(StatefulComponentDescription description) {
+        // Beans that are not passivation capable are never passivated
+        Duration passivationIdleTimeout = description.isPassivationApplicable() ? this.passivationIdleTimeout : null;
+        ModuleLoader moduleLoader = this.moduleLoader;
         ServiceDependency<ServerEnvironment> environment = ServiceDependency.on(ServerEnvironment.SERVICE_DESCRIPTOR);
         StatefulSessionBeanCacheFactory<K, V> factory = new StatefulSessionBeanCacheFactory<>() {
             @Override
@@ -55,6 +76,16 @@ public class SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<K, V e
                         return environment.get();
                     }
 
+                    @Override
+                    public Duration getPassivationIdleTimeout() {
+                        return passivationIdleTimeout;
+                    }
+
+                    @Override
+                    public ModuleLoader getModuleLoader() {
+                        return moduleLoader;
+                    }
+
                     @Override
                     public String getComponentName() {
                         return configuration.getComponentName();
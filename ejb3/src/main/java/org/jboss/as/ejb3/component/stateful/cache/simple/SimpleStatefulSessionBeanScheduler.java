@@ -0,0 +1,56 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.component.stateful.cache.simple;
+
+import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.wildfly.clustering.context.DefaultThreadFactory;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Server-wide scheduler of the expiration and passivation of the beans of all simple stateful session bean caches.
+ * A single timer thread only keeps track of the delays; due tasks, which invoke bean callbacks and serialize bean instances,
+ * are handed off to a bounded pool of worker threads, so that a slow bean never delays the tasks of other beans.
+ * Threads are only retained while tasks are scheduled or running.
+ */
+enum SimpleStatefulSessionBeanScheduler {
+    INSTANCE;
+
+    private static final String MAX_THREADS = "jboss.ejb.stateful.simple-cache.max-threads";
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ThreadPoolExecutor executor;
+
+    SimpleStatefulSessionBeanScheduler() {
+        ClassLoader loader = WildFlySecurityManager.getClassLoaderPrivileged(SimpleStatefulSessionBeanCache.class);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(SimpleStatefulSessionBeanScheduler.class, loader));
+        // Drop cancelled tasks, e.g. the expiration of a bean that was subsequently accessed, from the work queue
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.scheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        this.scheduler.allowCoreThreadTimeOut(true);
+        int maxThreads = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(MAX_THREADS, Integer.toString(Math.max(2, Runtime.getRuntime().availableProcessors()))));
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new DefaultThreadFactory(SimpleStatefulSessionBeanCache.class, loader));
+        // Idle threads are not retained
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules the specified task to run on a worker thread after the specified delay.
+     * A task cancelled after its delay elapsed may still run, and must therefore verify that it is still relevant.
+     * @param task a task
+     * @param delay the delay of execution
+     * @return a future, used to cancel the task
+     */
+    ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return this.scheduler.schedule(() -> this.executor.execute(task), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -42,4 +42,28 @@ public interface DeploymentRepository {
      */
     Map<DeploymentModuleIdentifier, ModuleDeployment> getStartedModules();
 
+    /**
+     * Returns the specified deployment, which may not be in a started state.
+     *
+     * @param identifier the deployment identifier
+     * @return the deployment, or null if there is no such deployment
+     */
+    default ModuleDeployment getModule(DeploymentModuleIdentifier identifier) {
+        return getModules().get(identifier);
+    }
+
+    /**
+     * Returns the specified EJB of a started deployment, without copying the deployments, nor allocating a {@link DeploymentModuleIdentifier}.
+     *
+     * @param appName the application name
+     * @param moduleName the module name
+     * @param distinctName the distinct name
+     * @param beanName the bean name
+     * @return the EJB, or null if there is no such EJB in a started deployment
+     */
+    default EjbDeploymentInformation getStartedEjb(String appName, String moduleName, String distinctName, String beanName) {
+        final ModuleDeployment module = getStartedModules().get(new DeploymentModuleIdentifier(appName, moduleName, distinctName));
+        return module != null ? module.getEjbs().get(beanName) : null;
+    }
+
 }
@@ -35,6 +35,12 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
      */
     private volatile Map<DeploymentModuleIdentifier, DeploymentHolder> modules;
 
+    /**
+     * The EJBs of the started modules, indexed by application, module, distinct and bean name. This is rebuilt whenever a module
+     * is added, started or removed, so that remote invocations resolve their target without copying the modules.
+     */
+    private volatile Map<String, Map<String, Map<String, Map<String, EjbDeploymentInformation>>>> startedEjbs = Collections.emptyMap();
+
     private final List<DeploymentRepositoryListener> listeners = new ArrayList<DeploymentRepositoryListener>();
 
     /**
@@ -45,12 +51,18 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
 
     @Override
     public void start(StartContext context) throws StartException {
-        modules = Collections.emptyMap();
+        synchronized (this) {
+            modules = Collections.emptyMap();
+            startedEjbs = Collections.emptyMap();
+        }
     }
 
     @Override
     public void stop(StopContext context) {
-        modules = Collections.emptyMap();
+        synchronized (this) {
+            modules = Collections.emptyMap();
+            startedEjbs = Collections.emptyMap();
+        }
     }
 
     @Override
@@ -66,6 +78,8 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
             final Map<DeploymentModuleIdentifier, DeploymentHolder> modules = new HashMap<DeploymentModuleIdentifier, DeploymentHolder>(this.modules);
             modules.put(identifier, new DeploymentHolder(deployment));
             this.modules = Collections.unmodifiableMap(modules);
+            // the module may replace a started one
+            indexStartedEjbs();
             listeners = new ArrayList<DeploymentRepositoryListener>(this.listeners);
             suspended = this.suspended;
         }
@@ -89,6 +103,7 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
             deployment = modules.get(identifier);
             if (deployment == null) return false;
             deployment.started = true;
+            indexStartedEjbs();
             listeners = new ArrayList<DeploymentRepositoryListener>(this.listeners);
         }
         for (final DeploymentRepositoryListener listener : listeners) {
@@ -121,6 +136,7 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
             final Map<DeploymentModuleIdentifier, DeploymentHolder> modules = new HashMap<DeploymentModuleIdentifier, DeploymentHolder>(this.modules);
             modules.remove(identifier);
             this.modules = Collections.unmodifiableMap(modules);
+            indexStartedEjbs();
             listeners = new ArrayList<DeploymentRepositoryListener>(this.listeners);
         }
         for (final DeploymentRepositoryListener listener : listeners) {
@@ -184,6 +200,42 @@ public class DeploymentRepositoryService implements DeploymentRepository, Servic
         return modules;
     }
 
+    @Override
+    public ModuleDeployment getModule(DeploymentModuleIdentifier identifier) {
+        final DeploymentHolder holder = this.modules.get(identifier);
+        return holder != null ? holder.deployment : null;
+    }
+
+    @Override
+    public EjbDeploymentInformation getStartedEjb(String appName, String moduleName, String distinctName, String beanName) {
+        final Map<String, Map<String, Map<String, EjbDeploymentInformation>>> appModules = this.startedEjbs.get(appName);
+        if (appModules == null) {
+            return null;
+        }
+        final Map<String, Map<String, EjbDeploymentInformation>> distinctModules = appModules.get(moduleName);
+        if (distinctModules == null) {
+            return null;
+        }
+        final Map<String, EjbDeploymentInformation> ejbs = distinctModules.get(distinctName);
+        return ejbs != null ? ejbs.get(beanName) : null;
+    }
+
+    /**
+     * Rebuilds the index of the EJBs of the started modules, must be called while holding the monitor of this repository.
+     */
+    private void indexStartedEjbs() {
+        final Map<String, Map<String, Map<String, Map<String, EjbDeploymentInformation>>>> startedEjbs = new HashMap<>();
+        for (Map.Entry<DeploymentModuleIdentifier, DeploymentHolder> entry : this.modules.entrySet()) {
+            if (entry.getValue().started) {
+                final DeploymentModuleIdentifier identifier = entry.getKey();
+                startedEjbs.computeIfAbsent(identifier.getApplicationName(), key -> new HashMap<>())
+                        .computeIfAbsent(identifier.getModuleName(), key -> new HashMap<>())
+                        .put(identifier.getDistinctName(), entry.getValue().deployment.getEjbs());
+            }
+        }
+        this.startedEjbs = startedEjbs;
+    }
+
     @Override
     public Map<DeploymentModuleIdentifier, ModuleDeployment> getStartedModules() {
         Map<DeploymentModuleIdentifier, ModuleDeployment> modules = new HashMap<DeploymentModuleIdentifier, ModuleDeployment>();
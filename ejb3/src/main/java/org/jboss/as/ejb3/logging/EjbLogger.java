@@ -3255,4 +3255,50 @@ public interface EjbLogger extends BasicLogger {
 
     @Message(id = 536, value = "Unsupported EJB receiver protocol %s")
     IllegalArgumentException unsupportedEJBReceiverProtocol(String uriScheme);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 537, value = "Failed to run expired timeout %s")
+    void failedToRunTimeout(Runnable task, @Cause Throwable e);
+
+    @Message(id = 538, value = "Timeout scheduler has already been shut down")
+    IllegalStateException timeoutSchedulerShutdown();
+
+    @LogMessage(level = ERROR)
+    @Message(id = 539, value = "Cannot add the LAST_MODIFIED column required by incremental refresh to the timer table")
+    void couldNotAddLastModifiedColumn(@Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 540, value = "Timer journal segment %s is corrupt at offset %d, its remaining records are discarded")
+    void corruptTimerJournalSegment(File segment, long offset);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 541, value = "Failed to compact timer journal %s")
+    void failedToCompactTimerJournal(File directory, @Cause IOException e);
+
+    @Message(id = 542, value = "Could not open timer journal %s")
+    RuntimeException failToOpenTimerJournal(File directory, @Cause IOException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 543, value = "Failed to write %d timer updates, they will be retried on the next refresh")
+    void failedToWriteTimerUpdates(int count, @Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 544, value = "Failed to claim due timers")
+    void failedToClaimTimers(@Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 545, value = "Failed to passivate stateful session bean %s, it will remain in memory")
+    void failedToPassivateBean(Object id, @Cause Throwable e);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 546, value = "Failed to activate stateful session bean %s")
+    void failedToActivateBean(Object id, @Cause Throwable e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 547, value = "Timer file %s could not be imported into the timer journal, it is kept and will be retried the next time its timers are loaded")
+    void timerFileNotMigrated(File file);
+
+    @LogMessage(level = WARN)
+    @Message(id = 548, value = "Failed to release %d timers claimed by this node, other nodes may only run them once the claims expire")
+    void failedToReleaseClaimedTimers(int count, @Cause SQLException e);
 }
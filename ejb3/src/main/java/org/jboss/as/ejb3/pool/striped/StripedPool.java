@@ -0,0 +1,250 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with a maximum size whose free instances and permits are spread over a number of stripes.
+ * <p/>
+ * Each thread is mapped onto a home stripe, from which it acquires a permit and a free instance. If its home
+ * stripe is exhausted, a thread steals permits or instances from the other stripes before blocking. This keeps
+ * the strict maximum size and acquisition timeout of {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}
+ * while avoiding a single semaphore and queue shared by every invocation.
+ */
+public class StripedPool<T> extends AbstractPool<T> {
+
+    private final Stripe<T>[] stripes;
+    /**
+     * The maximum number of instances allowed in the pool
+     */
+    private final int maxSize;
+    /**
+     * The time to wait for a permit.
+     */
+    private final long timeout;
+    private final TimeUnit timeUnit;
+
+    /**
+     * Only used by threads that could not find a permit in any stripe.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = this.lock.newCondition();
+    private volatile int waiters = 0;
+
+    public StripedPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    StripedPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        int count = Math.max(1, Math.min(concurrency, maxSize));
+        this.stripes = new Stripe[count];
+        // Distribute permits evenly, giving any remainder to the leading stripes
+        for (int i = 0; i < count; ++i) {
+            this.stripes[i] = new Stripe<>((maxSize / count) + ((i < (maxSize % count)) ? 1 : 0));
+        }
+    }
+
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.releasePermit();
+
+        // Let the super do any other remove stuff
+        super.doRemove(ctx);
+    }
+
+    public int getCurrentSize() {
+        return getCreateCount() - getRemoveCount();
+    }
+
+    public int getAvailableCount() {
+        int count = 0;
+        for (Stripe<T> stripe : this.stripes) {
+            count += stripe.permits.get();
+        }
+        return count;
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+    }
+
+    /**
+     * Get an instance without identity.
+     * Can be used by finders,create-methods, and activation
+     *
+     * @return Context /w instance
+     */
+    public T get() {
+        int home = this.homeIndex();
+        this.acquirePermit(home);
+
+        T bean = this.poll(home);
+
+        if (bean != null) {
+            //we found a bean instance in the pool, return it
+            return bean;
+        }
+
+        try {
+            // Pool is empty, create an instance
+            bean = create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit();
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Return an instance after invocation.
+     *
+     * @param obj
+     */
+    public void release(T obj) {
+        Stripe<T> stripe = this.stripes[this.homeIndex()];
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.getAvailableCount(), this.maxSize, this);
+        }
+
+        stripe.instances.offerFirst(obj);
+
+        this.releasePermit(stripe);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.releasePermit();
+        // let the super do the other remove stuff
+        super.doRemove(ctx);
+    }
+
+    public void start() {
+        // Nothing to start
+    }
+
+    public void stop() {
+        for (Stripe<T> stripe : this.stripes) {
+            for (T obj = stripe.instances.pollFirst(); obj != null; obj = stripe.instances.pollFirst()) {
+                destroy(obj);
+            }
+        }
+    }
+
+    private int homeIndex() {
+        // Spread thread identifiers so that consecutively created threads land on different stripes
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) ((id >>> 32) % this.stripes.length);
+    }
+
+    /**
+     * Polls the home stripe for the most recently released instance, otherwise steals the least recently released instance of another stripe.
+     */
+    private T poll(int home) {
+        T bean = this.stripes[home].instances.pollFirst();
+        for (int i = 1; (bean == null) && (i < this.stripes.length); ++i) {
+            bean = this.stripes[(home + i) % this.stripes.length].instances.pollLast();
+        }
+        return bean;
+    }
+
+    private boolean tryAcquirePermit(int home) {
+        for (int i = 0; i < this.stripes.length; ++i) {
+            if (this.stripes[(home + i) % this.stripes.length].tryAcquire()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void acquirePermit(int home) {
+        if (this.tryAcquirePermit(home)) return;
+
+        long nanos = this.timeUnit.toNanos(this.timeout);
+        this.lock.lock();
+        try {
+            // Permit releases only signal once they observe a waiter, so register before re-checking
+            this.waiters++;
+            try {
+                while (!this.tryAcquirePermit(home)) {
+                    if (nanos <= 0L) {
+                        throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                    }
+                    nanos = this.permitReleased.awaitNanos(nanos);
+                }
+            } finally {
+                this.waiters--;
+            }
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void releasePermit() {
+        this.releasePermit(this.stripes[this.homeIndex()]);
+    }
+
+    private void releasePermit(Stripe<T> stripe) {
+        stripe.permits.incrementAndGet();
+        if (this.waiters > 0) {
+            this.lock.lock();
+            try {
+                this.permitReleased.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private static class Stripe<T> {
+        final AtomicInteger permits;
+        final Deque<T> instances = new ConcurrentLinkedDeque<>();
+
+        Stripe(int permits) {
+            this.permits = new AtomicInteger(permits);
+        }
+
+        boolean tryAcquire() {
+            int current = this.permits.get();
+            while (current > 0) {
+                int witness = this.permits.compareAndExchange(current, current - 1);
+                if (witness == current) return true;
+                current = witness;
+            }
+            return false;
+        }
+    }
+}
@@ -451,16 +451,7 @@ final class AssociationImpl implements Association, AutoCloseable {
     }
 
     private EjbDeploymentInformation findEJB(final String appName, final String moduleName, final String distinctName, final String beanName) {
-        final DeploymentModuleIdentifier ejbModule = new DeploymentModuleIdentifier(appName, moduleName, distinctName);
-        final Map<DeploymentModuleIdentifier, ModuleDeployment> modules = this.deploymentRepository.getStartedModules();
-        if (modules == null || modules.isEmpty()) {
-            return null;
-        }
-        final ModuleDeployment moduleDeployment = modules.get(ejbModule);
-        if (moduleDeployment == null) {
-            return null;
-        }
-        return moduleDeployment.getEjbs().get(beanName);
+        return this.deploymentRepository.getStartedEjb(appName, moduleName, distinctName, beanName);
     }
 
     private static final class ClusterTopologyRegistrar implements RegistryListener<String, List<ClientMapping>> {
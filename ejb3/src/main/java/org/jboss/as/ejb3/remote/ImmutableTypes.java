@@ -0,0 +1,77 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Identifies the classes whose instances do not need to be cloned by a local invocation of a remote view, since they are immutable.
+ * The decision is computed once per class.
+ */
+final class ImmutableTypes {
+
+    private static final Set<Class<?>> JDK_TYPES = Set.of(String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class, URI.class, Locale.class);
+
+    // The maximum depth of nested records inspected
+    private static final int MAX_DEPTH = 4;
+
+    private static final ClassValue<Boolean> IMMUTABLE = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isImmutable(type, 0);
+        }
+    };
+
+    private ImmutableTypes() {
+    }
+
+    /**
+     * Indicates whether the specified class is immutable, i.e. if it is an immutable Java platform class, such as a String,
+     * a boxed primitive or a java.time class, or a record whose components are all of such types.
+     * Note that, unlike Java platform classes, a record class may not be visible to both sides of an invocation.
+     *
+     * @param type a class
+     * @return true if instances of the class are immutable, false otherwise
+     */
+    static boolean isImmutable(Class<?> type) {
+        return IMMUTABLE.get(type);
+    }
+
+    /**
+     * @param type a class
+     * @return true if the specified class is an immutable Java platform class
+     */
+    static boolean isPlatformType(Class<?> type) {
+        return JDK_TYPES.contains(type) || (type.getClassLoader() == null && type.getPackageName().equals("java.time") && !Throwable.class.isAssignableFrom(type));
+    }
+
+    private static boolean isImmutable(Class<?> type, int depth) {
+        if (type.isPrimitive() || isPlatformType(type)) {
+            return true;
+        }
+        if (!type.isRecord() || depth == MAX_DEPTH) {
+            return false;
+        }
+        for (RecordComponent component : type.getRecordComponents()) {
+            // a component of a non final type may reference an instance of a mutable subclass
+            final Class<?> componentType = component.getType();
+            if (!componentType.isPrimitive() && !Modifier.isFinal(componentType.getModifiers())) {
+                return false;
+            }
+            if (!isImmutable(componentType, depth + 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -15,9 +15,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 import org.jboss.as.ee.component.Component;
 import org.jboss.as.ee.component.ComponentView;
@@ -25,6 +27,7 @@ import org.jboss.as.ee.component.deployers.StartupCountdown;
 import org.jboss.as.ee.utils.DescriptorUtils;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.interceptors.CancellationFlag;
+import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
 import org.jboss.as.ejb3.component.session.SessionBeanComponent;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
 import org.jboss.as.ejb3.deployment.DeploymentModuleIdentifier;
@@ -62,6 +65,13 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 public class LocalEjbReceiver extends EJBReceiver {
     private static final EJBReceiverInvocationContext.ResultProducer.Immediate NULL_RESULT = new EJBReceiverInvocationContext.ResultProducer.Immediate(null);
     private static final AttachmentKey<CancellationFlag> CANCELLATION_FLAG_ATTACHMENT_KEY = new AttachmentKey<>();
+    // the descriptors of the invoked methods, used to resolve the corresponding view methods
+    private static final ClassValue<Map<Method, String>> METHOD_DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
 
     private final DeploymentRepository deploymentRepository;
 
@@ -90,9 +100,11 @@ public class LocalEjbReceiver extends EJBReceiver {
         }
         final ClonerConfiguration paramConfig = new ClonerConfiguration();
         paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
-        final ObjectCloner parameterCloner = createCloner(paramConfig);
-        //TODO: this is not very efficient
-        final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
+        final Supplier<ObjectCloner> parameterCloner = new LazyCloner(paramConfig);
+        final Method invokedMethod = invocation.getInvokedMethod();
+        final String descriptor = METHOD_DESCRIPTORS.get(invokedMethod.getDeclaringClass()).computeIfAbsent(invokedMethod, DescriptorUtils::methodDescriptor);
+        final Method method = view.getMethod(invokedMethod.getName(), descriptor);
+        final InvocationMetrics metrics = ejbComponent.getInvocationMetrics();
 
         final boolean async = view.isAsynchronous(method) || invocation.isClientAsync();
 
@@ -100,10 +112,14 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (invocation.getParameters() == null) {
             parameters = EMPTY_STRING_ARRAY;
         } else {
-            parameters = new Object[invocation.getParameters().length];
+            final long start = System.nanoTime();
+            final Object[] invocationParameters = invocation.getParameters();
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            parameters = new Object[invocationParameters.length];
             for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
+                parameters[i] = clone(parameterTypes[i], parameterCloner, invocationParameters[i], allowPassByReference);
             }
+            metrics.recordCloneTime(System.nanoTime() - start);
         }
 
         final InterceptorContext interceptorContext = new InterceptorContext();
@@ -150,7 +166,7 @@ public class LocalEjbReceiver extends EJBReceiver {
 
         final ClonerConfiguration config = new ClonerConfiguration();
         config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
-        final ObjectCloner resultCloner = createCloner(config);
+        final Supplier<ObjectCloner> resultCloner = new LazyCloner(config);
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
                 final CancellationFlag flag = new CancellationFlag();
@@ -181,7 +197,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                             result = view.invoke(interceptorContext);
                         } catch (Exception e) {
                             // WFLY-4331 - clone the exception of an async task
-                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference, metrics));
                             return;
                         }
                         // if the result is null, there is no cloning needed
@@ -202,7 +218,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                                     intr = true;
                                 } catch (ExecutionException e) {
                                     // WFLY-4331 - clone the exception of an async task
-                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference, metrics));
                                     return;
                                 }
                             } finally {
@@ -213,10 +229,10 @@ public class LocalEjbReceiver extends EJBReceiver {
                                 receiverContext.resultReady(NULL_RESULT);
                                 return;
                             }
-                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference));
+                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference, metrics));
                             return;
                         }
-                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference, metrics));
                     } finally {
                         StartupCountdown.restore(null);
                     }
@@ -243,10 +259,10 @@ public class LocalEjbReceiver extends EJBReceiver {
             } catch (Exception e) {
                 //we even have to clone the exception type
                 //to make sure it matches
-                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference, metrics));
                 return;
             }
-            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference, metrics));
 
             handleReturningContextData(invocation, interceptorContext);
         }
@@ -289,19 +305,26 @@ public class LocalEjbReceiver extends EJBReceiver {
 
     static final class CloningResultProducer implements EJBReceiverInvocationContext.ResultProducer {
         private final EJBClientInvocationContext invocation;
-        private final ObjectCloner resultCloner;
+        private final Supplier<ObjectCloner> resultCloner;
         private final Object result;
         private final boolean allowPassByReference;
+        private final InvocationMetrics metrics;
 
-        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference) {
+        CloningResultProducer(final EJBClientInvocationContext invocation, final Supplier<ObjectCloner> resultCloner, final Object result, final boolean allowPassByReference, final InvocationMetrics metrics) {
             this.invocation = invocation;
             this.resultCloner = resultCloner;
             this.result = result;
             this.allowPassByReference = allowPassByReference;
+            this.metrics = metrics;
         }
 
         public Object getResult() throws Exception {
-            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            final long start = System.nanoTime();
+            try {
+                return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            } finally {
+                metrics.recordCloneTime(System.nanoTime() - start);
+            }
         }
 
         public void discardResult() {
@@ -309,18 +332,27 @@ public class LocalEjbReceiver extends EJBReceiver {
     }
 
     static final class CloningExceptionProducer implements EJBReceiverInvocationContext.ResultProducer {
-        private final ObjectCloner resultCloner;
+        private final Supplier<ObjectCloner> resultCloner;
         private final Exception exception;
         private final boolean allowPassByReference;
+        private final InvocationMetrics metrics;
 
-        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception, final boolean allowPassByReference) {
+        CloningExceptionProducer(final Supplier<ObjectCloner> resultCloner, final Exception exception, final boolean allowPassByReference, final InvocationMetrics metrics) {
             this.resultCloner = resultCloner;
             this.exception = exception;
             this.allowPassByReference = allowPassByReference;
+            this.metrics = metrics;
         }
 
         public Object getResult() throws Exception {
-            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultCloner, exception, allowPassByReference);
+            final long start = System.nanoTime();
+            final Exception clone;
+            try {
+                clone = (Exception) LocalEjbReceiver.clone(Exception.class, resultCloner, exception, allowPassByReference);
+            } finally {
+                metrics.recordCloneTime(System.nanoTime() - start);
+            }
+            throw clone;
         }
 
         public void discardResult() {
@@ -329,7 +361,27 @@ public class LocalEjbReceiver extends EJBReceiver {
 
 
 
-    private ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
+    /**
+     * Creates the cloner on first use, since the parameters and result of most invocations need no cloning.
+     */
+    private static final class LazyCloner implements Supplier<ObjectCloner> {
+        private final ClonerConfiguration config;
+        private ObjectCloner cloner;
+
+        LazyCloner(final ClonerConfiguration config) {
+            this.config = config;
+        }
+
+        @Override
+        public ObjectCloner get() {
+            if (cloner == null) {
+                cloner = createCloner(config);
+            }
+            return cloner;
+        }
+    }
+
+    private static ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
         ObjectCloner parameterCloner;
         if(WildFlySecurityManager.isChecking()) {
             parameterCloner = WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig));
@@ -350,7 +402,7 @@ public class LocalEjbReceiver extends EJBReceiver {
         return ((StatefulSessionComponent) component).createSession();
     }
 
-    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
+    static Object clone(final Class<?> target, final Supplier<ObjectCloner> cloner, final Object object, final boolean allowPassByReference) {
         if (object == null) {
             return null;
         }
@@ -358,10 +410,21 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (target.isPrimitive()) {
             return object;
         }
-        if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
+        final Class<?> type = object.getClass();
+        if (ImmutableTypes.isPlatformType(type)) {
             return object;
         }
-        return clone(cloner, object);
+        if (target.isAssignableFrom(type)) {
+            if (allowPassByReference) {
+                return object;
+            }
+            // other immutable objects, i.e. records, need no cloning, provided that the target side resolves the same class:
+            // a target type merely assignable from a class of another class loader, e.g. Object, does not suffice
+            if (type.getClassLoader() == target.getClassLoader() && ImmutableTypes.isImmutable(type)) {
+                return object;
+            }
+        }
+        return clone(cloner.get(), object);
     }
 
     private static Object clone(final ObjectCloner cloner, final Object object) {
@@ -393,7 +456,7 @@ public class LocalEjbReceiver extends EJBReceiver {
         final String distinctName = locator.getDistinctName();
         final String beanName = locator.getBeanName();
         final DeploymentModuleIdentifier moduleIdentifier = new DeploymentModuleIdentifier(appName, moduleName, distinctName);
-        final ModuleDeployment module = deploymentRepository.getModules().get(moduleIdentifier);
+        final ModuleDeployment module = deploymentRepository.getModule(moduleIdentifier);
         if (module == null) {
             throw EjbLogger.ROOT_LOGGER.unknownDeployment(locator);
         }
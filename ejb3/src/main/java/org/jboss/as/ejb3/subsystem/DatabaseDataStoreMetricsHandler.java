@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.subsystem;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.ejb3.timerservice.persistence.database.DatabaseTimerPersistence;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Reads the refresh, claim and batch metrics of a database data store.
+ * Metrics are left undefined while the data store is not running.
+ */
+public class DatabaseDataStoreMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final PathAddress address = context.getCurrentAddress();
+        final ServiceName serviceName = TimerServiceResourceDefinition.TIMER_PERSISTENCE_CAPABILITY.getCapabilityServiceName(address);
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return;
+        }
+        final Object value = controller.getValue();
+        if (!(value instanceof DatabaseTimerPersistence)) {
+            return;
+        }
+        final DatabaseTimerPersistence persistence = (DatabaseTimerPersistence) value;
+        final String metric = operation.require(NAME).asString();
+        if (DatabaseDataStoreResourceDefinition.REFRESH_COUNT.getName().equals(metric)) {
+            context.getResult().set(persistence.getRefreshCount());
+        } else if (DatabaseDataStoreResourceDefinition.REFRESHED_ROWS.getName().equals(metric)) {
+            context.getResult().set(persistence.getRefreshedRows());
+        } else if (DatabaseDataStoreResourceDefinition.LAST_REFRESH_TIME.getName().equals(metric)) {
+            context.getResult().set(persistence.getLastRefreshTime());
+        } else if (DatabaseDataStoreResourceDefinition.LAST_REFRESH_ROWS.getName().equals(metric)) {
+            context.getResult().set(persistence.getLastRefreshRows());
+        } else if (DatabaseDataStoreResourceDefinition.CLAIM_COUNT.getName().equals(metric)) {
+            context.getResult().set(persistence.getClaimCount());
+        } else if (DatabaseDataStoreResourceDefinition.CLAIMED_TIMERS.getName().equals(metric)) {
+            context.getResult().set(persistence.getClaimedTimers());
+        } else if (DatabaseDataStoreResourceDefinition.UPDATE_BATCHES.getName().equals(metric)) {
+            context.getResult().set(persistence.getUpdateBatchCount());
+        } else if (DatabaseDataStoreResourceDefinition.BATCHED_UPDATES.getName().equals(metric)) {
+            context.getResult().set(persistence.getBatchedUpdates());
+        } else if (DatabaseDataStoreResourceDefinition.COALESCED_UPDATES.getName().equals(metric)) {
+            context.getResult().set(persistence.getCoalescedUpdates());
+        }
+    }
+}
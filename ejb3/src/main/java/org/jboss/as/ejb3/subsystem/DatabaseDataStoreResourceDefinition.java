@@ -11,6 +11,7 @@ import org.jboss.as.controller.ServiceRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
@@ -60,7 +61,69 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
                     .setDefaultValue(ModelNode.TRUE)
                     .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION };
+    public static final SimpleAttributeDefinition INCREMENTAL_REFRESH =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.INCREMENTAL_REFRESH, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
+    public static final SimpleAttributeDefinition BULK_CLAIM =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.BULK_CLAIM, ModelType.BOOLEAN, true)
+                    .setAllowExpression(true)
+                    .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
+    static final AttributeDefinition REFRESH_COUNT = new SimpleAttributeDefinitionBuilder("refresh-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition REFRESHED_ROWS = new SimpleAttributeDefinitionBuilder("refreshed-rows", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition LAST_REFRESH_TIME = new SimpleAttributeDefinitionBuilder("last-refresh-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.GAUGE_METRIC)
+            .build();
+
+    static final AttributeDefinition LAST_REFRESH_ROWS = new SimpleAttributeDefinitionBuilder("last-refresh-rows", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.GAUGE_METRIC)
+            .build();
+
+    static final AttributeDefinition CLAIM_COUNT = new SimpleAttributeDefinitionBuilder("claim-count", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition CLAIMED_TIMERS = new SimpleAttributeDefinitionBuilder("claimed-timers", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition UPDATE_BATCHES = new SimpleAttributeDefinitionBuilder("update-batches", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition BATCHED_UPDATES = new SimpleAttributeDefinitionBuilder("batched-updates", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition COALESCED_UPDATES = new SimpleAttributeDefinitionBuilder("coalesced-updates", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { DATASOURCE_JNDI_NAME, DATABASE, PARTITION, REFRESH_INTERVAL, ALLOW_EXECUTION, INCREMENTAL_REFRESH, BULK_CLAIM };
+    private static final AttributeDefinition[] METRICS = new AttributeDefinition[] { REFRESH_COUNT, REFRESHED_ROWS, LAST_REFRESH_TIME, LAST_REFRESH_ROWS,
+            CLAIM_COUNT, CLAIMED_TIMERS, UPDATE_BATCHES, BATCHED_UPDATES, COALESCED_UPDATES };
     private static final DatabaseDataStoreAdd ADD_HANDLER = new DatabaseDataStoreAdd(ATTRIBUTES);
 
     DatabaseDataStoreResourceDefinition() {
@@ -75,6 +138,10 @@ public class DatabaseDataStoreResourceDefinition extends SimpleResourceDefinitio
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        final DatabaseDataStoreMetricsHandler handler = new DatabaseDataStoreMetricsHandler();
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, handler);
+        }
     }
 
 }
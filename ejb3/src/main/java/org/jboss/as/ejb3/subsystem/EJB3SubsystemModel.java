@@ -57,6 +57,7 @@ public interface EJB3SubsystemModel {
     String MAX_POOL_SIZE = "max-pool-size";
     String DERIVE_SIZE = "derive-size";
     String DERIVED_SIZE = "derived-size";
+    String STRIPED = "striped";
 
     String STRICT_MAX_BEAN_INSTANCE_POOL = "strict-max-bean-instance-pool";
 
@@ -65,6 +66,7 @@ public interface EJB3SubsystemModel {
 
     String RELATIVE_TO = "relative-to";
     String PATH = "path";
+    String JOURNAL = "journal";
 
     String DEFAULT_SINGLETON_BEAN_ACCESS_TIMEOUT = "default-singleton-bean-access-timeout";
     String DEFAULT_STATEFUL_BEAN_ACCESS_TIMEOUT = "default-stateful-bean-access-timeout";
@@ -89,6 +91,7 @@ public interface EJB3SubsystemModel {
     String TIMER_SERVICE = "timer-service";
     String THREAD_POOL = "thread-pool";
     String THREAD_POOL_NAME = "thread-pool-name";
+    String TIMING_WHEEL_TICK = "timing-wheel-tick";
     String DEFAULT = "default";
 
     String USE_QUALIFIED_NAME = "use-qualified-name";
@@ -98,6 +101,7 @@ public interface EJB3SubsystemModel {
     String SIMPLE_CACHE = "simple-cache";
     String DISTRIBUTABLE_CACHE = "distributable-cache";
     String BEAN_MANAGEMENT = "bean-management";
+    String PASSIVATION_IDLE_TIMEOUT = "passivation-idle-timeout";
     @Deprecated String PASSIVATION_STORE = "passivation-store";
 
     String MDB_DELIVERY_GROUP="mdb-delivery-group";
@@ -125,6 +129,8 @@ public interface EJB3SubsystemModel {
     String DATABASE_DATA_STORE = "database-data-store";
     String PARTITION  = "partition";
     String REFRESH_INTERVAL = "refresh-interval";
+    String INCREMENTAL_REFRESH = "incremental-refresh";
+    String BULK_CLAIM = "bulk-claim";
     String ALLOW_EXECUTION = "allow-execution";
 
     String STATIC_URLS = "static-urls";
@@ -20,6 +20,7 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated BEAN_CACHE("bean-cache"),
     BEAN_MANAGEMENT("bean-management"),
+    BULK_CLAIM("bulk-claim"),
 
     @Deprecated CACHE_CONTAINER("cache-container"),
     CACHE_REF("cache-ref"),
@@ -47,9 +48,12 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
     @Deprecated IDLE_TIMEOUT_UNIT("idle-timeout-unit"),
+    INCREMENTAL_REFRESH("incremental-refresh"),
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
 
+    JOURNAL("journal"),
+
     KEEPALIVE_TIME("keepalive-time"),
 
     LOCAL_RECEIVER_PASS_BY_VALUE("local-receiver-pass-by-value"),
@@ -68,6 +72,7 @@ public enum EJB3SubsystemXMLAttribute {
     PASS_BY_VALUE("pass-by-value"),
     @Deprecated PASSIVATE_EVENTS_ON_REPLICATE("passivate-events-on-replicate"),
     PASSIVATION_DISABLED_CACHE_REF("passivation-disabled-cache-ref"),
+    PASSIVATION_IDLE_TIMEOUT("passivation-idle-timeout"),
     @Deprecated PASSIVATION_STORE_REF("passivation-store-ref"),
     PATH("path"),
     POOL_NAME("pool-name"),
@@ -77,9 +82,11 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated SESSIONS_PATH("sessions-path"),
     STATIC_URLS("static-urls"),
+    STRIPED("striped"),
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
+    TIMING_WHEEL_TICK("timing-wheel-tick"),
     TYPE("type"),
 
     USE_QUALIFIED_NAME("use-qualified-name"),
@@ -4,36 +4,68 @@
  */
 package org.jboss.as.ejb3.subsystem;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.function.UnaryOperator;
 
+import org.jboss.as.clustering.controller.SimpleResourceDescriptorConfigurator;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.ee.component.ComponentConfiguration;
 import org.jboss.as.ee.component.EEModuleConfiguration;
 import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
 import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanCacheProvider;
 import org.jboss.as.ejb3.component.stateful.cache.simple.SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory;
+import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.wildfly.subsystem.service.ServiceDependency;
 import org.wildfly.subsystem.service.ServiceInstaller;
 
 /**
  * Defines a CacheFactoryBuilder instance which, during deployment, is used to configure, build and install a CacheFactory for the SFSB being deployed.
- * The CacheFactory resource instances defined here produce bean caches which are non distributed and do not have passivation-enabled.
+ * The CacheFactory resource instances defined here produce bean caches which are non distributed.
+ * If a passivation idle timeout is defined, idle beans are passivated to local storage, otherwise passivation is disabled.
  *
  * @author Paul Ferraro
  * @author Richard Achmatowicz
  */
 public class SimpleStatefulSessionBeanCacheProviderResourceDefinition extends StatefulSessionBeanCacheProviderResourceDefinition {
 
+    public enum Attribute implements org.jboss.as.clustering.controller.Attribute {
+        PASSIVATION_IDLE_TIMEOUT(EJB3SubsystemModel.PASSIVATION_IDLE_TIMEOUT, ModelType.LONG, MeasurementUnit.MILLISECONDS)
+        ;
+        private final AttributeDefinition definition;
+
+        Attribute(String name, ModelType type, MeasurementUnit unit) {
+            this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                    .setAllowExpression(true)
+                    .setRequired(false)
+                    .setMeasurementUnit(unit)
+                    .setValidator(new LongRangeValidator(1, Long.MAX_VALUE, true, true))
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+        }
+
+        @Override
+        public AttributeDefinition getDefinition() {
+            return this.definition;
+        }
+    }
+
     public SimpleStatefulSessionBeanCacheProviderResourceDefinition() {
-        super(EJB3SubsystemModel.SIMPLE_CACHE_PATH, UnaryOperator.identity());
+        super(EJB3SubsystemModel.SIMPLE_CACHE_PATH, new SimpleResourceDescriptorConfigurator<>(Attribute.class));
     }
 
     @Override
     public ServiceDependency<StatefulSessionBeanCacheProvider> resolve(OperationContext context, ModelNode model) throws OperationFailedException {
+        ModelNode timeout = Attribute.PASSIVATION_IDLE_TIMEOUT.resolveModelAttribute(context, model);
+        Duration passivationIdleTimeout = timeout.isDefined() ? Duration.ofMillis(timeout.asLong()) : null;
         return ServiceDependency.of(new StatefulSessionBeanCacheProvider() {
             @Override
             public Iterable<ServiceInstaller> getDeploymentServiceInstallers(DeploymentUnit unit, EEModuleConfiguration moduleConfiguration) {
@@ -42,12 +74,12 @@ public class SimpleStatefulSessionBeanCacheProviderResourceDefinition extends St
 
             @Override
             public Iterable<ServiceInstaller> getStatefulBeanCacheFactoryServiceInstallers(DeploymentUnit unit, StatefulComponentDescription description, ComponentConfiguration configuration) {
-                return List.of(new SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<>().apply(description));
+                return List.of(new SimpleStatefulSessionBeanCacheFactoryServiceInstallerFactory<>(passivationIdleTimeout, unit.getAttachment(Attachments.MODULE).getModuleLoader()).apply(description));
             }
 
             @Override
             public boolean supportsPassivation() {
-                return false;
+                return passivationIdleTimeout != null;
             }
         });
     }
@@ -13,6 +13,7 @@ import static org.jboss.as.ejb3.subsystem.deployment.TimerResourceDefinition.SCH
 import static org.jboss.as.ejb3.subsystem.deployment.TimerResourceDefinition.TIME_REMAINING;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ObjectListAttributeDefinition;
@@ -24,9 +25,11 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ee.utils.LatencyHistogram;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
@@ -78,6 +81,11 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
+    private static final AttributeDefinition CLONE_TIME = new SimpleAttributeDefinitionBuilder("clone-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
     private static final AttributeDefinition INVOCATIONS = new SimpleAttributeDefinitionBuilder("invocations", ModelType.LONG)
             .setUndefinedMetricValue(ModelNode.ZERO)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
@@ -105,6 +113,29 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    private static final double[] PERCENTILES = new double[] { 50d, 90d, 99d, 99.9d };
+
+    private static final AttributeDefinition[] PERCENTILE_FIELDS = new AttributeDefinition[] {
+            createPercentileField("p50"), createPercentileField("p90"), createPercentileField("p99"), createPercentileField("p999"), createPercentileField("max") };
+
+    private static final AttributeDefinition EXECUTION_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("execution-time-percentiles", PERCENTILE_FIELDS)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static final AttributeDefinition WAIT_TIME_PERCENTILES = ObjectTypeAttributeDefinition.Builder.of("wait-time-percentiles", PERCENTILE_FIELDS)
+            .setRequired(false)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+            .build();
+
+    private static AttributeDefinition createPercentileField(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
+                .build();
+    }
+
     public static final SimpleAttributeDefinition RUN_AS_ROLE = new SimpleAttributeDefinitionBuilder("run-as-role", ModelType.STRING, true)
             .setValidator(new StringLengthValidator(1, true))
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
@@ -225,6 +256,12 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getExecutionTime());
             }
         });
+        resourceRegistration.registerMetric(CLONE_TIME, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                context.getResult().set(component.getInvocationMetrics().getCloneTime());
+            }
+        });
         resourceRegistration.registerMetric(INVOCATIONS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
@@ -243,6 +280,18 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        resourceRegistration.registerMetric(EXECUTION_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                readPercentiles(context, component.getInvocationMetrics().getExecutionTimeHistogram());
+            }
+        });
+        resourceRegistration.registerMetric(WAIT_TIME_PERCENTILES, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                readPercentiles(context, component.getInvocationMetrics().getWaitTimeHistogram());
+            }
+        });
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
@@ -259,6 +308,15 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
         });
     }
 
+    private static void readPercentiles(final OperationContext context, final LatencyHistogram histogram) {
+        final long[] values = histogram.getValuesAtPercentiles(PERCENTILES);
+        final ModelNode result = context.getResult();
+        for (int i = 0; i < values.length; ++i) {
+            result.get(PERCENTILE_FIELDS[i].getName()).set(TimeUnit.NANOSECONDS.toMicros(values[i]));
+        }
+        result.get(PERCENTILE_FIELDS[values.length].getName()).set(TimeUnit.NANOSECONDS.toMicros(histogram.getMax()));
+    }
+
     /* (non-Javadoc)
      * @see org.jboss.as.controller.SimpleResourceDefinition#registerChildren(org.jboss.as.controller.registry.ManagementResourceRegistration)
      */
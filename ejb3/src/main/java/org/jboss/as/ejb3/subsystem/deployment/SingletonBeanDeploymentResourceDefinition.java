@@ -6,11 +6,15 @@
 package org.jboss.as.ejb3.subsystem.deployment;
 
 
+import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ejb3.component.EJBComponent;
+import org.jboss.as.ejb3.component.singleton.SingletonComponent;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
 /**
@@ -32,6 +36,16 @@ public class SingletonBeanDeploymentResourceDefinition extends AbstractEJBCompon
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
             .build();
 
+    static final SimpleAttributeDefinition READ_LOCK_WAIT_TIME = new SimpleAttributeDefinitionBuilder("read-lock-wait-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    static final SimpleAttributeDefinition WRITE_LOCK_WAIT_TIME = new SimpleAttributeDefinitionBuilder("write-lock-wait-time", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
     public SingletonBeanDeploymentResourceDefinition() {
         super(EJBComponentType.SINGLETON);
     }
@@ -43,5 +57,17 @@ public class SingletonBeanDeploymentResourceDefinition extends AbstractEJBCompon
         resourceRegistration.registerReadOnlyAttribute(CONCURRENCY_MANAGEMENT_TYPE, handler);
         resourceRegistration.registerReadOnlyAttribute(INIT_ON_STARTUP, handler);
         resourceRegistration.registerReadOnlyAttribute(DEPENDS_ON, handler);
+        resourceRegistration.registerMetric(READ_LOCK_WAIT_TIME, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                context.getResult().set(((SingletonComponent) component).getReadLockWaitTime());
+            }
+        });
+        resourceRegistration.registerMetric(WRITE_LOCK_WAIT_TIME, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) {
+                context.getResult().set(((SingletonComponent) component).getWriteLockWaitTime());
+            }
+        });
     }
 }
@@ -39,10 +39,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -61,6 +61,7 @@ import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
 import org.jboss.as.ejb3.timerservice.TimerState;
 import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
 import org.jboss.as.ejb3.timerservice.persistence.TimerPersistence;
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.marshalling.InputStreamByteInput;
@@ -92,11 +93,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final Consumer<DatabaseTimerPersistence> dbConsumer;
     private final Supplier<ManagedReferenceFactory> dataSourceSupplier;
     private final Supplier<ModuleLoader> moduleLoaderSupplier;
-    private final Supplier<Timer> timerSupplier;
-    private final Map<String, TimerChangeListener> changeListeners = Collections.synchronizedMap(new HashMap<String, TimerChangeListener>());
+    private final Supplier<TimeoutScheduler> schedulerSupplier;
+    private final Map<String, TimerChangeListener> changeListeners = new ConcurrentHashMap<>();
 
-
-    private final Map<String, Set<String>> knownTimerIds = new HashMap<>();
+    /** The ids of the persisted timers of each deployed timed object, whose sets are concurrent and thus never require locking */
+    private final Map<String, Set<String>> knownTimerIds = new ConcurrentHashMap<>();
 
     /** Identifier for the database dialect to be used for the timer-sql.properties */
     private String database;
@@ -108,12 +109,37 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Flag whether a refresh only loads the timers modified since the previous refresh*/
+    private final boolean incrementalRefresh;
+    /** Flag whether due timers are claimed in bulk, and state updates are batched, on each refresh*/
+    private final boolean bulkClaim;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private RefreshTask refreshTask;
+    private TimeoutScheduler.ScheduledTimeout refreshTimeout;
+
+    /** refresh metrics */
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshedRows = new AtomicLong();
+    private volatile long lastRefreshTime;
+    private volatile long lastRefreshRows;
+
+    /** The expiration, in millis, for which each timer was claimed by this node on the most recent refresh, keyed by timer id */
+    private final Map<String, Long> claimedTimers = new ConcurrentHashMap<>();
+    /** The ids of the timers currently running by virtue of a bulk claim of this node */
+    private final Set<String> claimedRuns = ConcurrentHashMap.newKeySet();
+    /** The in-timeout state of each timer running by virtue of a bulk claim, not yet written, keyed by timer id */
+    private final Map<String, PendingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    /** bulk claim metrics */
+    private final AtomicLong claimCount = new AtomicLong();
+    private final AtomicLong claimedTimerCount = new AtomicLong();
+    private final AtomicLong updateBatchCount = new AtomicLong();
+    private final AtomicLong batchedUpdateCount = new AtomicLong();
+    private final AtomicLong coalescedUpdateCount = new AtomicLong();
 
     /** database values */
     private static final String POSTGRES = "postgres";
@@ -140,6 +166,24 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
     private static final String GET_TIMER_INFO = "get-timer-info";
+    private static final String LOAD_CHANGED_TIMERS = "load-changed-timers";
+    private static final String LOAD_TIMER_IDS = "load-timer-ids";
+    private static final String ADD_LAST_MODIFIED = "add-last-modified";
+    private static final String BACKFILL_LAST_MODIFIED = "backfill-last-modified";
+    private static final String LAST_MODIFIED_COLUMN = "LAST_MODIFIED";
+    private static final String TIMER_TABLE = "JBOSS_EJB_TIMER";
+    private static final String CLAIM_TIMERS = "claim-timers";
+    private static final String LOAD_CLAIMED_TIMERS = "load-claimed-timers";
+    private static final String UPDATE_CLAIMED_IN_TIMEOUT = "update-claimed-in-timeout";
+    private static final String RELEASE_CLAIMED_TIMER = "release-claimed-timer";
+    /** Suffix of the statements which replace their counterparts if incremental refresh is enabled */
+    private static final String INCREMENTAL_SUFFIX = "-incremental";
+    /** Suffix of the statements which replace their counterparts if bulk claim is enabled */
+    private static final String BULK_CLAIM_SUFFIX = "-bulk-claim";
+    /** Every statement which inserts or updates a timer, so that each records the modification time */
+    private static final String[] INCREMENTAL_STATEMENTS = { CREATE_TIMER, CREATE_AUTO_TIMER, UPDATE_TIMER, UPDATE_RUNNING,
+            UPDATE_RUNNING + BULK_CLAIM_SUFFIX, CLAIM_TIMERS, UPDATE_CLAIMED_IN_TIMEOUT, RELEASE_CLAIMED_TIMER };
+    private static final String[] BULK_CLAIM_STATEMENTS = { UPDATE_RUNNING };
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
@@ -167,20 +211,61 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     private final long clearTimerInfoCacheBeyond = TimeUnit.MINUTES.toMillis(Long.parseLong(
             WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.clearTimerInfoCacheBeyond", "15")));
 
+    /**
+     * System property {@code jboss.ejb.timer.database.incrementalRefreshOverlap}
+     * to configure how far back (in seconds) an incremental refresh reads timers
+     * modified before the most recent modification seen by the previous refresh.
+     * The default value is 30 seconds.
+     * <p>
+     * The modification time of a timer is set by the database when the statement is executed,
+     * so a transaction committing after a refresh may have modified timers before the latest
+     * modification seen by that refresh. This value should exceed the duration of the longest
+     * transaction modifying timers, plus the clock skew between database servers, if any.
+     */
+    private final long incrementalRefreshOverlap = TimeUnit.SECONDS.toMillis(Long.parseLong(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.incrementalRefreshOverlap", "30")));
+
+    /**
+     * System property {@code jboss.ejb.timer.database.incrementalRefreshReconciliation}
+     * to configure the number of incremental refreshes after which the ids of the persisted timers
+     * are compared with the known timers, in order to detect timers removed by other nodes.
+     * The default value is 10.
+     * <p>
+     * Removed timers no longer have a row in the timer table, so they cannot be detected
+     * by only loading the modified rows.
+     */
+    private final int incrementalRefreshReconciliation = Math.max(1, Integer.parseInt(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.incrementalRefreshReconciliation", "10")));
+
+    /**
+     * System property {@code jboss.ejb.timer.database.claimExpiration}
+     * to configure how long (in seconds) past its expiration a timer claimed by a node,
+     * but not yet run, remains reserved to that node, when bulk claim is enabled.
+     * The default value is 60 seconds.
+     * <p>
+     * Once this delay has elapsed, the claimed timer may be claimed, and run, by another node,
+     * e.g. because the node which claimed it has crashed.
+     */
+    private final long claimExpiration = TimeUnit.SECONDS.toMillis(Long.parseLong(
+            WildFlySecurityManager.getPropertyPrivileged("jboss.ejb.timer.database.claimExpiration", "60")));
+
     public DatabaseTimerPersistence(final Consumer<DatabaseTimerPersistence> dbConsumer,
                                     final Supplier<ManagedReferenceFactory> dataSourceSupplier,
                                     final Supplier<ModuleLoader> moduleLoaderSupplier,
-                                    final Supplier<Timer> timerSupplier,
-                                    final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+                                    final Supplier<TimeoutScheduler> schedulerSupplier,
+                                    final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution,
+                                    boolean incrementalRefresh, boolean bulkClaim) {
         this.dbConsumer = dbConsumer;
         this.dataSourceSupplier = dataSourceSupplier;
         this.moduleLoaderSupplier = moduleLoaderSupplier;
-        this.timerSupplier = timerSupplier;
+        this.schedulerSupplier = schedulerSupplier;
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.incrementalRefresh = incrementalRefresh;
+        this.bulkClaim = bulkClaim;
     }
 
     @Override
@@ -197,14 +282,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         checkDatabase();
         refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
-            timerSupplier.get().schedule(refreshTask, refreshInterval, refreshInterval);
+            refreshTimeout = schedulerSupplier.get().scheduleWithFixedDelay(refreshTask, refreshInterval, refreshInterval);
         }
     }
 
     @Override
-    public synchronized void stop(final StopContext context) {
+    public void stop(final StopContext context) {
         dbConsumer.accept(null);
-        refreshTask.cancel();
+        if (refreshTimeout != null) {
+            refreshTimeout.cancel();
+            refreshTimeout = null;
+        }
+        writePendingUpdates();
+        releaseUnusedClaims();
+        claimedTimers.clear();
+        claimedRuns.clear();
         knownTimerIds.clear();
         managedReference.release();
         managedReference = null;
@@ -221,6 +313,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
      * <p>
      * If an entry key ends with a database dialect suffix different than the current one,
      * it is removed.
+     * <p>
+     * If incremental refresh is enabled, the statements which record the modification time
+     * of a timer replace their counterparts.
+     * If bulk claim is enabled, the statements which respect the timers claimed by other nodes
+     * replace their counterparts.
      *
      * @throws StartException if IOException when loading timer-sql.properties
      */
@@ -236,6 +333,14 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             safeClose(stream);
         }
 
+        // the incremental variants of the bulk claim statements are substituted first, so that either replacement applies
+        if (incrementalRefresh) {
+            replaceStatements(INCREMENTAL_STATEMENTS, INCREMENTAL_SUFFIX);
+        }
+        if (bulkClaim) {
+            replaceStatements(BULK_CLAIM_STATEMENTS, BULK_CLAIM_SUFFIX);
+        }
+
         // Update the create-auto-timer statements for DB specifics
         if (database != null) {
             switch (database) {
@@ -269,6 +374,21 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    /**
+     * Replaces the specified statements by their counterparts with the specified suffix.
+     */
+    private void replaceStatements(final String[] keys, final String suffix) {
+        for (final String key : keys) {
+            final String replacementKey = key + suffix;
+            for (final String name : sql.stringPropertyNames()) {
+                // replaces the generic entry, as well as any entry for a database dialect
+                if (name.equals(replacementKey) || name.startsWith(replacementKey + '.')) {
+                    sql.setProperty(key + name.substring(replacementKey.length()), sql.getProperty(name));
+                }
+            }
+        }
+    }
+
     /**
      * Check the connection MetaData and driver name to guess which database dialect
      * to use.
@@ -398,6 +518,74 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             safeClose(statement);
             safeClose(connection);
         }
+        if (incrementalRefresh) {
+            checkLastModified();
+        }
+    }
+
+    /**
+     * Adds the column recording the modification time of a timer, required by incremental refresh,
+     * to a timer table which does not have one yet.
+     * The column is only added if the database metadata confirms that it is missing.
+     */
+    private void checkLastModified() {
+        Connection connection = null;
+        Statement statement = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            //test for the existence of the column by running the load changed timers query
+            connection = dataSource.getConnection();
+            preparedStatement = connection.prepareStatement(sql.getProperty(LOAD_CHANGED_TIMERS));
+            preparedStatement.setString(1, "NON-EXISTENT");
+            preparedStatement.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException e) {
+            if (connection != null && isLastModifiedMissing(connection)) {
+                try {
+                    String[] statements = sql.getProperty(ADD_LAST_MODIFIED).split(";");
+                    statement = connection.createStatement();
+                    for (final String sql : statements) {
+                        statement.addBatch(sql);
+                    }
+                    statement.executeBatch();
+                } catch (SQLException e1) {
+                    EjbLogger.EJB3_TIMER_LOGGER.couldNotAddLastModifiedColumn(e1);
+                }
+            } else {
+                // the query failed for another reason, e.g. the database is unavailable
+                EjbLogger.EJB3_TIMER_LOGGER.couldNotAddLastModifiedColumn(e);
+            }
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
+    /**
+     * Indicates whether the timer table exists, but does not have the column recording the modification time of a timer.
+     * Databases store unquoted identifiers either in upper or in lower case.
+     */
+    private static boolean isLastModifiedMissing(final Connection connection) {
+        try {
+            final DatabaseMetaData metaData = connection.getMetaData();
+            boolean tableFound = false;
+            for (String table : new String[] { TIMER_TABLE, TIMER_TABLE.toLowerCase(Locale.ROOT) }) {
+                try (ResultSet columns = metaData.getColumns(null, null, table, null)) {
+                    while (columns.next()) {
+                        tableFound = true;
+                        if (LAST_MODIFIED_COLUMN.equalsIgnoreCase(columns.getString("COLUMN_NAME"))) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return tableFound;
+        } catch (SQLException e) {
+            return false;
+        }
     }
 
     /**
@@ -441,10 +629,8 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     @Override
     public void addTimer(final TimerImpl timerEntity) {
         String timedObjectId = timerEntity.getTimedObjectId();
-        synchronized (this) {
-            if(!knownTimerIds.containsKey(timedObjectId)) {
-                throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
-            }
+        if(!knownTimerIds.containsKey(timedObjectId)) {
+            throw EjbLogger.EJB3_TIMER_LOGGER.timerCannotBeAdded(timerEntity);
         }
 
         if (timerEntity.isAutoTimer()) {
@@ -456,9 +642,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         Connection connection = null;
         PreparedStatement statement = null;
         try {
-            synchronized (this) {
-                knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-            }
+            addKnownTimerId(timedObjectId, timerEntity.getId());
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
@@ -479,25 +663,39 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
 
     @Override
     public void persistTimer(final TimerImpl timerEntity) {
+        final boolean removed = timerEntity.getState() == TimerState.CANCELED ||
+                timerEntity.getState() == TimerState.EXPIRED;
+        if (bulkClaim) {
+            if (timerEntity.getState() == TimerState.IN_TIMEOUT && claimedRuns.contains(timerEntity.getId())) {
+                // the claim of this node already excludes other nodes, so marking the timer as running
+                // does not change whether it is eligible to run: written on the next refresh
+                addKnownTimerId(timerEntity.getTimedObjectId(), timerEntity.getId());
+                if (pendingUpdates.put(timerEntity.getId(), new PendingUpdate(timerEntity)) != null) {
+                    coalescedUpdateCount.incrementAndGet();
+                }
+                return;
+            }
+            // any other state change is written immediately, within the transaction of the caller, superseding the pending update
+            claimedRuns.remove(timerEntity.getId());
+            pendingUpdates.remove(timerEntity.getId());
+            if (removed) {
+                claimedTimers.remove(timerEntity.getId());
+            }
+        }
         Connection connection = null;
         PreparedStatement statement = null;
         try {
             connection = dataSource.getConnection();
-            if (timerEntity.getState() == TimerState.CANCELED ||
-                    timerEntity.getState() == TimerState.EXPIRED) {
+            if (removed) {
                 String deleteTimer = sql.getProperty(DELETE_TIMER);
                 statement = connection.prepareStatement(deleteTimer);
                 statement.setString(1, timerEntity.getTimedObjectId());
                 statement.setString(2, timerEntity.getId());
                 statement.setString(3, partition);
                 statement.execute();
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
-                }
+                removeKnownTimerId(timerEntity.getTimedObjectId(), timerEntity.getId());
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
-                }
+                addKnownTimerId(timerEntity.getTimedObjectId(), timerEntity.getId());
                 String updateTimer = sql.getProperty(UPDATE_TIMER);
                 statement = connection.prepareStatement(updateTimer);
                 statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
@@ -526,6 +724,18 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             //timers never execute on this node
             return false;
         }
+        if (bulkClaim) {
+            final Long claimed = claimedTimers.remove(timer.getId());
+            final Date nextExpiration = timer.getNextExpiration();
+            // leave a margin before the claim expires, as the clocks of the nodes may differ,
+            // and the in-timeout state of the timer is only written on the next refresh
+            if (claimed != null && nextExpiration != null && timestamp(nextExpiration).getTime() == claimed
+                    && System.currentTimeMillis() + refreshInterval < claimed + claimExpiration / 2) {
+                // already claimed by this node
+                claimedRuns.add(timer.getId());
+                return true;
+            }
+        }
         String loadTimer = sql.getProperty(UPDATE_RUNNING);
         Connection connection = null;
         PreparedStatement statement = null;
@@ -544,6 +754,11 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                 } else {
                     statement.setTimestamp(6, timestamp(timer.getNextExpiration()));
                 }
+                if (bulkClaim) {
+                    // unless claimed by another node
+                    statement.setString(7, nodeName);
+                    statement.setTimestamp(8, timestamp(new Date(System.currentTimeMillis() - claimExpiration)));
+                }
             } catch (SQLException e) {
                 try {
                     tm.rollback();
@@ -578,13 +793,28 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
     }
 
     @Override
-    public synchronized void timerUndeployed(final String timedObjectId) {
+    public void timerUndeployed(final String timedObjectId) {
         knownTimerIds.remove(timedObjectId);
     }
 
     @Override
-    public synchronized void timerDeployed(String timedObjectId) {
-        knownTimerIds.put(timedObjectId, new HashSet<>());
+    public void timerDeployed(String timedObjectId) {
+        knownTimerIds.put(timedObjectId, ConcurrentHashMap.newKeySet());
+    }
+
+    private void addKnownTimerId(final String timedObjectId, final String timerId) {
+        final Set<String> ids = knownTimerIds.get(timedObjectId);
+        // the timed object may have been undeployed concurrently
+        if (ids != null) {
+            ids.add(timerId);
+        }
+    }
+
+    private void removeKnownTimerId(final String timedObjectId, final String timerId) {
+        final Set<String> ids = knownTimerIds.get(timedObjectId);
+        if (ids != null) {
+            ids.remove(timerId);
+        }
     }
 
     @Override
@@ -625,24 +855,20 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), timerId, e);
                 }
             }
-            synchronized (this) {
-                // ids should be always be not null
-                Set<String> ids = knownTimerIds.get(timedObjectId);
-                for (Holder timer : timers) {
-                    ids.add(timer.timer.getId());
-                }
+            for (Holder timer : timers) {
+                addKnownTimerId(timedObjectId, timer.timer.getId());
+            }
 
-                for(Holder timer : timers) {
-                    if(timer.requiresReset) {
-                        TimerImpl ret = timer.timer;
-                        EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
-                        if(ret.getNextExpiration() == null) {
-                            ret.setTimerState(TimerState.CANCELED, null);
-                            persistTimer(ret);
-                        } else {
-                            ret.setTimerState(TimerState.ACTIVE, null);
-                            persistTimer(ret);
-                        }
+            for(Holder timer : timers) {
+                if(timer.requiresReset) {
+                    TimerImpl ret = timer.timer;
+                    EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
+                    if(ret.getNextExpiration() == null) {
+                        ret.setTimerState(TimerState.CANCELED, null);
+                        persistTimer(ret);
+                    } else {
+                        ret.setTimerState(TimerState.ACTIVE, null);
+                        persistTimer(ret);
                     }
                 }
             }
@@ -675,6 +901,269 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         refreshTask.run();
     }
 
+    /**
+     * Returns the number of refreshes of the timers from the database.
+     * @return the number of refreshes
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Returns the total number of rows read from the database by refreshes.
+     * @return a number of rows
+     */
+    public long getRefreshedRows() {
+        return refreshedRows.get();
+    }
+
+    /**
+     * Returns the duration of the most recent refresh.
+     * @return a duration in milliseconds
+     */
+    public long getLastRefreshTime() {
+        return lastRefreshTime;
+    }
+
+    /**
+     * Returns the number of rows read from the database by the most recent refresh.
+     * @return a number of rows
+     */
+    public long getLastRefreshRows() {
+        return lastRefreshRows;
+    }
+
+    /**
+     * Returns the number of bulk claims of due timers.
+     * @return the number of claims
+     */
+    public long getClaimCount() {
+        return claimCount.get();
+    }
+
+    /**
+     * Returns the total number of timers claimed by bulk claims.
+     * @return a number of timers
+     */
+    public long getClaimedTimers() {
+        return claimedTimerCount.get();
+    }
+
+    /**
+     * Returns the number of batches of timer updates written to the database.
+     * @return the number of batches
+     */
+    public long getUpdateBatchCount() {
+        return updateBatchCount.get();
+    }
+
+    /**
+     * Returns the total number of timer updates written to the database in batches.
+     * @return a number of updates
+     */
+    public long getBatchedUpdates() {
+        return batchedUpdateCount.get();
+    }
+
+    /**
+     * Returns the number of timer updates superseded by a subsequent update of the same timer before being written.
+     * @return a number of updates
+     */
+    public long getCoalescedUpdates() {
+        return coalescedUpdateCount.get();
+    }
+
+    /**
+     * Writes the pending in-timeout states of the timers running by virtue of a bulk claim in a single batch.
+     * The statement only matches a timer that is still claimed by this node for the same expiration,
+     * so that a pending update never overwrites a state written subsequently.
+     * Updates that could not be written are retried on the next refresh, unless superseded.
+     */
+    private void writePendingUpdates() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        final List<PendingUpdate> updates = new ArrayList<>(pendingUpdates.size());
+        for (Map.Entry<String, PendingUpdate> entry : pendingUpdates.entrySet()) {
+            // skip any update superseded concurrently, it is written on the next refresh
+            if (pendingUpdates.remove(entry.getKey(), entry.getValue())) {
+                updates.add(entry.getValue());
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        String updateTimer = sql.getProperty(UPDATE_CLAIMED_IN_TIMEOUT);
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(updateTimer);
+            for (PendingUpdate update : updates) {
+                statement.setString(1, TimerState.IN_TIMEOUT.name());
+                // WHERE CLAUSE
+                statement.setString(2, update.timedObjectId);
+                statement.setString(3, update.id);
+                statement.setString(4, partition);
+                statement.setString(5, nodeName);
+                statement.setTimestamp(6, update.nextExpiration);
+                statement.setString(7, TimerState.IN_TIMEOUT.name());
+                statement.setString(8, TimerState.RETRY_TIMEOUT.name());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            updateBatchCount.incrementAndGet();
+            batchedUpdateCount.addAndGet(updates.size());
+        } catch (SQLException e) {
+            EjbLogger.EJB3_TIMER_LOGGER.failedToWriteTimerUpdates(updates.size(), e);
+            for (PendingUpdate update : updates) {
+                if (claimedRuns.contains(update.id)) {
+                    pendingUpdates.putIfAbsent(update.id, update);
+                }
+            }
+        } finally {
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
+    /**
+     * Claims the timers of the deployed timed objects that are due before the next refresh,
+     * and not claimed by another node, using a single batch of statements.
+     * Then releases the claims of this node on the timers it did not run, though due more than a refresh interval ago,
+     * and loads the timers claimed by this node.
+     */
+    private void claimTimers() {
+        if (!allowExecution || knownTimerIds.isEmpty()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        final Timestamp horizon = timestamp(new Date(now + refreshInterval));
+        final Timestamp expired = timestamp(new Date(now - claimExpiration));
+        final Map<String, Long> claimed = new HashMap<>();
+        // released after claiming, so that this node does not claim them again before other nodes
+        final Map<String, Long> unused = removeUnusedClaims(now - refreshInterval);
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            statement = connection.prepareStatement(sql.getProperty(CLAIM_TIMERS));
+            for (String timedObjectId : knownTimerIds.keySet()) {
+                statement.setString(1, nodeName);
+                statement.setString(2, timedObjectId);
+                statement.setString(3, partition);
+                statement.setString(4, TimerState.IN_TIMEOUT.name());
+                statement.setString(5, TimerState.RETRY_TIMEOUT.name());
+                statement.setTimestamp(6, horizon);
+                statement.setTimestamp(7, expired);
+                statement.addBatch();
+            }
+            long count = 0;
+            for (int affected : statement.executeBatch()) {
+                // the number of affected rows may not be reported
+                count += Math.max(affected, 0);
+            }
+            safeClose(statement);
+            statement = null;
+            try {
+                releaseClaims(connection, unused);
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToReleaseClaimedTimers(unused.size(), e);
+            }
+            statement = connection.prepareStatement(sql.getProperty(LOAD_CLAIMED_TIMERS));
+            statement.setString(1, partition);
+            statement.setString(2, nodeName);
+            statement.setString(3, TimerState.IN_TIMEOUT.name());
+            statement.setString(4, TimerState.RETRY_TIMEOUT.name());
+            resultSet = statement.executeQuery();
+            while (resultSet.next()) {
+                final Timestamp nextDate = resultSet.getTimestamp(2);
+                if (nextDate != null) {
+                    claimed.put(resultSet.getString(1), nextDate.getTime());
+                }
+            }
+            claimCount.incrementAndGet();
+            claimedTimerCount.addAndGet(count);
+        } catch (SQLException e) {
+            EjbLogger.EJB3_TIMER_LOGGER.failedToClaimTimers(e);
+        } finally {
+            safeClose(resultSet);
+            safeClose(statement);
+            safeClose(connection);
+        }
+        claimedTimers.keySet().retainAll(claimed.keySet());
+        claimedTimers.putAll(claimed);
+    }
+
+    /**
+     * Releases every claim of this node on the timers it did not run, so that other nodes
+     * need not wait for these claims to expire once this node stops.
+     */
+    private void releaseUnusedClaims() {
+        final Map<String, Long> unused = removeUnusedClaims(Long.MAX_VALUE);
+        if (unused.isEmpty()) {
+            return;
+        }
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            releaseClaims(connection, unused);
+        } catch (SQLException e) {
+            EjbLogger.EJB3_TIMER_LOGGER.failedToReleaseClaimedTimers(unused.size(), e);
+        } finally {
+            safeClose(connection);
+        }
+    }
+
+    /**
+     * Removes the claims of this node on the timers due before the specified time, and not run by virtue of their claim.
+     * @param before a time in millis
+     * @return the expiration of each removed claim, keyed by timer id
+     */
+    private Map<String, Long> removeUnusedClaims(long before) {
+        final Map<String, Long> unused = new HashMap<>();
+        for (Map.Entry<String, Long> entry : claimedTimers.entrySet()) {
+            final String id = entry.getKey();
+            final Long expiration = entry.getValue();
+            // a claim concurrently used by shouldRun(...) is not removed
+            if (expiration < before && claimedTimers.remove(id, expiration)) {
+                unused.put(id, expiration);
+            }
+        }
+        return unused;
+    }
+
+    /**
+     * Releases the specified claims of this node in a single batch.
+     * The statement only matches a timer that is still claimed by this node for the same expiration,
+     * and not in timeout, so that the running state of a timer is never released.
+     * @param connection a database connection
+     * @param claims the expiration of each claim, keyed by timer id
+     * @throws SQLException if the claims could not be released
+     */
+    private void releaseClaims(final Connection connection, final Map<String, Long> claims) throws SQLException {
+        if (claims.isEmpty()) {
+            return;
+        }
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(sql.getProperty(RELEASE_CLAIMED_TIMER));
+            for (Map.Entry<String, Long> claim : claims.entrySet()) {
+                statement.setString(1, claim.getKey());
+                statement.setString(2, partition);
+                statement.setString(3, nodeName);
+                statement.setTimestamp(4, new Timestamp(claim.getValue()));
+                statement.setString(5, TimerState.IN_TIMEOUT.name());
+                statement.setString(6, TimerState.RETRY_TIMEOUT.name());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } finally {
+            safeClose(statement);
+        }
+    }
+
     /**
      * Obtains a {@link Holder} from a row in {@code ResultSet}.
      * Caller of this method must get the timer id from the {@code ResultSet}
@@ -879,9 +1368,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
             if (affectedRows < 1) {
                 timer.setTimerState(TimerState.CANCELED, null);
             } else {
-                synchronized (this) {
-                    knownTimerIds.get(timer.getTimedObjectId()).add(timer.getId());
-                }
+                addKnownTimerId(timer.getTimedObjectId(), timer.getId());
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -1029,106 +1516,267 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service {
         }
     }
 
-    private class RefreshTask extends TimerTask {
+    private class RefreshTask implements Runnable {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
+        // The remaining fields are only accessed while running
+        /** Incremental refreshes read the timers modified after this time*/
+        private Timestamp modifiedSince = new Timestamp(0);
+        private int incrementalRefreshes = 0;
 
         @Override
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
-                    synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                    if (bulkClaim) {
+                        // written before reading, so that the refresh observes them
+                        writePendingUpdates();
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
-                        if (listener == null) {
-                            continue;
-                        }
-                        final Set<String> existing;
-                        synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                    final long start = System.nanoTime();
+                    long rows;
+                    if (incrementalRefresh) {
+                        rows = refreshModifiedTimers();
+                        if (++incrementalRefreshes % incrementalRefreshReconciliation == 0) {
+                            rows += reconcileRemovedTimers();
                         }
-                        String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
+                    } else {
+                        rows = refreshAllTimers();
+                    }
+                    lastRefreshTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    lastRefreshRows = rows;
+                    refreshedRows.addAndGet(rows);
+                    refreshCount.incrementAndGet();
+                    if (bulkClaim) {
+                        claimTimers();
+                    }
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Reloads all timers of each known timed object.
+         * @return the number of rows read
+         */
+        private long refreshAllTimers() {
+            long rows = 0;
+            for (String timedObjectId : knownTimerIds.keySet()) {
+                TimerChangeListener listener = changeListeners.get(timedObjectId);
+                Set<String> timers = knownTimerIds.get(timedObjectId);
+                if (listener == null || timers == null) {
+                    continue;
+                }
+                final Set<String> existing = new HashSet<>(timers);
+                String loadTimer = sql.getProperty(LOAD_ALL_TIMERS);
+                Connection connection = null;
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    connection = dataSource.getConnection();
+                    statement = connection.prepareStatement(loadTimer);
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    resultSet = statement.executeQuery();
+                    while (resultSet.next()) {
+                        rows++;
+                        String id = null;
                         try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                String id = null;
-                                try {
-                                    id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService, id, null);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        TimerImpl oldTimer = timerService.getTimer(id);
-                                        // if it is already in memory but it is not in sync we have a problem
-                                        // remove and add -> the probable cause is db glitch
-                                        boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
-
-                                        // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                        if (invalidMemoryTimer) {
-                                            TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
-                                            boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
-                                            if (validDBTimer) {
-                                                final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
-                                                if (holder != null) {
-                                                    synchronized (DatabaseTimerPersistence.this) {
-                                                        knownTimerIds.get(timedObjectId).add(id);
-                                                        listener.timerSync(oldTimer, holder.timer);
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
-                                }
-                            }
-
-                            Set<String> timers;
-                            synchronized (DatabaseTimerPersistence.this) {
-                                 timers = knownTimerIds.get(timedObjectId);
-                            }
-                            for (String timer : existing) {
-                                TimerImpl timer1 = timerService.getTimer(timer);
-                                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                    synchronized (DatabaseTimerPersistence.this) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
-                                }
-                            }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
+                            id = resultSet.getString(1);
+                            refreshTimer(resultSet, id, listener, timers, existing.remove(id));
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), id, e);
                         }
                     }
+                    removeTimers(listener, timers, existing);
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
                 } finally {
-                    running.set(false);
+                    safeClose(resultSet);
+                    safeClose(statement);
+                    safeClose(connection);
                 }
             }
+            return rows;
+        }
 
+        /**
+         * Loads the timers of the partition which were modified since the previous refresh,
+         * using a single query for all timed objects.
+         * @return the number of rows read
+         */
+        private long refreshModifiedTimers() {
+            long rows = 0;
+            Timestamp lastModified = modifiedSince;
+            String loadTimers = sql.getProperty(LOAD_CHANGED_TIMERS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                // stamp the rows without modification time, i.e. the rows which predate the column,
+                // or which were written by nodes without incremental refresh, so that they are loaded
+                statement = connection.prepareStatement(sql.getProperty(BACKFILL_LAST_MODIFIED));
+                statement.setString(1, partition);
+                statement.executeUpdate();
+                safeClose(statement);
+                statement = connection.prepareStatement(loadTimers);
+                statement.setString(1, partition);
+                statement.setTimestamp(2, modifiedSince);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    rows++;
+                    final Timestamp modified = resultSet.getTimestamp(26);
+                    if (modified != null && modified.after(lastModified)) {
+                        lastModified = modified;
+                    }
+                    final String timedObjectId = resultSet.getString(2);
+                    TimerChangeListener listener = changeListeners.get(timedObjectId);
+                    Set<String> timers = knownTimerIds.get(timedObjectId);
+                    if (listener == null || timers == null) {
+                        continue;
+                    }
+                    String id = null;
+                    try {
+                        id = resultSet.getString(1);
+                        refreshTimer(resultSet, id, listener, timers, timers.contains(id));
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, id, e);
+                    }
+                }
+                // transactions which are still in progress may commit timers modified before the latest modification seen so far
+                final Timestamp next = new Timestamp(lastModified.getTime() - incrementalRefreshOverlap);
+                if (next.after(modifiedSince)) {
+                    modifiedSince = next;
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+            return rows;
+        }
+
+        /**
+         * Removes the known timers which no longer exist in the database, by reading only the ids of the timers of the partition.
+         * @return the number of rows read
+         */
+        private long reconcileRemovedTimers() {
+            // take a snapshot before querying, so that timers added in the meantime are not considered removed
+            final Map<String, Set<String>> removed = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry : knownTimerIds.entrySet()) {
+                if (changeListeners.containsKey(entry.getKey())) {
+                    removed.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                }
+            }
+            long rows = 0;
+            String loadTimerIds = sql.getProperty(LOAD_TIMER_IDS);
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(loadTimerIds);
+                statement.setString(1, partition);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    rows++;
+                    final Set<String> ids = removed.get(resultSet.getString(1));
+                    if (ids != null) {
+                        ids.remove(resultSet.getString(2));
+                    }
+                }
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(partition);
+                return rows;
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
+            }
+            for (Map.Entry<String, Set<String>> entry : removed.entrySet()) {
+                TimerChangeListener listener = changeListeners.get(entry.getKey());
+                Set<String> timers = knownTimerIds.get(entry.getKey());
+                if (listener != null && timers != null) {
+                    removeTimers(listener, timers, entry.getValue());
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Brings the in-memory timer in line with the current row of the specified result set.
+         *
+         * @param resultSet  the result set, positioned on a timer row
+         * @param id  the id of the timer
+         * @param listener  the change listener of the timed object of the timer
+         * @param timers  the known timer ids of the timed object of the timer
+         * @param known  whether the timer was known prior to this refresh
+         */
+        private void refreshTimer(final ResultSet resultSet, final String id, final TimerChangeListener listener,
+                                  final Set<String> timers, final boolean known) throws SQLException {
+            final TimerServiceImpl timerService = listener.getTimerService();
+            if (!known) {
+                final Holder holder = timerFromResult(resultSet, timerService, id, null);
+                if(holder != null) {
+                    timers.add(id);
+                    listener.timerAdded(holder.timer);
+                }
+            } else {
+                TimerImpl oldTimer = timerService.getTimer(id);
+                // if it is already in memory but it is not in sync we have a problem
+                // remove and add -> the probable cause is db glitch
+                boolean invalidMemoryTimer = oldTimer != null && !TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(oldTimer.getState());
+
+                // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                if (invalidMemoryTimer) {
+                    TimerState dbTimerState = TimerState.valueOf(resultSet.getString(9));
+                    boolean validDBTimer = TimerState.CREATED_ACTIVE_IN_TIMEOUT_RETRY_TIMEOUT.contains(dbTimerState);
+                    if (validDBTimer) {
+                        final Holder holder = timerFromResult(resultSet, timerService, id, dbTimerState);
+                        if (holder != null) {
+                            timers.add(id);
+                            listener.timerSync(oldTimer, holder.timer);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Removes the specified timers, which no longer exist in the database, unless they are not yet persisted.
+         */
+        private void removeTimers(final TimerChangeListener listener, final Set<String> timers, final Set<String> removed) {
+            final TimerServiceImpl timerService = listener.getTimerService();
+            for (String timer : removed) {
+                TimerImpl timer1 = timerService.getTimer(timer);
+                if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                    timers.remove(timer);
+                    listener.timerRemoved(timer);
+                }
+            }
         }
     }
 
 
+    /**
+     * The in-timeout state of a claimed timer to be written by an update.
+     */
+    private final class PendingUpdate {
+        final String timedObjectId;
+        final String id;
+        final Timestamp nextExpiration;
+
+        PendingUpdate(final TimerImpl timer) {
+            this.timedObjectId = timer.getTimedObjectId();
+            this.id = timer.getId();
+            this.nextExpiration = timestamp(timer.getNextExpiration());
+        }
+    }
+
     static final class Holder {
         final TimerImpl timer;
         final boolean requiresReset;
@@ -0,0 +1,183 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import jakarta.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Compact binary representation of a timer, as stored by a {@link TimerJournal}.
+ * Captures the same state as {@link EjbTimerXmlPersister}, with the timer info marshalled, but not encoded, as is.
+ */
+final class EjbTimerBinaryFormat {
+
+    private static final byte VERSION = 1;
+    private static final byte TIMER = 0;
+    private static final byte CALENDAR_TIMER = 1;
+
+    private EjbTimerBinaryFormat() {
+    }
+
+    static byte[] write(TimerImpl timer, MarshallerFactory factory, MarshallingConfiguration configuration) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeByte(VERSION);
+        output.writeByte(timer instanceof CalendarTimer ? CALENDAR_TIMER : TIMER);
+        output.writeUTF(timer.getTimedObjectId());
+        output.writeUTF(timer.getId());
+        writeDate(output, timer.getInitialExpiration());
+        writeDate(output, timer.getNextExpiration());
+        writeDate(output, timer.getPreviousRun());
+        output.writeUTF(timer.getState().name());
+        if (timer instanceof CalendarTimer) {
+            CalendarTimer calendarTimer = (CalendarTimer) timer;
+            ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            output.writeUTF(schedule.getSecond());
+            output.writeUTF(schedule.getMinute());
+            output.writeUTF(schedule.getHour());
+            output.writeUTF(schedule.getDayOfWeek());
+            output.writeUTF(schedule.getDayOfMonth());
+            output.writeUTF(schedule.getMonth());
+            output.writeUTF(schedule.getYear());
+            writeDate(output, schedule.getStart());
+            writeDate(output, schedule.getEnd());
+            writeString(output, schedule.getTimezone());
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                Method method = calendarTimer.getTimeoutMethod();
+                output.writeUTF(method.getDeclaringClass().getName());
+                output.writeUTF(method.getName());
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                output.writeByte(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    output.writeUTF(parameterType.getName());
+                }
+            }
+        } else {
+            output.writeLong(timer.getInterval());
+        }
+        Serializable info = timer.getTimerInfo();
+        if (info != null) {
+            ByteArrayOutputStream marshalled = new ByteArrayOutputStream();
+            try (Marshaller marshaller = factory.createMarshaller(configuration)) {
+                marshaller.start(new OutputStreamByteOutput(marshalled));
+                marshaller.writeObject(info);
+                marshaller.finish();
+            }
+            output.writeInt(marshalled.size());
+            marshalled.writeTo(output);
+        } else {
+            output.writeInt(-1);
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads a timer.
+     * @return the timer, or null if the timeout method of an automatic timer no longer exists
+     */
+    static TimerImpl read(byte[] data, TimerServiceImpl timerService, MarshallerFactory factory, MarshallingConfiguration configuration, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IOException(Byte.toString(version));
+        }
+        boolean calendar = input.readByte() == CALENDAR_TIMER;
+        CalendarTimer.Builder calendarBuilder = calendar ? CalendarTimer.builder() : null;
+        TimerImpl.Builder builder = calendar ? calendarBuilder : TimerImpl.builder();
+        builder.setTimedObjectId(input.readUTF());
+        builder.setId(input.readUTF());
+        builder.setInitialDate(readDate(input));
+        builder.setNextDate(readDate(input));
+        builder.setPreviousRun(readDate(input));
+        builder.setTimerState(TimerState.valueOf(input.readUTF()));
+        builder.setPersistent(true);
+        Method timeoutMethod = null;
+        if (calendar) {
+            ScheduleExpression schedule = new ScheduleExpression()
+                    .second(input.readUTF())
+                    .minute(input.readUTF())
+                    .hour(input.readUTF())
+                    .dayOfWeek(input.readUTF())
+                    .dayOfMonth(input.readUTF())
+                    .month(input.readUTF())
+                    .year(input.readUTF())
+                    .start(readDate(input))
+                    .end(readDate(input))
+                    .timezone(readString(input));
+            calendarBuilder.setScheduleExpression(schedule);
+            boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                String declaringClass = input.readUTF();
+                String name = input.readUTF();
+                String[] parameterTypes = new String[input.readByte()];
+                for (int i = 0; i < parameterTypes.length; ++i) {
+                    parameterTypes[i] = input.readUTF();
+                }
+                timeoutMethod = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, name, parameterTypes), classLoader);
+                if (timeoutMethod == null) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(builder.getTimedObjectId(), builder.getId(), null);
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(timeoutMethod);
+            }
+        } else {
+            builder.setRepeatInterval(input.readLong());
+        }
+        int length = input.readInt();
+        if (length >= 0) {
+            byte[] info = new byte[length];
+            input.readFully(info);
+            try (Unmarshaller unmarshaller = factory.createUnmarshaller(configuration)) {
+                unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(info)));
+                builder.setInfo((Serializable) unmarshaller.readObject());
+            }
+        }
+        return builder.build(timerService);
+    }
+
+    private static void writeDate(DataOutputStream output, Date date) throws IOException {
+        output.writeLong(date != null ? date.getTime() : Long.MIN_VALUE);
+    }
+
+    private static Date readDate(DataInputStream input) throws IOException {
+        long time = input.readLong();
+        return time != Long.MIN_VALUE ? new Date(time) : null;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+}
@@ -19,10 +19,14 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
@@ -59,6 +63,10 @@ import org.wildfly.transaction.client.ContextTransactionManager;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default, each timer is stored in its own XML file. Alternatively, timers are stored in an append-only {@link TimerJournal},
+ * to which the timers persisted by a transaction are written in a single batch upon its completion. Timers stored in XML
+ * files are migrated into the journal as they are loaded.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -67,8 +75,12 @@ public class FileTimerPersistence implements TimerPersistence, Service {
 
     private static final FilePermission FILE_PERMISSION = new FilePermission("<<ALL FILES>>", "read,write,delete");
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+    private static final String JOURNAL_DIRECTORY = ".journal";
+    private static final long JOURNAL_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final String JOURNAL_TRANSACTION_KEY = "org.jboss.as.ejb3.timerJournalTransactionKey";
 
     private final boolean createIfNotExists;
+    private final boolean journaled;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
     private final Consumer<FileTimerPersistence> consumer;
@@ -79,6 +91,8 @@ public class FileTimerPersistence implements TimerPersistence, Service {
     private final String pathRelativeTo;
     private File baseDir;
     private PathManager.Callback.Handle callbackHandle;
+    private ExecutorService compactor;
+    private TimerJournal journal;
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
@@ -87,7 +101,8 @@ public class FileTimerPersistence implements TimerPersistence, Service {
                                 final Supplier<TransactionSynchronizationRegistry> txnRegistrySupplier,
                                 final Supplier<ModuleLoader> moduleLoaderSupplier,
                                 final Supplier<PathManager> pathManagerSupplier,
-                                final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+                                final boolean createIfNotExists, final String path, final String pathRelativeTo,
+                                final boolean journaled) {
         this.consumer = consumer;
         this.txnRegistrySupplier = txnRegistrySupplier;
         this.moduleLoaderSupplier = moduleLoaderSupplier;
@@ -99,6 +114,7 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         this.createIfNotExists = createIfNotExists;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
+        this.journaled = journaled;
     }
 
     @Override
@@ -140,6 +156,21 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         if (!baseDir.isDirectory()) {
             throw EJB3_TIMER_LOGGER.invalidTimerFileStoreDir(baseDir);
         }
+        if (journaled) {
+            compactor = Executors.newSingleThreadExecutor(task -> {
+                final Thread thread = new Thread(task, "ejb3-timer-journal-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final File directory = new File(baseDir, JOURNAL_DIRECTORY);
+            journal = new TimerJournal(directory, JOURNAL_SEGMENT_SIZE, compactor);
+            try {
+                journal.open();
+            } catch (IOException e) {
+                compactor.shutdown();
+                throw EJB3_TIMER_LOGGER.failToOpenTimerJournal(directory, e);
+            }
+        }
     }
 
     @Override
@@ -150,6 +181,18 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         if (callbackHandle != null) {
             callbackHandle.remove();
         }
+        if (journal != null) {
+            // Let any ongoing compaction complete
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            safeClose(journal);
+            journal = null;
+            compactor = null;
+        }
         factory = null;
         configuration = null;
     }
@@ -200,7 +243,9 @@ public class FileTimerPersistence implements TimerPersistence, Service {
             }
 
             lock.lock();
-            if (status == Status.STATUS_NO_TRANSACTION ||
+            if (journal != null) {
+                persistJournalTimer(timer, newTimer, status);
+            } else if (status == Status.STATUS_NO_TRANSACTION ||
                     status == Status.STATUS_UNKNOWN || isBeforeCompletion()
                     || status == Status.STATUS_COMMITTED) {
                 Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
@@ -232,6 +277,60 @@ public class FileTimerPersistence implements TimerPersistence, Service {
         }
     }
 
+    private void persistJournalTimer(final TimerImpl timer, final boolean newTimer, final int status) {
+        if (status == Status.STATUS_NO_TRANSACTION ||
+                status == Status.STATUS_UNKNOWN || isBeforeCompletion()
+                || status == Status.STATUS_COMMITTED) {
+            final TimerJournal.Change change = journalChange(timer, newTimer);
+            if (change != null) {
+                writeJournal(Collections.singletonList(change));
+            }
+        } else {
+            final TransactionSynchronizationRegistry registry = txnRegistrySupplier.get();
+            final String key = timerTransactionKey(timer);
+            //check is there is already a persist sync for this timer
+            if (registry.getResource(key) == null) {
+                JournalTransactionSynchronization synchronization = (JournalTransactionSynchronization) registry.getResource(JOURNAL_TRANSACTION_KEY);
+                if (synchronization == null) {
+                    synchronization = new JournalTransactionSynchronization();
+                    registry.registerInterposedSynchronization(synchronization);
+                    registry.putResource(JOURNAL_TRANSACTION_KEY, synchronization);
+                }
+                synchronization.add(key, newTimer);
+            }
+            //update the most recent version of the timer to be persisted
+            registry.putResource(key, timer);
+        }
+    }
+
+    /**
+     * Creates the journal change corresponding to the current state of the specified timer.
+     *
+     * @return the change, or null if the timer could not be serialized
+     */
+    private TimerJournal.Change journalChange(final TimerImpl timer, final boolean newTimer) {
+        if (timer.getState() == TimerState.CANCELED ||
+                timer.getState() == TimerState.EXPIRED) {
+            return new TimerJournal.Change(TimerJournal.Change.Type.REMOVE, timer.getTimedObjectId(), timer.getId(), null);
+        }
+        try {
+            final byte[] data = EjbTimerBinaryFormat.write(timer, factory, configuration);
+            //if it is not a new timer and is not in the journal then it has been removed by another thread
+            return new TimerJournal.Change(newTimer ? TimerJournal.Change.Type.CREATE : TimerJournal.Change.Type.UPDATE, timer.getTimedObjectId(), timer.getId(), data);
+        } catch (Exception e) {
+            EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+            return null;
+        }
+    }
+
+    private void writeJournal(final List<TimerJournal.Change> changes) {
+        try {
+            journal.write(changes);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private String timerTransactionKey(final TimerImpl TimerImpl) {
         return "org.jboss.as.ejb3.timerTransactionKey." + TimerImpl.getId();
     }
@@ -321,7 +420,64 @@ public class FileTimerPersistence implements TimerPersistence, Service {
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
-        return loadTimersFromFile(timedObjectId, timerService);
+        return (journal != null) ? loadTimersFromJournal(timedObjectId, timerService) : loadTimersFromFile(timedObjectId, timerService);
+    }
+
+    private Map<String, TimerImpl> loadTimersFromJournal(String timedObjectId, TimerServiceImpl timerService) {
+        migrateTimerFiles(timedObjectId, timerService);
+        final Map<String, TimerImpl> timers = new HashMap<>();
+        final List<TimerJournal.Change> discarded = new ArrayList<>();
+        final ClassLoader classLoader = timerService.getInvoker().getClassLoader();
+        for (Map.Entry<String, byte[]> entry : journal.getRecords(timedObjectId).entrySet()) {
+            try {
+                final TimerImpl timer = EjbTimerBinaryFormat.read(entry.getValue(), timerService, factory, configuration, classLoader);
+                if (timer != null) {
+                    timers.put(timer.getId(), timer);
+                } else {
+                    //the timeout method no longer exists
+                    discarded.add(new TimerJournal.Change(TimerJournal.Change.Type.REMOVE, timedObjectId, entry.getKey(), null));
+                }
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+            }
+        }
+        if (!discarded.isEmpty()) {
+            writeJournal(discarded);
+        }
+        return timers;
+    }
+
+    /**
+     * Imports the timers of the specified timed object that are still stored in XML, or legacy, files into the journal,
+     * then deletes the XML files of the imported timers.
+     * XML files whose timers could not be imported are kept, so that they are retried the next time the timers are loaded.
+     */
+    private void migrateTimerFiles(String timedObjectId, TimerServiceImpl timerService) {
+        final File directory = new File(baseDir, timedObjectId.replace(File.separator, "-"));
+        if (!directory.isDirectory()) {
+            return;
+        }
+        final Map<String, TimerImpl> timers = loadTimersFromFile(timedObjectId, timerService);
+        final List<TimerJournal.Change> changes = new ArrayList<>(timers.size());
+        for (TimerImpl timer : timers.values()) {
+            try {
+                changes.add(new TimerJournal.Change(TimerJournal.Change.Type.IMPORT, timedObjectId, timer.getId(), EjbTimerBinaryFormat.write(timer, factory, configuration)));
+            } catch (Exception e) {
+                EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+                return;
+            }
+        }
+        if (!changes.isEmpty()) {
+            writeJournal(changes);
+        }
+        for (TimerImpl timer : timers.values()) {
+            fileName(timedObjectId, timer.getId()).delete();
+        }
+        for (File file : directory.listFiles()) {
+            if (file.getName().endsWith(".xml")) {
+                EJB3_TIMER_LOGGER.timerFileNotMigrated(file);
+            }
+        }
     }
 
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
@@ -471,6 +627,46 @@ public class FileTimerPersistence implements TimerPersistence, Service {
 
     }
 
+    /**
+     * Writes every timer persisted by a transaction to the journal in a single batch, once the transaction commits.
+     */
+    private final class JournalTransactionSynchronization implements Synchronization {
+
+        // Maps the transaction key of each timer to whether it was new
+        private final Map<String, Boolean> timers = new LinkedHashMap<>();
+        private final List<TimerJournal.Change> changes = new ArrayList<>();
+
+        void add(final String transactionKey, final boolean newTimer) {
+            timers.putIfAbsent(transactionKey, newTimer);
+        }
+
+        @Override
+        public void beforeCompletion() {
+            //get the latest version of each entity
+            for (Map.Entry<String, Boolean> entry : timers.entrySet()) {
+                final TimerImpl timer = (TimerImpl) txnRegistrySupplier.get().getResource(entry.getKey());
+                if (timer != null) {
+                    final TimerJournal.Change change = journalChange(timer, entry.getValue());
+                    if (change != null) {
+                        changes.add(change);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            doPrivileged(new PrivilegedAction<Void>() {
+                public Void run() {
+                    if (status == Status.STATUS_COMMITTED && !changes.isEmpty()) {
+                        writeJournal(changes);
+                    }
+                    return null;
+                }
+            });
+        }
+    }
+
     private void writeFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
@@ -0,0 +1,467 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of timer records, split into numbered segments.
+ * <p/>
+ * Each record either stores the serialized state of a timer, or removes it. A batch of changes is appended to the active
+ * segment with a single write, followed by a single force. Once the active segment exceeds its maximum size, a new segment
+ * is started. When the segments hold more than twice the size of the live records, they are compacted in the background into
+ * a single segment containing only the live records, which supersedes every segment preceding it.
+ * <p/>
+ * Each record is laid out as its length, the CRC-32 checksum of its content, followed by its content, so that a record torn
+ * by a crash is detected, and discarded, when the journal is replayed.
+ */
+class TimerJournal implements Closeable {
+
+    private static final int MAGIC = 0x454A4254;
+    private static final byte VERSION = 1;
+    private static final byte COMPACTED = 1;
+    private static final int HEADER_SIZE = 6;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final String SEGMENT_PREFIX = "timers-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".compacting";
+
+    private final File directory;
+    private final long segmentSize;
+    private final Executor compactor;
+
+    // The following fields are guarded by this
+    // The live records, keyed by timed object id, then by timer id
+    private final Map<String, Map<String, byte[]>> records = new HashMap<>();
+    private long liveSize = 0;
+    private long journalSize = 0;
+    private long segment = 0;
+    private FileChannel channel;
+    private boolean compacting = false;
+
+    /**
+     * Creates a journal stored in the specified directory.
+     * @param directory the directory containing the segments of the journal
+     * @param segmentSize the size beyond which a new segment is started
+     * @param compactor the executor used to compact the journal
+     */
+    TimerJournal(File directory, long segmentSize, Executor compactor) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactor = compactor;
+    }
+
+    /**
+     * Opens this journal, replaying its segments from the most recently compacted segment.
+     * @throws IOException if the journal could not be read or the active segment could not be opened
+     */
+    synchronized void open() throws IOException {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw new IOException(this.directory.getAbsolutePath());
+        }
+        TreeMap<Long, File> segments = new TreeMap<>();
+        for (File file : this.directory.listFiles()) {
+            String name = file.getName();
+            if (name.endsWith(COMPACTING_SUFFIX)) {
+                // Left behind by an interrupted compaction
+                Files.delete(file.toPath());
+            } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                try {
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    // Not a segment
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            this.channel = this.createSegment(this.segment, (byte) 0);
+            return;
+        }
+        // Segments preceding the most recently compacted segment are obsolete
+        Long first = segments.firstKey();
+        for (Map.Entry<Long, File> entry : segments.descendingMap().entrySet()) {
+            if (isCompacted(entry.getValue())) {
+                first = entry.getKey();
+                break;
+            }
+        }
+        for (File file : segments.headMap(first).values()) {
+            Files.delete(file.toPath());
+        }
+        long last = segments.lastKey();
+        for (Map.Entry<Long, File> entry : segments.tailMap(first).entrySet()) {
+            long end = this.replay(entry.getValue());
+            if (entry.getKey() == last) {
+                this.segment = entry.getKey();
+                FileChannel channel = FileChannel.open(entry.getValue().toPath(), StandardOpenOption.WRITE);
+                if (end < HEADER_SIZE) {
+                    // Torn before its header was complete
+                    channel.truncate(0);
+                    channel.write(header((byte) 0));
+                    channel.force(false);
+                    end = HEADER_SIZE;
+                } else {
+                    // Discard any torn record
+                    channel.truncate(end);
+                    channel.position(end);
+                }
+                this.journalSize += end;
+                this.channel = channel;
+            } else {
+                this.journalSize += entry.getValue().length();
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot of the live records of the specified timed object.
+     * @param timedObjectId a timed object identifier
+     * @return the serialized timers of the timed object, keyed by timer id
+     */
+    synchronized Map<String, byte[]> getRecords(String timedObjectId) {
+        Map<String, byte[]> timers = this.records.get(timedObjectId);
+        return (timers != null) ? new HashMap<>(timers) : Collections.emptyMap();
+    }
+
+    /**
+     * Atomically appends the specified changes to this journal. Changes that do not apply to the live records are skipped.
+     * @param changes a batch of changes
+     * @throws IOException if the changes could not be appended
+     */
+    synchronized void write(List<Change> changes) throws IOException {
+        if (this.channel == null) {
+            throw new IOException(this.directory.getAbsolutePath());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        List<Change> applicable = new ArrayList<>(changes.size());
+        // Tracks the presence of the timers changed by this batch
+        Map<String, Boolean> present = new HashMap<>();
+        for (Change change : changes) {
+            String key = change.timedObjectId + '\u0000' + change.timerId;
+            Boolean exists = present.get(key);
+            if (exists == null) {
+                Map<String, byte[]> timers = this.records.get(change.timedObjectId);
+                exists = (timers != null) && timers.containsKey(change.timerId);
+            }
+            if (!change.type.appliesTo(exists)) continue;
+            writeRecord(output, change);
+            applicable.add(change);
+            present.put(key, change.type != Change.Type.REMOVE);
+        }
+        if (applicable.isEmpty()) return;
+
+        output.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        long position = this.channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.channel.force(false);
+        } catch (IOException e) {
+            // Do not leave a partial batch in front of subsequent records
+            try {
+                this.channel.truncate(position);
+                this.channel.position(position);
+            } catch (IOException ignored) {
+            }
+            throw e;
+        }
+        this.journalSize += buffer.capacity();
+        for (Change change : applicable) {
+            this.apply(change.type == Change.Type.REMOVE ? REMOVE : PUT, change.timedObjectId, change.timerId, change.data);
+        }
+        if (this.channel.position() >= this.segmentSize) {
+            this.roll();
+        }
+        if (!this.compacting && (this.journalSize > this.segmentSize) && (this.journalSize > 2 * this.liveSize)) {
+            this.compacting = true;
+            this.compactor.execute(this::compact);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.channel != null) {
+            try {
+                this.channel.close();
+            } finally {
+                this.channel = null;
+                this.records.clear();
+            }
+        }
+    }
+
+    /**
+     * Rewrites the live records into a compacted segment, superseding all preceding segments.
+     */
+    void compact() {
+        try {
+            long target;
+            List<byte[]> snapshot = new ArrayList<>();
+            synchronized (this) {
+                if (this.channel == null) return;
+                // Seal the active segment, so that the compacted segment can take its place
+                this.roll();
+                target = this.segment - 1;
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream output = new DataOutputStream(bytes);
+                for (Map.Entry<String, Map<String, byte[]>> timers : this.records.entrySet()) {
+                    for (Map.Entry<String, byte[]> timer : timers.getValue().entrySet()) {
+                        writeRecord(output, new Change(Change.Type.CREATE, timers.getKey(), timer.getKey(), timer.getValue()));
+                        // Bound the size of each buffered chunk
+                        if (bytes.size() >= this.segmentSize) {
+                            output.flush();
+                            snapshot.add(bytes.toByteArray());
+                            bytes.reset();
+                        }
+                    }
+                }
+                output.flush();
+                snapshot.add(bytes.toByteArray());
+            }
+            File temporary = new File(this.directory, segmentName(target) + COMPACTING_SUFFIX);
+            long size = HEADER_SIZE;
+            try (FileChannel channel = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                channel.write(header(COMPACTED));
+                for (byte[] chunk : snapshot) {
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    size += chunk.length;
+                }
+                channel.force(true);
+            }
+            synchronized (this) {
+                if (this.channel == null) {
+                    Files.delete(temporary.toPath());
+                    return;
+                }
+                long obsolete = 0;
+                for (long index = target; index >= 0; --index) {
+                    File file = this.segmentFile(index);
+                    if (!file.exists()) break;
+                    obsolete += file.length();
+                }
+                Files.move(temporary.toPath(), this.segmentFile(target).toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                for (long index = target - 1; index >= 0; --index) {
+                    File file = this.segmentFile(index);
+                    if (!file.exists()) break;
+                    Files.delete(file.toPath());
+                }
+                this.journalSize += size - obsolete;
+            }
+        } catch (IOException e) {
+            EJB3_TIMER_LOGGER.failedToCompactTimerJournal(this.directory, e);
+        } finally {
+            synchronized (this) {
+                this.compacting = false;
+            }
+        }
+    }
+
+    /**
+     * Replays the records of the specified segment.
+     * @return the offset following the last valid record of the segment
+     */
+    private long replay(File file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if ((buffer.remaining() < HEADER_SIZE) || (buffer.getInt() != MAGIC) || (buffer.get() != VERSION)) {
+            EJB3_TIMER_LOGGER.corruptTimerJournalSegment(file, 0);
+            return 0;
+        }
+        buffer.get();
+        CRC32 crc = new CRC32();
+        while (buffer.hasRemaining()) {
+            int position = buffer.position();
+            if (buffer.remaining() < RECORD_HEADER_SIZE) {
+                EJB3_TIMER_LOGGER.corruptTimerJournalSegment(file, position);
+                return position;
+            }
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if ((length <= 0) || (length > buffer.remaining())) {
+                EJB3_TIMER_LOGGER.corruptTimerJournalSegment(file, position);
+                return position;
+            }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                EJB3_TIMER_LOGGER.corruptTimerJournalSegment(file, position);
+                return position;
+            }
+            byte type = buffer.get();
+            String timedObjectId = readString(buffer);
+            String timerId = readString(buffer);
+            byte[] data = null;
+            if (type == PUT) {
+                data = new byte[buffer.getInt()];
+                buffer.get(data);
+            }
+            this.apply(type, timedObjectId, timerId, data);
+        }
+        return buffer.position();
+    }
+
+    private void apply(byte type, String timedObjectId, String timerId, byte[] data) {
+        Map<String, byte[]> timers = this.records.get(timedObjectId);
+        byte[] previous = null;
+        if (type == PUT) {
+            if (timers == null) {
+                timers = new HashMap<>();
+                this.records.put(timedObjectId, timers);
+            }
+            previous = timers.put(timerId, data);
+            this.liveSize += recordSize(timedObjectId, timerId, data);
+        } else if (timers != null) {
+            previous = timers.remove(timerId);
+            if (timers.isEmpty()) {
+                this.records.remove(timedObjectId);
+            }
+        }
+        if (previous != null) {
+            this.liveSize -= recordSize(timedObjectId, timerId, previous);
+        }
+    }
+
+    private void roll() throws IOException {
+        this.channel.close();
+        this.segment += 1;
+        this.channel = this.createSegment(this.segment, (byte) 0);
+    }
+
+    private FileChannel createSegment(long index, byte flags) throws IOException {
+        FileChannel channel = FileChannel.open(this.segmentFile(index).toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        channel.write(header(flags));
+        channel.force(true);
+        this.journalSize += HEADER_SIZE;
+        return channel;
+    }
+
+    private File segmentFile(long index) {
+        return new File(this.directory, segmentName(index));
+    }
+
+    private static String segmentName(long index) {
+        return String.format("%s%019d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX);
+    }
+
+    private static boolean isCompacted(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+                // Keep reading
+            }
+            buffer.flip();
+            return (buffer.remaining() == HEADER_SIZE) && (buffer.getInt() == MAGIC) && (buffer.get() == VERSION) && (buffer.get() == COMPACTED);
+        }
+    }
+
+    private static ByteBuffer header(byte flags) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(MAGIC).put(VERSION).put(flags);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeRecord(DataOutputStream output, Change change) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream content = new DataOutputStream(bytes);
+        content.writeByte(change.type == Change.Type.REMOVE ? REMOVE : PUT);
+        writeString(content, change.timedObjectId);
+        writeString(content, change.timerId);
+        if (change.type != Change.Type.REMOVE) {
+            content.writeInt(change.data.length);
+            content.write(change.data);
+        }
+        content.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        output.writeInt(bytes.size());
+        output.writeInt((int) crc.getValue());
+        bytes.writeTo(output);
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long recordSize(String timedObjectId, String timerId, byte[] data) {
+        // Approximates multi-byte characters as single bytes
+        return RECORD_HEADER_SIZE + 13 + timedObjectId.length() + timerId.length() + data.length;
+    }
+
+    /**
+     * A change to the records of this journal.
+     */
+    static final class Change {
+        enum Type {
+            /** Stores a timer, whether or not it exists */
+            CREATE,
+            /** Stores a timer, only if it exists */
+            UPDATE,
+            /** Stores a timer, only if it does not exist */
+            IMPORT,
+            /** Removes a timer, if it exists */
+            REMOVE,
+            ;
+
+            boolean appliesTo(boolean exists) {
+                switch (this) {
+                    case CREATE:
+                        return true;
+                    case IMPORT:
+                        return !exists;
+                    default:
+                        return exists;
+                }
+            }
+        }
+
+        final Type type;
+        final String timedObjectId;
+        final String timerId;
+        final byte[] data;
+
+        Change(Type type, String timedObjectId, String timerId, byte[] data) {
+            this.type = type;
+            this.timedObjectId = timedObjectId;
+            this.timerId = timerId;
+            this.data = data;
+        }
+    }
+}
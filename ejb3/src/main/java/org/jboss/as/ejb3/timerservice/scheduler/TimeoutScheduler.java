@@ -0,0 +1,62 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+/**
+ * Schedules the timeouts of the timer service.
+ * Scheduled tasks are expected to be short-lived, typically handing off the actual timeout to an executor.
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * Schedules the specified task for a single execution after the specified delay.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @return a handle to the scheduled timeout
+     */
+    ScheduledTimeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules the specified task for repeated fixed-rate execution, starting after the specified delay.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @param period the time between successive executions, in milliseconds
+     * @return a handle to the scheduled timeout
+     */
+    ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Schedules the specified task for repeated fixed-delay execution, starting after the specified delay.
+     * @param task a task
+     * @param delay a delay in milliseconds
+     * @param period the time between the end of an execution and the start of the next, in milliseconds
+     * @return a handle to the scheduled timeout
+     */
+    ScheduledTimeout scheduleWithFixedDelay(Runnable task, long delay, long period);
+
+    /**
+     * Removes any cancelled timeouts retained by this scheduler.
+     */
+    default void purge() {
+        // Do nothing
+    }
+
+    /**
+     * Shuts down this scheduler, discarding any scheduled timeouts.
+     */
+    void shutdown();
+
+    /**
+     * A handle to a scheduled timeout.
+     */
+    interface ScheduledTimeout {
+        /**
+         * Cancels this timeout.
+         * @return true, if this timeout will no longer execute, false if it already executed or was already cancelled
+         */
+        boolean cancel();
+    }
+}
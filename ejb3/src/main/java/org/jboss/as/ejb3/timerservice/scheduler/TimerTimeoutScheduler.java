@@ -0,0 +1,61 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * A {@link TimeoutScheduler} backed by a {@link Timer}, i.e. a single thread dispatching from a binary heap.
+ */
+public class TimerTimeoutScheduler implements TimeoutScheduler {
+
+    private final Timer timer = new Timer();
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.schedule(timerTask, delay);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.scheduleAtFixedRate(timerTask, delay, period);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public ScheduledTimeout scheduleWithFixedDelay(Runnable task, long delay, long period) {
+        TimerTask timerTask = new RunnableTimerTask(task);
+        this.timer.schedule(timerTask, delay, period);
+        return timerTask::cancel;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    @Override
+    public void shutdown() {
+        this.timer.cancel();
+    }
+
+    private static class RunnableTimerTask extends TimerTask {
+        private final Runnable task;
+
+        RunnableTimerTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+    }
+}
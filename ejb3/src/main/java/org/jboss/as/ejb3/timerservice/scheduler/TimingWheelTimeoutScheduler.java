@@ -0,0 +1,298 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link TimeoutScheduler} based on a hierarchical timing wheel, as described by Varghese and Lauck.
+ * <p/>
+ * Time advances in fixed ticks. Each level of the wheel contains {@value #WHEEL_SIZE} buckets, each spanning
+ * {@value #WHEEL_SIZE} times the span of a bucket of the level below. A timeout is placed in the bucket of the lowest level
+ * that can represent its deadline, and is moved to lower levels as the outer buckets come due, so that scheduling and
+ * cancelling a timeout are both constant time operations, regardless of the number of scheduled timeouts.
+ * <p/>
+ * The buckets are only ever accessed by a single worker thread. Additions and cancellations are handed off via lock-free
+ * queues and applied on the next tick. Timeouts expire with a precision of a single tick, and never before their deadline.
+ * Expired tasks run on the worker thread, and are therefore expected to hand off their work to an executor.
+ */
+public class TimingWheelTimeoutScheduler implements TimeoutScheduler, Runnable {
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    // The wheel spans 2^32 ticks, more distant timeouts are parked in the outermost level and placed again as it turns
+    private static final int LEVELS = 4;
+
+    private final long tickNanos;
+    private final long origin = System.nanoTime();
+    private final Bucket[][] wheels = new Bucket[LEVELS][WHEEL_SIZE];
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private volatile boolean shutdown = false;
+    // Only accessed by the worker thread
+    private long tick = 0;
+
+    /**
+     * Creates and starts a timing wheel scheduler.
+     * @param tick the duration of a tick
+     * @param unit the unit of the tick duration
+     */
+    public TimingWheelTimeoutScheduler(long tick, TimeUnit unit) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException(Long.toString(tick));
+        }
+        this.tickNanos = unit.toNanos(tick);
+        for (Bucket[] wheel : this.wheels) {
+            for (int i = 0; i < WHEEL_SIZE; ++i) {
+                wheel[i] = new Bucket();
+            }
+        }
+        this.worker = new Thread(this, "ejb3-timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay) {
+        return this.add(task, delay, 0);
+    }
+
+    @Override
+    public ScheduledTimeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        return this.add(task, delay, period);
+    }
+
+    @Override
+    public ScheduledTimeout scheduleWithFixedDelay(Runnable task, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException(Long.toString(period));
+        }
+        // A negative period denotes a fixed delay
+        return this.add(task, delay, -period);
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        LockSupport.unpark(this.worker);
+        this.additions.clear();
+    }
+
+    @Override
+    public void run() {
+        while (!this.shutdown) {
+            long deadline = (this.tick + 1) * this.tickNanos;
+            long remaining = deadline - this.elapsed();
+            // If we fell behind, process the outstanding ticks back to back
+            while (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (this.shutdown) return;
+                remaining = deadline - this.elapsed();
+            }
+            this.tick += 1;
+            this.advance();
+        }
+    }
+
+    private Timeout add(Runnable task, long delay, long period) {
+        if (this.shutdown) {
+            throw EJB3_TIMER_LOGGER.timeoutSchedulerShutdown();
+        }
+        // A conversion to nanoseconds saturates, such that a fixed delay could be Long.MIN_VALUE, which cannot be negated
+        long periodNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(period), -Long.MAX_VALUE);
+        Timeout timeout = new Timeout(task, saturatedAdd(this.elapsed(), TimeUnit.MILLISECONDS.toNanos(Math.max(delay, 0L))), periodNanos);
+        this.additions.add(timeout);
+        return timeout;
+    }
+
+    private long elapsed() {
+        return System.nanoTime() - this.origin;
+    }
+
+    /**
+     * Adds the specified non-negative durations, saturating at {@link Long#MAX_VALUE} instead of overflowing,
+     * so that a very distant deadline never wraps into the past.
+     */
+    private static long saturatedAdd(long time, long duration) {
+        long result = time + duration;
+        return (result < 0) ? Long.MAX_VALUE : result;
+    }
+
+    private void advance() {
+        long tick = this.tick;
+        // Redistribute the timeouts of any outer bucket that came due, outermost first,
+        // so that they trickle down to the innermost bucket of the current tick, if necessary
+        for (int level = LEVELS - 1; level > 0; --level) {
+            int shift = WHEEL_BITS * level;
+            if ((tick & ((1L << shift) - 1)) == 0) {
+                Timeout timeout = this.wheels[level][(int) (tick >>> shift) & WHEEL_MASK].clear();
+                while (timeout != null) {
+                    Timeout next = timeout.detach();
+                    this.place(timeout, tick);
+                    timeout = next;
+                }
+            }
+        }
+        for (Timeout timeout = this.cancellations.poll(); timeout != null; timeout = this.cancellations.poll()) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+        for (Timeout timeout = this.additions.poll(); timeout != null; timeout = this.additions.poll()) {
+            this.place(timeout, tick);
+        }
+        Timeout timeout = this.wheels[0][(int) tick & WHEEL_MASK].clear();
+        while (timeout != null) {
+            Timeout next = timeout.detach();
+            this.expire(timeout);
+            timeout = next;
+        }
+    }
+
+    /**
+     * Places the specified timeout in the bucket corresponding to its deadline, but no sooner than the specified tick.
+     */
+    private void place(Timeout timeout, long earliest) {
+        if (!timeout.isScheduled()) return;
+        // Rounds up to the next tick, without overflowing for a deadline close to Long.MAX_VALUE
+        long due = Math.max(timeout.deadline / this.tickNanos + ((timeout.deadline % this.tickNanos == 0) ? 0 : 1), earliest);
+        long difference = due ^ this.tick;
+        // The level is determined by the most significant group of bits in which the due tick differs from the current tick
+        int level = (difference == 0) ? 0 : Math.min(LEVELS - 1, (63 - Long.numberOfLeadingZeros(difference)) / WHEEL_BITS);
+        this.wheels[level][(int) (due >>> (WHEEL_BITS * level)) & WHEEL_MASK].add(timeout);
+    }
+
+    private void expire(Timeout timeout) {
+        if (timeout.period == 0) {
+            if (timeout.expire()) {
+                this.execute(timeout.task);
+            }
+        } else if (timeout.isScheduled()) {
+            this.execute(timeout.task);
+            // A fixed rate timeout that fell behind catches up with one execution per tick
+            timeout.deadline = (timeout.period > 0) ? saturatedAdd(timeout.deadline, timeout.period) : saturatedAdd(this.elapsed(), -timeout.period);
+            this.place(timeout, this.tick + 1);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable e) {
+            EJB3_TIMER_LOGGER.failedToRunTimeout(task, e);
+        }
+    }
+
+    private class Timeout implements ScheduledTimeout {
+        private static final int SCHEDULED = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        final Runnable task;
+        final long period;
+        // The remaining fields are only accessed by the worker thread
+        long deadline;
+        Bucket bucket;
+        Timeout previous;
+        Timeout next;
+
+        private volatile int state = SCHEDULED;
+
+        Timeout(Runnable task, long deadline, long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        boolean isScheduled() {
+            return this.state == SCHEDULED;
+        }
+
+        boolean expire() {
+            return STATE.compareAndSet(this, SCHEDULED, EXPIRED);
+        }
+
+        /**
+         * Detaches this timeout from a cleared bucket.
+         * @return the next timeout of the cleared bucket
+         */
+        Timeout detach() {
+            Timeout next = this.next;
+            this.bucket = null;
+            this.previous = null;
+            this.next = null;
+            return next;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATE.compareAndSet(this, SCHEDULED, CANCELLED)) {
+                TimingWheelTimeoutScheduler.this.cancellations.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.task.toString();
+        }
+    }
+
+    /**
+     * A doubly linked list of timeouts.
+     */
+    private static class Bucket {
+        private Timeout head;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = this.head;
+            if (this.head != null) {
+                this.head.previous = timeout;
+            }
+            this.head = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                this.head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Empties this bucket.
+         * @return the first of the removed timeouts, each of which must subsequently be detached.
+         */
+        Timeout clear() {
+            Timeout head = this.head;
+            this.head = null;
+            return head;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvocationMetrics}.
+ */
+public class InvocationMetricsTestCase {
+
+    @Test
+    public void testOverloadedMethods() throws NoSuchMethodException {
+        InvocationMetrics metrics = new InvocationMetrics();
+        Method valueOfInt = String.class.getMethod("valueOf", int.class);
+        Method valueOfLong = String.class.getMethod("valueOf", long.class);
+        Method length = String.class.getMethod("length");
+        Method trim = String.class.getMethod("trim");
+
+        for (Method method : new Method[] { valueOfInt, valueOfLong, valueOfLong, length }) {
+            metrics.startInvocation();
+            metrics.finishInvocation(metrics.getMethodMetrics(method), TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(2));
+        }
+        // Resolving the metrics of a method again must return the same instance
+        assertTrue(metrics.getMethodMetrics(trim) == metrics.getMethodMetrics(trim));
+
+        assertEquals(4, metrics.getInvocations());
+        assertEquals(4, metrics.getWaitTime());
+        assertEquals(8, metrics.getExecutionTime());
+        assertEquals(0, metrics.getConcurrent());
+
+        Map<String, InvocationMetrics.Values> methods = metrics.getMethods();
+        // Methods that were never invoked are not reported
+        assertFalse(methods.containsKey("trim"));
+        assertEquals(3, methods.size());
+        assertEquals(1, methods.get("valueOf(int)").getInvocations());
+        assertEquals(2, methods.get("valueOf(long)").getInvocations());
+        assertEquals(4, methods.get("valueOf(long)").getExecutionTime());
+        assertEquals(1, methods.get("length").getInvocations());
+    }
+}
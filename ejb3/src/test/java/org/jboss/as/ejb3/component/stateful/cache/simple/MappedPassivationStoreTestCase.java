@@ -0,0 +1,149 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.component.stateful.cache.simple;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link MappedPassivationStore}.
+ */
+public class MappedPassivationStoreTestCase {
+
+    private static final int RECORD_SIZE = 1024 * 1024;
+    // Number of records filling exactly one segment
+    private static final int RECORDS_PER_SEGMENT = MappedPassivationStore.SEGMENT_SIZE / RECORD_SIZE;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private MappedPassivationStore<Integer> store;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = this.folder.getRoot().toPath().resolve("passivation");
+        this.store = new MappedPassivationStore<>(this.directory);
+    }
+
+    @After
+    public void destroy() {
+        this.store.close();
+    }
+
+    @Test
+    public void putRemove() throws IOException {
+        assertNull(this.store.remove(1));
+
+        byte[] data = record(1, 10);
+        this.store.put(1, data);
+        assertEquals(1, this.store.size());
+
+        assertArrayEquals(data, this.store.remove(1));
+        assertEquals(0, this.store.size());
+        assertNull(this.store.remove(1));
+
+        this.store.put(2, record(2, 10));
+        assertTrue(this.store.discard(2));
+        assertFalse(this.store.discard(2));
+        assertNull(this.store.remove(2));
+    }
+
+    @Test
+    public void replace() throws IOException {
+        this.store.put(1, record(1, 10));
+        byte[] data = record(2, 20);
+        this.store.put(1, data);
+        assertEquals(1, this.store.size());
+        assertArrayEquals(data, this.store.remove(1));
+    }
+
+    @Test
+    public void reclaimSegments() throws IOException {
+        int records = RECORDS_PER_SEGMENT + (RECORDS_PER_SEGMENT / 2);
+        for (int i = 0; i < records; ++i) {
+            this.store.put(i, record(i, RECORD_SIZE));
+        }
+        assertEquals(records, this.store.size());
+        assertEquals(2, this.segments());
+
+        // Releasing some records of a retired segment does not reclaim it
+        for (int i = 0; i < RECORDS_PER_SEGMENT - 1; ++i) {
+            assertArrayEquals(record(i, RECORD_SIZE), this.store.remove(i));
+        }
+        assertEquals(2, this.segments());
+
+        // Releasing the last record of a retired segment reclaims it
+        assertTrue(this.store.discard(RECORDS_PER_SEGMENT - 1));
+        assertEquals(1, this.segments());
+
+        // The current segment is retained, even if it no longer references any record
+        for (int i = RECORDS_PER_SEGMENT; i < records; ++i) {
+            assertArrayEquals(record(i, RECORD_SIZE), this.store.remove(i));
+        }
+        assertEquals(0, this.store.size());
+        assertEquals(1, this.segments());
+
+        // Appending to the current segment does not create a new segment
+        this.store.put(0, record(0, RECORD_SIZE));
+        assertEquals(1, this.segments());
+        assertArrayEquals(record(0, RECORD_SIZE), this.store.remove(0));
+
+        this.store.close();
+        assertEquals(0, this.segments());
+    }
+
+    @Test
+    public void largeRecord() throws IOException {
+        this.store.put(0, record(0, RECORD_SIZE));
+        assertEquals(1, this.segments());
+
+        // A record larger than a segment is stored in its own segment
+        byte[] large = record(1, MappedPassivationStore.SEGMENT_SIZE + 1);
+        this.store.put(1, large);
+        assertEquals(2, this.segments());
+
+        // The retired segment is reclaimed once its record is released
+        assertArrayEquals(record(0, RECORD_SIZE), this.store.remove(0));
+        assertEquals(1, this.segments());
+
+        assertArrayEquals(large, this.store.remove(1));
+        assertEquals(0, this.store.size());
+
+        // A retired segment without any record is reclaimed immediately
+        this.store.put(2, record(2, RECORD_SIZE));
+        assertEquals(1, this.segments());
+        assertArrayEquals(record(2, RECORD_SIZE), this.store.remove(2));
+    }
+
+    private long segments() throws IOException {
+        if (!Files.exists(this.directory)) return 0;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] record(int id, int size) {
+        byte[] data = new byte[size];
+        Arrays.fill(data, (byte) id);
+        return data;
+    }
+}
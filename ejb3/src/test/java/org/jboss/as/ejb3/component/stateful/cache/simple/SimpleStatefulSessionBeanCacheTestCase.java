@@ -0,0 +1,235 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.component.stateful.cache.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBean;
+import org.jboss.as.ejb3.component.stateful.cache.StatefulSessionBeanInstance;
+import org.jboss.as.server.ServerEnvironment;
+import org.jboss.modules.ModuleLoader;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for the passivation, activation, and expiration of beans of a {@link SimpleStatefulSessionBeanCache}.
+ */
+public class SimpleStatefulSessionBeanCacheTestCase {
+
+    // Identifiers of the beans whose removed() callback was invoked
+    static final Set<UUID> REMOVED = ConcurrentHashMap.newKeySet();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SimpleStatefulSessionBeanCache<UUID, TestInstance> cache;
+
+    private SimpleStatefulSessionBeanCache<UUID, TestInstance> createCache(Duration timeout, Duration passivationIdleTimeout) {
+        ServerEnvironment environment = mock(ServerEnvironment.class);
+        when(environment.getNodeName()).thenReturn("node");
+        when(environment.getServerTempDir()).thenReturn(this.folder.getRoot());
+        @SuppressWarnings("unchecked")
+        SimpleStatefulSessionBeanCacheConfiguration<UUID, TestInstance> configuration = mock(SimpleStatefulSessionBeanCacheConfiguration.class);
+        when(configuration.getEnvironment()).thenReturn(environment);
+        when(configuration.getInstanceFactory()).thenReturn(() -> new TestInstance(UUID.randomUUID()));
+        when(configuration.getIdentifierFactory()).thenReturn(UUID::randomUUID);
+        when(configuration.getTimeout()).thenReturn(timeout);
+        when(configuration.getPassivationIdleTimeout()).thenReturn(passivationIdleTimeout);
+        when(configuration.getModuleLoader()).thenReturn(mock(ModuleLoader.class));
+        this.cache = new SimpleStatefulSessionBeanCache<>(configuration);
+        this.cache.start();
+        return this.cache;
+    }
+
+    @After
+    public void destroy() {
+        if (this.cache != null) {
+            this.cache.stop();
+        }
+    }
+
+    @Test
+    public void passivateActivate() throws InterruptedException {
+        SimpleStatefulSessionBeanCache<UUID, TestInstance> cache = this.createCache(null, Duration.ofMillis(1));
+        UUID id = cache.createStatefulSessionBean();
+        access(cache, id);
+
+        await(() -> cache.getPassiveCount() == 1);
+        assertEquals(0, cache.getActiveCount());
+
+        try (StatefulSessionBean<UUID, TestInstance> bean = cache.findStatefulSessionBean(id)) {
+            assertNotNull(bean);
+            assertEquals(1, cache.getActiveCount());
+            assertEquals(0, cache.getPassiveCount());
+            TestInstance instance = bean.getInstance();
+            assertEquals(id, instance.getId());
+            assertEquals(1, instance.accesses);
+            assertEquals(1, instance.passivations);
+            assertEquals(1, instance.activations);
+        }
+        assertFalse(REMOVED.contains(id));
+    }
+
+    @Test
+    public void concurrentAccess() throws Exception {
+        SimpleStatefulSessionBeanCache<UUID, TestInstance> cache = this.createCache(null, Duration.ofMillis(1));
+        int beans = 8;
+        int accesses = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(beans);
+        try {
+            List<Future<UUID>> futures = new ArrayList<>(beans);
+            for (int i = 0; i < beans; ++i) {
+                futures.add(executor.submit(() -> {
+                    UUID id = cache.createStatefulSessionBean();
+                    for (int j = 0; j < accesses; ++j) {
+                        // Race the passivation of the previous access
+                        TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(2000));
+                        access(cache, id);
+                    }
+                    return id;
+                }));
+            }
+            for (Future<UUID> future : futures) {
+                UUID id = future.get(1, TimeUnit.MINUTES);
+                try (StatefulSessionBean<UUID, TestInstance> bean = cache.findStatefulSessionBean(id)) {
+                    TestInstance instance = bean.getInstance();
+                    // No access was lost to a stale instance
+                    assertEquals(accesses, instance.accesses);
+                    // Every passivation was followed by exactly one activation
+                    assertEquals(instance.passivations, instance.activations);
+                }
+                assertFalse(REMOVED.contains(id));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void expire() throws InterruptedException {
+        SimpleStatefulSessionBeanCache<UUID, TestInstance> cache = this.createCache(Duration.ofMillis(10), null);
+        UUID id = cache.createStatefulSessionBean();
+        access(cache, id);
+
+        await(() -> cache.getActiveCount() == 0);
+        assertTrue(REMOVED.contains(id));
+        assertNull(cache.findStatefulSessionBean(id));
+    }
+
+    @Test
+    public void expirePassivated() throws InterruptedException {
+        SimpleStatefulSessionBeanCache<UUID, TestInstance> cache = this.createCache(Duration.ofMillis(500), Duration.ofMillis(1));
+        UUID id = cache.createStatefulSessionBean();
+        access(cache, id);
+
+        await(() -> cache.getPassiveCount() == 1);
+        await(() -> cache.getPassiveCount() == 0);
+        assertEquals(0, cache.getActiveCount());
+        assertNull(cache.findStatefulSessionBean(id));
+        // Passivated beans expire without invoking their callbacks
+        assertFalse(REMOVED.contains(id));
+    }
+
+    @Test
+    public void expireDuringPassivation() throws InterruptedException {
+        // Expiration and passivation are due at roughly the same time
+        SimpleStatefulSessionBeanCache<UUID, TestInstance> cache = this.createCache(Duration.ofMillis(2), Duration.ofMillis(1));
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            UUID id = cache.createStatefulSessionBean();
+            access(cache, id);
+            ids.add(id);
+        }
+        // Every bean expires, whether active or passive
+        await(() -> (cache.getActiveCount() == 0) && (cache.getPassiveCount() == 0));
+        for (UUID id : ids) {
+            assertNull(cache.findStatefulSessionBean(id));
+        }
+    }
+
+    @Test
+    public void stop() throws InterruptedException {
+        SimpleStatefulSessionBeanCache<UUID, TestInstance> cache = this.createCache(null, Duration.ofMillis(1));
+        UUID id = cache.createStatefulSessionBean();
+        access(cache, id);
+        await(() -> cache.getPassiveCount() == 1);
+
+        cache.stop();
+        this.cache = null;
+        assertEquals(0, cache.getPassiveCount());
+        assertFalse(REMOVED.contains(id));
+    }
+
+    private static void access(SimpleStatefulSessionBeanCache<UUID, TestInstance> cache, UUID id) {
+        try (StatefulSessionBean<UUID, TestInstance> bean = cache.findStatefulSessionBean(id)) {
+            assertNotNull(bean);
+            bean.getInstance().accesses += 1;
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline);
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+    }
+
+    static class TestInstance implements StatefulSessionBeanInstance<UUID>, Serializable {
+        private static final long serialVersionUID = -4542580435405524813L;
+
+        private final UUID id;
+        int accesses;
+        int passivations;
+        int activations;
+
+        TestInstance(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public UUID getId() {
+            return this.id;
+        }
+
+        @Override
+        public void prePassivate() {
+            this.passivations += 1;
+        }
+
+        @Override
+        public void postActivate() {
+            this.activations += 1;
+        }
+
+        @Override
+        public void removed() {
+            REMOVED.add(this.id);
+        }
+    }
+}
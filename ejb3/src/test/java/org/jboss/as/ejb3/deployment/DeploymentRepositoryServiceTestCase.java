@@ -0,0 +1,44 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.deployment;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for the EJB lookups of {@link DeploymentRepositoryService}.
+ */
+public class DeploymentRepositoryServiceTestCase {
+
+    @Test
+    public void getStartedEjb() throws Exception {
+        DeploymentRepositoryService repository = new DeploymentRepositoryService();
+        repository.start(null);
+        DeploymentModuleIdentifier identifier = new DeploymentModuleIdentifier("app", "module", "");
+        EjbDeploymentInformation ejb = mock(EjbDeploymentInformation.class);
+        ModuleDeployment deployment = new ModuleDeployment(identifier, Collections.singletonMap("Bean", ejb));
+
+        repository.add(identifier, deployment);
+        Assert.assertSame(deployment, repository.getModule(identifier));
+        // not started yet
+        Assert.assertNull(repository.getStartedEjb("app", "module", "", "Bean"));
+
+        Assert.assertTrue(repository.startDeployment(identifier));
+        Assert.assertSame(ejb, repository.getStartedEjb("app", "module", "", "Bean"));
+        Assert.assertNull(repository.getStartedEjb("app", "module", "", "OtherBean"));
+        Assert.assertNull(repository.getStartedEjb("app", "module", "distinct", "Bean"));
+        Assert.assertNull(repository.getStartedEjb("app", "other", "", "Bean"));
+        Assert.assertNull(repository.getStartedEjb("other", "module", "", "Bean"));
+        Assert.assertNull(repository.getStartedEjb(null, null, null, null));
+
+        repository.remove(identifier);
+        Assert.assertNull(repository.getModule(identifier));
+        Assert.assertNull(repository.getStartedEjb("app", "module", "", "Bean"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ImmutableTypes}.
+ */
+public class ImmutableTypesTestCase {
+
+    record Point(int x, int y) {
+    }
+
+    record Event(String name, Instant time, Point location) {
+    }
+
+    record Batch(String name, List<String> items) {
+    }
+
+    record Amount(BigDecimal value) {
+    }
+
+    @Test
+    public void platformTypes() {
+        Assert.assertTrue(ImmutableTypes.isImmutable(String.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(Integer.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(BigDecimal.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(Instant.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(LocalDate.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(ZoneId.systemDefault().getClass()));
+        Assert.assertFalse(ImmutableTypes.isImmutable(Date.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(ArrayList.class));
+        Assert.assertFalse(ImmutableTypes.isImmutable(Object.class));
+    }
+
+    @Test
+    public void records() {
+        Assert.assertTrue(ImmutableTypes.isImmutable(Point.class));
+        Assert.assertTrue(ImmutableTypes.isImmutable(Event.class));
+        // a list could be mutable
+        Assert.assertFalse(ImmutableTypes.isImmutable(Batch.class));
+        // a BigDecimal component could reference a mutable subclass
+        Assert.assertFalse(ImmutableTypes.isImmutable(Amount.class));
+        // records are not platform types
+        Assert.assertFalse(ImmutableTypes.isPlatformType(Point.class));
+    }
+}
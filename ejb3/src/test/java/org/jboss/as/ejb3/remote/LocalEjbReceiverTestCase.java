@@ -0,0 +1,99 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.remote;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.Date;
+import java.util.function.Supplier;
+
+import org.jboss.marshalling.cloner.ObjectCloner;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for the cloning of the parameters and results of local invocations by {@link LocalEjbReceiver}.
+ */
+public class LocalEjbReceiverTestCase {
+
+    record Point(int x, int y) {
+    }
+
+    private final ObjectCloner cloner = mock(ObjectCloner.class);
+    private final Supplier<ObjectCloner> supplier = () -> this.cloner;
+
+    @Test
+    public void platformTypes() throws Exception {
+        String value = "value";
+        Assert.assertSame(value, LocalEjbReceiver.clone(Object.class, this.supplier, value, false));
+        Assert.assertSame(value, LocalEjbReceiver.clone(String.class, this.supplier, value, false));
+        verify(this.cloner, never()).clone(value);
+
+        Date date = new Date();
+        Date clone = new Date(date.getTime());
+        when(this.cloner.clone(date)).thenReturn(clone);
+        Assert.assertSame(clone, LocalEjbReceiver.clone(Date.class, this.supplier, date, false));
+    }
+
+    @Test
+    public void record() throws Exception {
+        Point point = new Point(1, 2);
+        Assert.assertSame(point, LocalEjbReceiver.clone(Point.class, this.supplier, point, false));
+        verify(this.cloner, never()).clone(point);
+
+        // the target side may resolve a different class for a record merely assignable to the target type
+        Point clone = new Point(1, 2);
+        when(this.cloner.clone(point)).thenReturn(clone);
+        Assert.assertSame(clone, LocalEjbReceiver.clone(Record.class, this.supplier, point, false));
+        Assert.assertSame(point, LocalEjbReceiver.clone(Record.class, this.supplier, point, true));
+    }
+
+    @Test
+    public void recordOfOtherClassLoader() throws Exception {
+        Class<?> type = new IsolatedClassLoader(Point.class.getClassLoader()).define(Point.class);
+        Assert.assertNotSame(Point.class, type);
+        Assert.assertTrue(ImmutableTypes.isImmutable(type));
+        Object point = newInstance(type, 1, 2);
+
+        // the record class is shared by the target
+        Assert.assertSame(point, LocalEjbReceiver.clone(type, this.supplier, point, false));
+        verify(this.cloner, never()).clone(point);
+
+        // the record class may not be visible to the target
+        Object clone = newInstance(type, 1, 2);
+        when(this.cloner.clone(point)).thenReturn(clone);
+        Assert.assertSame(clone, LocalEjbReceiver.clone(Object.class, this.supplier, point, false));
+        Assert.assertSame(clone, LocalEjbReceiver.clone(Record.class, this.supplier, point, false));
+    }
+
+    private static Object newInstance(Class<?> type, int x, int y) throws ReflectiveOperationException {
+        Constructor<?> constructor = type.getDeclaredConstructor(int.class, int.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(x, y);
+    }
+
+    /**
+     * Defines a class again, so that it is distinct from the class of the same name of its parent class loader.
+     */
+    private static class IsolatedClassLoader extends ClassLoader {
+
+        IsolatedClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(Class<?> type) throws IOException {
+            try (InputStream input = type.getClassLoader().getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+                byte[] bytes = input.readAllBytes();
+                return this.defineClass(type.getName(), bytes, 0, bytes.length);
+            }
+        }
+    }
+}
@@ -5,18 +5,29 @@
 
 package org.jboss.as.ejb3.timerservice.persistence.database;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Map;
 import java.util.Properties;
 
+import javax.sql.DataSource;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
 public class DatabaseTimerPersistenceTestCase {
 
-    private DatabaseTimerPersistence object = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true);
+    private DatabaseTimerPersistence object = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000000, true, false, false);
     private Field field;
     private Method method;
 
@@ -168,4 +179,62 @@ public class DatabaseTimerPersistenceTestCase {
         Assert.assertEquals("sybase", field.get(object));
     }
 
+    @Test
+    public void releaseUnusedClaims() throws Exception {
+        final DatabaseTimerPersistence persistence = new DatabaseTimerPersistence(null, null, null, null, "", "part", "nodeA", 1000, true, false, true);
+        final DataSource dataSource = mock(DataSource.class);
+        final Connection connection = mock(Connection.class);
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("release-claimed-timer")).thenReturn(statement);
+        final Properties sql = new Properties();
+        sql.setProperty("release-claimed-timer", "release-claimed-timer");
+        setField(persistence, "dataSource", dataSource);
+        setField(persistence, "sql", sql);
+
+        @SuppressWarnings("unchecked")
+        final Map<String, Long> claimedTimers = (Map<String, Long>) getField(persistence, "claimedTimers");
+        claimedTimers.put("timer1", 1000L);
+        claimedTimers.put("timer2", 2000L);
+
+        final Method removeUnusedClaims = DatabaseTimerPersistence.class.getDeclaredMethod("removeUnusedClaims", long.class);
+        removeUnusedClaims.setAccessible(true);
+        // only the claims due before the specified time are removed
+        Assert.assertEquals(Map.of("timer1", 1000L), removeUnusedClaims.invoke(persistence, 1500L));
+        Assert.assertEquals(Map.of("timer2", 2000L), claimedTimers);
+        claimedTimers.put("timer1", 1000L);
+
+        // every remaining claim is released when the data store stops
+        final Method releaseUnusedClaims = DatabaseTimerPersistence.class.getDeclaredMethod("releaseUnusedClaims");
+        releaseUnusedClaims.setAccessible(true);
+        releaseUnusedClaims.invoke(persistence);
+
+        Assert.assertTrue(claimedTimers.isEmpty());
+        verify(statement).setString(1, "timer1");
+        verify(statement).setTimestamp(4, new Timestamp(1000L));
+        verify(statement).setString(1, "timer2");
+        verify(statement).setTimestamp(4, new Timestamp(2000L));
+        verify(statement, times(2)).setString(2, "part");
+        verify(statement, times(2)).setString(3, "nodeA");
+        verify(statement, times(2)).addBatch();
+        verify(statement).executeBatch();
+        verify(statement).close();
+        verify(connection).close();
+
+        // no connection is obtained if there is nothing to release
+        releaseUnusedClaims.invoke(persistence);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    private static void setField(final DatabaseTimerPersistence persistence, final String name, final Object value) throws ReflectiveOperationException {
+        final Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(persistence, value);
+    }
+
+    private static Object getField(final DatabaseTimerPersistence persistence, final String name) throws ReflectiveOperationException {
+        final Field field = DatabaseTimerPersistence.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(persistence);
+    }
 }
\ No newline at end of file
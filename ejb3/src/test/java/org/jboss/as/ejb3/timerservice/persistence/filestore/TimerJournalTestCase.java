@@ -0,0 +1,149 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private static final String TIMED_OBJECT_ID = "app.module.Bean";
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("timer-journal").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        for (File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    @Test
+    public void replay() throws IOException {
+        try (TimerJournal journal = this.open(1024 * 1024)) {
+            journal.write(Arrays.asList(create("1", "a"), create("2", "b"), create("3", "c")));
+            journal.write(Collections.singletonList(update("2", "bb")));
+            journal.write(Collections.singletonList(remove("3")));
+        }
+        try (TimerJournal journal = this.open(1024 * 1024)) {
+            Map<String, byte[]> records = journal.getRecords(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, records.size());
+            Assert.assertEquals("a", string(records.get("1")));
+            Assert.assertEquals("bb", string(records.get("2")));
+            Assert.assertTrue(journal.getRecords("unknown").isEmpty());
+        }
+    }
+
+    @Test
+    public void conditionalChanges() throws IOException {
+        try (TimerJournal journal = this.open(1024 * 1024)) {
+            journal.write(Collections.singletonList(create("1", "a")));
+            // An update of a removed timer, and the import of an existing timer, are skipped
+            journal.write(Arrays.asList(update("2", "b"), imported("1", "x"), imported("3", "c")));
+            Map<String, byte[]> records = journal.getRecords(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, records.size());
+            Assert.assertEquals("a", string(records.get("1")));
+            Assert.assertEquals("c", string(records.get("3")));
+            // Changes within a batch observe preceding changes of the same batch
+            journal.write(Arrays.asList(remove("1"), update("1", "y"), create("4", "d"), update("4", "dd")));
+            records = journal.getRecords(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, records.size());
+            Assert.assertEquals("dd", string(records.get("4")));
+        }
+    }
+
+    @Test
+    public void tornRecord() throws IOException {
+        try (TimerJournal journal = this.open(1024 * 1024)) {
+            journal.write(Collections.singletonList(create("1", "a")));
+            journal.write(Collections.singletonList(create("2", "b")));
+        }
+        File[] segments = this.directory.listFiles();
+        Assert.assertEquals(1, segments.length);
+        long length = segments[0].length();
+        // Simulate a crash during the last write
+        try (RandomAccessFile file = new RandomAccessFile(segments[0], "rw")) {
+            file.setLength(length - 1);
+        }
+        try (TimerJournal journal = this.open(1024 * 1024)) {
+            Map<String, byte[]> records = journal.getRecords(TIMED_OBJECT_ID);
+            Assert.assertEquals(1, records.size());
+            Assert.assertEquals("a", string(records.get("1")));
+            // Subsequent records follow the last valid record
+            journal.write(Collections.singletonList(create("3", "c")));
+        }
+        try (TimerJournal journal = this.open(1024 * 1024)) {
+            Map<String, byte[]> records = journal.getRecords(TIMED_OBJECT_ID);
+            Assert.assertEquals(2, records.size());
+            Assert.assertEquals("c", string(records.get("3")));
+        }
+    }
+
+    @Test
+    public void compaction() throws IOException {
+        try (TimerJournal journal = this.open(256)) {
+            for (int i = 0; i < 100; ++i) {
+                journal.write(Collections.singletonList(create("1", Integer.toString(i))));
+                journal.write(Collections.singletonList(create(Integer.toString(i + 2), "x")));
+                journal.write(Collections.singletonList(remove(Integer.toString(i + 2))));
+            }
+            Assert.assertEquals("99", string(journal.getRecords(TIMED_OBJECT_ID).get("1")));
+        }
+        // Compaction retains only a bounded number of segments
+        Assert.assertTrue(this.directory.listFiles().length < 5);
+        try (TimerJournal journal = this.open(256)) {
+            Map<String, byte[]> records = journal.getRecords(TIMED_OBJECT_ID);
+            Assert.assertEquals(1, records.size());
+            Assert.assertEquals("99", string(records.get("1")));
+        }
+    }
+
+    private TimerJournal open(long segmentSize) throws IOException {
+        // Compact synchronously
+        TimerJournal journal = new TimerJournal(this.directory, segmentSize, Runnable::run);
+        journal.open();
+        return journal;
+    }
+
+    private static TimerJournal.Change create(String timerId, String data) {
+        return new TimerJournal.Change(TimerJournal.Change.Type.CREATE, TIMED_OBJECT_ID, timerId, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TimerJournal.Change update(String timerId, String data) {
+        return new TimerJournal.Change(TimerJournal.Change.Type.UPDATE, TIMED_OBJECT_ID, timerId, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TimerJournal.Change imported(String timerId, String data) {
+        return new TimerJournal.Change(TimerJournal.Change.Type.IMPORT, TIMED_OBJECT_ID, timerId, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static TimerJournal.Change remove(String timerId) {
+        return new TimerJournal.Change(TimerJournal.Change.Type.REMOVE, TIMED_OBJECT_ID, timerId, null);
+    }
+
+    private static String string(byte[] data) {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.timerservice.scheduler.TimeoutScheduler.ScheduledTimeout;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelTimeoutScheduler}.
+ */
+public class TimingWheelTimeoutSchedulerTestCase {
+
+    /**
+     * Uses a fine grained tick so that timeouts cascade through the inner levels of the wheel.
+     */
+    @Test
+    public void testExpiration() throws InterruptedException {
+        TimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(10, TimeUnit.MICROSECONDS);
+        try {
+            int count = 200;
+            CountDownLatch latch = new CountDownLatch(count);
+            AtomicInteger early = new AtomicInteger();
+            for (int i = 0; i < count; ++i) {
+                long delay = i * 2;
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                scheduler.schedule(() -> {
+                    if (System.nanoTime() < deadline) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }, delay);
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertEquals(0, early.get());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testFixedRate() throws InterruptedException {
+        testRepeated(true);
+    }
+
+    @Test
+    public void testFixedDelay() throws InterruptedException {
+        testRepeated(false);
+    }
+
+    private static void testRepeated(boolean fixedRate) throws InterruptedException {
+        TimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(1, TimeUnit.MILLISECONDS);
+        try {
+            CountDownLatch latch = new CountDownLatch(5);
+            AtomicInteger executions = new AtomicInteger();
+            Runnable task = () -> {
+                executions.incrementAndGet();
+                latch.countDown();
+            };
+            ScheduledTimeout timeout = fixedRate ? scheduler.scheduleAtFixedRate(task, 0, 10) : scheduler.scheduleWithFixedDelay(task, 0, 10);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertTrue(timeout.cancel());
+            assertFalse(timeout.cancel());
+            int cancelled = executions.get();
+            Thread.sleep(100);
+            // At most one execution may have been in progress at the time of cancellation
+            assertTrue(executions.get() <= cancelled + 1);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        TimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(1, TimeUnit.MILLISECONDS);
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            ScheduledTimeout expiring = scheduler.schedule(latch::countDown, 10);
+            AtomicInteger executions = new AtomicInteger();
+            ScheduledTimeout cancelled = scheduler.schedule(executions::incrementAndGet, 20);
+            assertTrue(cancelled.cancel());
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            assertFalse(expiring.cancel());
+            Thread.sleep(50);
+            assertEquals(0, executions.get());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Verifies that the most distant deadlines and periods do not overflow into the past.
+     */
+    @Test
+    public void testMaxDelay() throws InterruptedException {
+        TimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(1, TimeUnit.MILLISECONDS);
+        try {
+            AtomicInteger executions = new AtomicInteger();
+            ScheduledTimeout timeout = scheduler.schedule(executions::incrementAndGet, Long.MAX_VALUE);
+            ScheduledTimeout fixedRate = scheduler.scheduleAtFixedRate(executions::incrementAndGet, Long.MAX_VALUE, Long.MAX_VALUE);
+            CountDownLatch latch = new CountDownLatch(2);
+            AtomicInteger repeated = new AtomicInteger();
+            Runnable task = () -> {
+                repeated.incrementAndGet();
+                latch.countDown();
+            };
+            ScheduledTimeout fixedRateNow = scheduler.scheduleAtFixedRate(task, 0, Long.MAX_VALUE);
+            ScheduledTimeout fixedDelayNow = scheduler.scheduleWithFixedDelay(task, 0, Long.MAX_VALUE);
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            assertEquals(0, executions.get());
+            // Each repeated timeout ran once, its next execution being as distant as possible
+            assertEquals(2, repeated.get());
+            assertTrue(timeout.cancel());
+            assertTrue(fixedRate.cancel());
+            assertTrue(fixedRateNow.cancel());
+            assertTrue(fixedDelayNow.cancel());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    /**
+     * Schedules and cancels a million timeouts, spread from seconds to years into the future.
+     */
+    @Test
+    public void testScheduleAndCancelMillion() throws InterruptedException {
+        TimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(1, TimeUnit.MILLISECONDS);
+        try {
+            int count = 1_000_000;
+            Random random = new Random(0);
+            AtomicInteger executions = new AtomicInteger();
+            Runnable task = executions::incrementAndGet;
+            ScheduledTimeout[] timeouts = new ScheduledTimeout[count];
+            for (int i = 0; i < count; ++i) {
+                long delay = 10_000 + (long) Math.pow(2, random.nextInt(36));
+                timeouts[i] = (i % 2 == 0) ? scheduler.schedule(task, delay) : scheduler.scheduleAtFixedRate(task, delay, delay);
+            }
+            // Let the wheel absorb some of the timeouts before cancelling them
+            Thread.sleep(10);
+            for (ScheduledTimeout timeout : timeouts) {
+                assertTrue(timeout.cancel());
+            }
+            Thread.sleep(100);
+            assertEquals(0, executions.get());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
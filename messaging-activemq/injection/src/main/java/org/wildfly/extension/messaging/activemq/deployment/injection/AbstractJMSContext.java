@@ -33,7 +33,7 @@ public abstract class AbstractJMSContext implements Serializable {
             try {
                 context = contexts.get(injectionPointId);
                 if (context == null) {
-                    context = createContext(info, connectionFactory);
+                    context = acquireContext(info, connectionFactory);
                     contexts.put(injectionPointId, context);
                 }
             } finally {
@@ -43,7 +43,21 @@ public abstract class AbstractJMSContext implements Serializable {
         return context;
     }
 
-    private JMSContext createContext(JMSInfo info, ConnectionFactory connectionFactory) {
+    /**
+     * Acquires the actual JMSContext of an injection point, by creating it from the connection factory.
+     */
+    JMSContext acquireContext(JMSInfo info, ConnectionFactory connectionFactory) {
+        return createContext(info, connectionFactory);
+    }
+
+    /**
+     * Releases the actual JMSContext of an injection point, by closing it.
+     */
+    void releaseContext(JMSContext context) {
+        context.close();
+    }
+
+    static JMSContext createContext(JMSInfo info, ConnectionFactory connectionFactory) {
         ROOT_LOGGER.debugf("Create JMSContext from %s - %s", info, connectionFactory);
         int sessionMode = info.getSessionMode();
         String userName = info.getUserName();
@@ -60,7 +74,7 @@ public abstract class AbstractJMSContext implements Serializable {
     void cleanUp() {
         ROOT_LOGGER.debugf("Clean up JMSContext created from %s", this);
         for (JMSContext jmsContext : contexts.values()) {
-            jmsContext.close();
+            releaseContext(jmsContext);
         }
         contexts.clear();
     }
@@ -86,6 +86,17 @@ class InjectedJMSContext extends JMSContextWrapper implements Serializable {
         return contextInstance;
     }
 
+    /**
+     * Return the actual JMSContext used by this injection, which must not be reused by another request
+     * once state is bound to it.
+     */
+    @Override
+    JMSContext getStatefulDelegate() {
+        JMSContext contextInstance = getDelegate();
+        requestedJMSContext.discard(contextInstance);
+        return contextInstance;
+    }
+
     /**
      * check whether there is an active transaction.
      */
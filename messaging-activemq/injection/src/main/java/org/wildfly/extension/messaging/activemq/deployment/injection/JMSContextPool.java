@@ -0,0 +1,267 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.deployment.injection;
+
+import static org.wildfly.extension.messaging.activemq._private.MessagingLogger.ROOT_LOGGER;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.ExceptionListener;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.resource.Referenceable;
+
+/**
+ * Pool of the JMSContexts created from a connection factory for the injected JMSContexts in the @RequestScoped scope.
+ *
+ * Contexts are pooled by session mode and credentials, so that short requests do not pay the creation and close
+ * of a connection and a session every time.
+ * A context is only returned to the pool if no state was bound to it during the request (consumers, browsers, temporary destinations...)
+ * and its connection did not fail.
+ * On release, a transacted context is rolled back and a client acknowledged context is recovered, and the context is closed if this fails.
+ *
+ * Pools are only available for the connection factories registered by the messaging subsystem.
+ * Connection factories managed by the Jakarta Connectors (e.g. pooled-connection-factory) already pool their connections and
+ * are never registered.
+ */
+public final class JMSContextPool {
+
+    private static final int MAX_IDLE_CONTEXTS = Integer.getInteger("org.wildfly.messaging.activemq.injection.max-idle-jms-contexts", 16);
+
+    private static final Map<ConnectionFactory, JMSContextPool> POOLS = new ConcurrentHashMap<>();
+
+    private final ConnectionFactory connectionFactory;
+    private final Map<Key, BlockingDeque<Entry>> idleContexts = new ConcurrentHashMap<>();
+    // number of JNDI bindings of the connection factory, guarded by POOLS
+    private int bindings;
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder returnCount = new LongAdder();
+    private final LongAdder createCount = new LongAdder();
+    private volatile boolean closed;
+
+    private JMSContextPool(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * Registers the pool of a connection factory bound by the messaging subsystem.
+     * This method must be called once for each JNDI binding of the connection factory.
+     */
+    public static void register(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Referenceable) {
+            return;
+        }
+        synchronized (POOLS) {
+            POOLS.computeIfAbsent(connectionFactory, JMSContextPool::new).bindings++;
+        }
+    }
+
+    /**
+     * Unregisters the pool of a connection factory once it is unbound by the messaging subsystem.
+     * The pool is closed when the last JNDI binding of the connection factory is removed.
+     */
+    public static void unregister(ConnectionFactory connectionFactory) {
+        JMSContextPool pool;
+        synchronized (POOLS) {
+            pool = POOLS.get(connectionFactory);
+            if (pool == null || --pool.bindings > 0) {
+                return;
+            }
+            POOLS.remove(connectionFactory);
+        }
+        pool.close();
+    }
+
+    /**
+     * @return the pool of the connection factory, or null if its contexts are not pooled
+     */
+    public static JMSContextPool getPool(ConnectionFactory connectionFactory) {
+        return (connectionFactory != null) ? POOLS.get(connectionFactory) : null;
+    }
+
+    /**
+     * Borrows a context from the pool, creating it if no idle context matches the session mode and credentials.
+     */
+    Entry borrow(JMSInfo info) {
+        Key key = new Key(info);
+        borrowCount.increment();
+        BlockingDeque<Entry> contexts = idleContexts.get(key);
+        Entry entry = (contexts != null) ? contexts.pollFirst() : null;
+        while (entry != null && entry.failed) {
+            entry.context.close();
+            entry = contexts.pollFirst();
+        }
+        if (entry == null) {
+            entry = new Entry(key, AbstractJMSContext.createContext(info, connectionFactory));
+            createCount.increment();
+        }
+        entry.reusable = true;
+        return entry;
+    }
+
+    private void release(Entry entry) {
+        if (!closed && entry.reusable && !entry.failed && reset(entry)) {
+            if (idleContexts.computeIfAbsent(entry.key, key -> new LinkedBlockingDeque<>(MAX_IDLE_CONTEXTS)).offerFirst(entry)) {
+                returnCount.increment();
+                // the pool may have been closed concurrently
+                if (closed) {
+                    closeIdleContexts();
+                }
+                return;
+            }
+        }
+        ROOT_LOGGER.debugf("Close JMSContext borrowed from %s", this);
+        entry.context.close();
+    }
+
+    /**
+     * Discards the uncommitted work of a transacted context, and redelivers the unacknowledged messages of a client acknowledged context,
+     * so that they do not leak into the next request borrowing the context.
+     *
+     * @return true if the context can be reused, false otherwise
+     */
+    private boolean reset(Entry entry) {
+        try {
+            switch (entry.key.sessionMode) {
+                case JMSContext.SESSION_TRANSACTED:
+                    entry.context.rollback();
+                    break;
+                case JMSContext.CLIENT_ACKNOWLEDGE:
+                    entry.context.recover();
+                    break;
+                default:
+                    break;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            ROOT_LOGGER.debugf(e, "Failed to reset JMSContext borrowed from %s", this);
+            return false;
+        }
+    }
+
+    private void close() {
+        closed = true;
+        closeIdleContexts();
+    }
+
+    private void closeIdleContexts() {
+        for (BlockingDeque<Entry> contexts : idleContexts.values()) {
+            Entry entry = contexts.pollFirst();
+            while (entry != null) {
+                try {
+                    entry.context.close();
+                } catch (RuntimeException e) {
+                    ROOT_LOGGER.debugf(e, "Failed to close JMSContext pooled by %s", this);
+                }
+                entry = contexts.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * @return the number of contexts borrowed from the pool
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * @return the number of contexts returned to the pool for reuse
+     */
+    public long getReturnCount() {
+        return returnCount.sum();
+    }
+
+    /**
+     * @return the number of contexts created by the pool
+     */
+    public long getCreateCount() {
+        return createCount.sum();
+    }
+
+    /**
+     * @return the number of idle contexts in the pool
+     */
+    public int getIdleCount() {
+        int count = 0;
+        for (BlockingDeque<Entry> contexts : idleContexts.values()) {
+            count += contexts.size();
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "JMSContextPool[" + connectionFactory + "]";
+    }
+
+    /**
+     * A context borrowed from the pool.
+     */
+    final class Entry implements ExceptionListener {
+        private final Key key;
+        private final JMSContext context;
+        private volatile boolean reusable;
+        private volatile boolean failed;
+
+        Entry(Key key, JMSContext context) {
+            this.key = key;
+            this.context = context;
+            context.setExceptionListener(this);
+        }
+
+        JMSContext getContext() {
+            return context;
+        }
+
+        /**
+         * Prevents the context from being returned to the pool once released.
+         */
+        void discard() {
+            reusable = false;
+        }
+
+        void release() {
+            JMSContextPool.this.release(this);
+        }
+
+        @Override
+        public void onException(JMSException exception) {
+            failed = true;
+        }
+    }
+
+    private static final class Key {
+        private final int sessionMode;
+        private final String userName;
+        private final String password;
+
+        Key(JMSInfo info) {
+            this.sessionMode = info.getSessionMode();
+            this.userName = info.getUserName();
+            this.password = info.getPassword();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return sessionMode == key.sessionMode && Objects.equals(userName, key.userName) && Objects.equals(password, key.password);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sessionMode, userName, password);
+        }
+    }
+}
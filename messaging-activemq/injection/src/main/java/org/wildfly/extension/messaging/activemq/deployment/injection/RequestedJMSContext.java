@@ -5,17 +5,59 @@
 
 package org.wildfly.extension.messaging.activemq.deployment.injection;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.RequestScoped;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSContext;
 
 /**
  * Injection of JMSContext in the @RequestScoped scope.
  *
+ * The actual JMSContexts are borrowed from the {@link JMSContextPool} of their connection factory, if any,
+ * and returned to it at the end of the request.
+ *
  * @author <a href="http://jmesnil.net/">Jeff Mesnil</a> (c) 2016 Red Hat inc.
  */
 @RequestScoped
 class RequestedJMSContext extends AbstractJMSContext {
 
+    // JMSContexts borrowed from a pool
+    private final transient Map<JMSContext, JMSContextPool.Entry> borrowedContexts = new ConcurrentHashMap<>();
+
+    @Override
+    JMSContext acquireContext(JMSInfo info, ConnectionFactory connectionFactory) {
+        JMSContextPool pool = JMSContextPool.getPool(connectionFactory);
+        if (pool == null) {
+            return super.acquireContext(info, connectionFactory);
+        }
+        JMSContextPool.Entry entry = pool.borrow(info);
+        borrowedContexts.put(entry.getContext(), entry);
+        return entry.getContext();
+    }
+
+    @Override
+    void releaseContext(JMSContext context) {
+        JMSContextPool.Entry entry = borrowedContexts.remove(context);
+        if (entry != null) {
+            entry.release();
+        } else {
+            super.releaseContext(context);
+        }
+    }
+
+    /**
+     * Prevents a borrowed JMSContext from being returned to its pool, once state is bound to it.
+     */
+    void discard(JMSContext context) {
+        JMSContextPool.Entry entry = borrowedContexts.get(context);
+        if (entry != null) {
+            entry.discard();
+        }
+    }
+
     @PreDestroy
     @Override
     void cleanUp() {
@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.deployment.injection;
+
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSContext;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test class for {@link JMSContextPool}.
+ */
+public class JMSContextPoolTestCase {
+
+    private ConnectionFactory connectionFactory;
+    private JMSInfo info;
+
+    @Before
+    public void setUp() {
+        connectionFactory = Mockito.mock(ConnectionFactory.class);
+        Mockito.when(connectionFactory.createContext(JMSContext.AUTO_ACKNOWLEDGE)).thenAnswer(invocation -> Mockito.mock(JMSContext.class));
+        info = Mockito.mock(JMSInfo.class);
+        Mockito.when(info.getSessionMode()).thenReturn(JMSContext.AUTO_ACKNOWLEDGE);
+        JMSContextPool.register(connectionFactory);
+    }
+
+    @After
+    public void tearDown() {
+        JMSContextPool.unregister(connectionFactory);
+    }
+
+    @Test
+    public void testReuse() {
+        JMSContext context = request(false);
+        Assert.assertSame(context, request(false));
+
+        JMSContextPool pool = JMSContextPool.getPool(connectionFactory);
+        Assert.assertEquals(2, pool.getBorrowCount());
+        Assert.assertEquals(2, pool.getReturnCount());
+        Assert.assertEquals(1, pool.getCreateCount());
+        Assert.assertEquals(1, pool.getIdleCount());
+        Mockito.verify(context, Mockito.never()).close();
+    }
+
+    @Test
+    public void testDiscard() {
+        JMSContext context = request(true);
+        Mockito.verify(context).close();
+        Assert.assertNotSame(context, request(false));
+        Assert.assertEquals(2, JMSContextPool.getPool(connectionFactory).getCreateCount());
+    }
+
+    @Test
+    public void testUnregister() {
+        JMSContext context = request(false);
+        // an additional binding of the connection factory
+        JMSContextPool.register(connectionFactory);
+        JMSContextPool.unregister(connectionFactory);
+        Assert.assertNotNull(JMSContextPool.getPool(connectionFactory));
+        Mockito.verify(context, Mockito.never()).close();
+
+        JMSContextPool.unregister(connectionFactory);
+        Assert.assertNull(JMSContextPool.getPool(connectionFactory));
+        Mockito.verify(context).close();
+        // the pool is already unregistered
+        JMSContextPool.register(connectionFactory);
+    }
+
+    private JMSContext request(boolean stateful) {
+        RequestedJMSContext requestedJMSContext = new RequestedJMSContext();
+        JMSContext context = requestedJMSContext.getContext("id", info, connectionFactory);
+        if (stateful) {
+            requestedJMSContext.discard(context);
+        }
+        requestedJMSContext.cleanUp();
+        return context;
+    }
+}
@@ -110,6 +110,10 @@ public class JGroupsBroadcastGroupDefinition extends PersistentResourceDefinitio
         }
 
         BroadcastGroupControlHandler.INSTANCE.registerAttributes(registry);
+
+        if (registerRuntimeOnly) {
+            JGroupsBroadcastGroupMetricsHandler.INSTANCE.registerMetrics(registry);
+        }
     }
 
     @Override
@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.messaging.activemq;
+
+import static org.jboss.as.controller.SimpleAttributeDefinitionBuilder.create;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.GAUGE_METRIC;
+import static org.jboss.dmr.ModelType.LONG;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.messaging.activemq.broadcast.BroadcastStatistics;
+
+/**
+ * Reads the statistics of the broadcasts received over the channel of a JGroups broadcast group.
+ * These statistics are maintained per channel, so broadcast groups sharing a channel report the same values.
+ */
+public class JGroupsBroadcastGroupMetricsHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final AttributeDefinition QUEUED_BROADCASTS = create("queued-broadcasts", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(GAUGE_METRIC)
+            .build();
+
+    public static final AttributeDefinition DROPPED_BROADCASTS = create("dropped-broadcasts", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    public static final AttributeDefinition COALESCED_BROADCASTS = create("coalesced-broadcasts", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    public static final AttributeDefinition[] METRICS = { QUEUED_BROADCASTS, DROPPED_BROADCASTS, COALESCED_BROADCASTS };
+
+    public static final JGroupsBroadcastGroupMetricsHandler INSTANCE = new JGroupsBroadcastGroupMetricsHandler();
+
+    private JGroupsBroadcastGroupMetricsHandler() {
+    }
+
+    public void registerMetrics(ManagementResourceRegistration registry) {
+        for (AttributeDefinition metric : METRICS) {
+            registry.registerMetric(metric, this);
+        }
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        final String channelName = JGroupsBroadcastGroupDefinition.JGROUPS_CHANNEL.resolveModelAttribute(context, model).asStringOrNull();
+        ServiceController<?> service = context.getServiceRegistry(false).getService(MessagingServices.getBroadcastCommandDispatcherFactoryServiceName(channelName));
+        if (service == null || service.getState() != ServiceController.State.UP) {
+            return;
+        }
+        BroadcastStatistics statistics = BroadcastStatistics.class.cast(service.getValue());
+        switch (attributeName) {
+            case "queued-broadcasts":
+                context.getResult().set(statistics.getQueuedBroadcasts());
+                break;
+            case "dropped-broadcasts":
+                context.getResult().set(statistics.getDroppedBroadcasts());
+                break;
+            case "coalesced-broadcasts":
+                context.getResult().set(statistics.getCoalescedBroadcasts());
+                break;
+            default:
+                // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+                throw new IllegalArgumentException(attributeName);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
+
+/**
+ * A {@link BroadcastManager} that retains a bounded number of pending broadcasts.
+ * A received broadcast identical to a pending broadcast is coalesced with it, i.e. the periodic broadcast of an unchanged topology by a given sender is only queued once.
+ * Once the capacity is reached, the oldest pending broadcast is dropped in favor of the received broadcast.
+ */
+public class BoundedBroadcastManager implements BroadcastManager {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Map<ByteBuffer, byte[]> broadcasts = new LinkedHashMap<>();
+    private final Lock lock = new ReentrantLock();
+    private final Condition available = this.lock.newCondition();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final String name;
+    private final int capacity;
+
+    public BoundedBroadcastManager(String name) {
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    public BoundedBroadcastManager(String name, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(Integer.toString(capacity));
+        }
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void receive(byte[] broadcast) {
+        if (MessagingLogger.ROOT_LOGGER.isDebugEnabled()) {
+            MessagingLogger.ROOT_LOGGER.debugf("Received broadcast from group %s: %s", this.name, Arrays.toString(broadcast));
+        }
+        // Byte buffers are equal if their remaining content is equal
+        ByteBuffer key = ByteBuffer.wrap(broadcast);
+        this.lock.lock();
+        try {
+            if (this.broadcasts.containsKey(key)) {
+                this.coalesced.incrementAndGet();
+                return;
+            }
+            if (this.broadcasts.size() >= this.capacity) {
+                Iterator<byte[]> oldest = this.broadcasts.values().iterator();
+                oldest.next();
+                oldest.remove();
+                this.dropped.incrementAndGet();
+            }
+            this.broadcasts.put(key, broadcast);
+            this.available.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.broadcasts.isEmpty()) {
+                this.available.await();
+            }
+            return this.poll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] getBroadcast(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        this.lock.lockInterruptibly();
+        try {
+            while (this.broadcasts.isEmpty()) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = this.available.awaitNanos(nanos);
+            }
+            return this.poll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private byte[] poll() {
+        Iterator<byte[]> broadcasts = this.broadcasts.values().iterator();
+        byte[] broadcast = broadcasts.next();
+        broadcasts.remove();
+        return broadcast;
+    }
+
+    @Override
+    public void clear() {
+        this.lock.lock();
+        try {
+            this.broadcasts.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public long getQueuedBroadcasts() {
+        this.lock.lock();
+        try {
+            return this.broadcasts.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public long getDroppedBroadcasts() {
+        return this.dropped.get();
+    }
+
+    @Override
+    public long getCoalescedBroadcasts() {
+        return this.coalesced.get();
+    }
+}
@@ -10,8 +10,9 @@ import org.wildfly.clustering.server.dispatcher.CommandDispatcherFactory;
 
 /**
  * A {@link CommandDispatcherFactory} that is also a registry of {@link BroadcastReceiver}s.
+ * Its statistics aggregate those of the registered {@link BroadcastManager}s.
  * @author Paul Ferraro
  */
-public interface BroadcastCommandDispatcherFactory extends CommandDispatcherFactory<GroupMember>, BroadcastReceiverRegistrar {
+public interface BroadcastCommandDispatcherFactory extends CommandDispatcherFactory<GroupMember>, BroadcastReceiverRegistrar, BroadcastStatistics {
 
 }
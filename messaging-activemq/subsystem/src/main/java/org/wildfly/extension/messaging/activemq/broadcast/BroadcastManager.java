@@ -10,7 +10,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * @author Paul Ferraro
  */
-public interface BroadcastManager extends BroadcastReceiver {
+public interface BroadcastManager extends BroadcastReceiver, BroadcastStatistics {
 
     byte[] getBroadcast() throws InterruptedException;
 
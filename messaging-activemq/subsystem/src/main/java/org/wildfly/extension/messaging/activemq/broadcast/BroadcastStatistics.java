@@ -0,0 +1,30 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+/**
+ * Exposes statistics of received broadcasts pending retrieval.
+ */
+public interface BroadcastStatistics {
+
+    /**
+     * Returns the number of received broadcasts pending retrieval.
+     * @return a number of broadcasts
+     */
+    long getQueuedBroadcasts();
+
+    /**
+     * Returns the number of received broadcasts that were discarded to bound the number of pending broadcasts.
+     * @return a number of broadcasts
+     */
+    long getDroppedBroadcasts();
+
+    /**
+     * Returns the number of received broadcasts that were coalesced with an identical pending broadcast.
+     * @return a number of broadcasts
+     */
+    long getCoalescedBroadcasts();
+}
@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -32,6 +33,9 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 public class ConcurrentBroadcastCommandDispatcherFactory implements BroadcastCommandDispatcherFactory {
 
     private final Set<BroadcastReceiver> receivers = ConcurrentHashMap.newKeySet();
+    // Statistics of unregistered receivers
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
     private final CommandDispatcherFactory<GroupMember> dispatcherFactory;
     private final Cache<Object, CachedCommandDispatcher<?>> cache = CacheStrategy.CONCURRENT.createCache(Functions.discardingConsumer(), new Consumer<>() {
         @Override
@@ -54,7 +58,46 @@ public class ConcurrentBroadcastCommandDispatcherFactory implements BroadcastCom
     @Override
     public Registration register(BroadcastReceiver receiver) {
         this.receivers.add(receiver);
-        return () -> this.receivers.remove(receiver);
+        return () -> {
+            if (this.receivers.remove(receiver) && (receiver instanceof BroadcastStatistics)) {
+                BroadcastStatistics statistics = (BroadcastStatistics) receiver;
+                this.dropped.add(statistics.getDroppedBroadcasts());
+                this.coalesced.add(statistics.getCoalescedBroadcasts());
+            }
+        };
+    }
+
+    @Override
+    public long getQueuedBroadcasts() {
+        long result = 0L;
+        for (BroadcastReceiver receiver : this.receivers) {
+            if (receiver instanceof BroadcastStatistics) {
+                result += ((BroadcastStatistics) receiver).getQueuedBroadcasts();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getDroppedBroadcasts() {
+        long result = this.dropped.sum();
+        for (BroadcastReceiver receiver : this.receivers) {
+            if (receiver instanceof BroadcastStatistics) {
+                result += ((BroadcastStatistics) receiver).getDroppedBroadcasts();
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long getCoalescedBroadcasts() {
+        long result = this.coalesced.sum();
+        for (BroadcastReceiver receiver : this.receivers) {
+            if (receiver instanceof BroadcastStatistics) {
+                result += ((BroadcastStatistics) receiver).getCoalescedBroadcasts();
+            }
+        }
+        return result;
     }
 
     @Override
@@ -45,4 +45,19 @@ public class QueueBroadcastManager implements BroadcastManager {
     public void clear() {
         this.broadcasts.clear();
     }
+
+    @Override
+    public long getQueuedBroadcasts() {
+        return this.broadcasts.size();
+    }
+
+    @Override
+    public long getDroppedBroadcasts() {
+        return 0L;
+    }
+
+    @Override
+    public long getCoalescedBroadcasts() {
+        return 0L;
+    }
 }
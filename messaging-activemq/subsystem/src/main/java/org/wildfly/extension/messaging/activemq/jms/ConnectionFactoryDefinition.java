@@ -6,6 +6,11 @@
 package org.wildfly.extension.messaging.activemq.jms;
 
 import static java.lang.System.arraycopy;
+import static org.jboss.as.controller.SimpleAttributeDefinitionBuilder.create;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.COUNTER_METRIC;
+import static org.jboss.as.controller.registry.AttributeAccess.Flag.GAUGE_METRIC;
+import static org.jboss.dmr.ModelType.INT;
+import static org.jboss.dmr.ModelType.LONG;
 import static org.wildfly.extension.messaging.activemq.jms.ConnectionFactoryAttribute.getDefinitions;
 import static org.wildfly.extension.messaging.activemq.jms.ConnectionFactoryAttributes.Common.DESERIALIZATION_ALLOWLIST;
 import static org.wildfly.extension.messaging.activemq.jms.ConnectionFactoryAttributes.Common.DESERIALIZATION_BLACKLIST;
@@ -21,6 +26,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.DynamicNameMappers;
 import org.jboss.as.controller.capability.RuntimeCapability;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
 import org.wildfly.extension.messaging.activemq.CommonAttributes;
 import org.wildfly.extension.messaging.activemq.MessagingExtension;
 import org.wildfly.extension.messaging.activemq.jms.ConnectionFactoryAttributes.Common;
@@ -48,6 +54,32 @@ public class ConnectionFactoryDefinition extends PersistentResourceDefinition {
 
     public static final AttributeDefinition[] ATTRIBUTES = concat(Regular.ATTRIBUTES, getDefinitions(Common.ATTRIBUTES));
 
+    static final AttributeDefinition JMS_CONTEXT_BORROW_COUNT = create("jms-context-borrow-count", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition JMS_CONTEXT_RETURN_COUNT = create("jms-context-return-count", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition JMS_CONTEXT_CREATE_COUNT = create("jms-context-create-count", LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(COUNTER_METRIC)
+            .build();
+
+    static final AttributeDefinition JMS_CONTEXT_IDLE_COUNT = create("jms-context-idle-count", INT)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .addFlag(GAUGE_METRIC)
+            .build();
+
+    static final AttributeDefinition[] METRICS = { JMS_CONTEXT_BORROW_COUNT, JMS_CONTEXT_RETURN_COUNT, JMS_CONTEXT_CREATE_COUNT, JMS_CONTEXT_IDLE_COUNT };
+
     private final boolean registerRuntimeOnlyValid;
 
     public ConnectionFactoryDefinition(final boolean registerRuntimeOnlyValid) {
@@ -69,6 +101,11 @@ public class ConnectionFactoryDefinition extends PersistentResourceDefinition {
         super.registerAttributes(resourceRegistration);
         ConnectionFactoryAttributes.registerAliasAttribute(resourceRegistration, false, DESERIALIZATION_WHITELIST, DESERIALIZATION_ALLOWLIST.getName());
         ConnectionFactoryAttributes.registerAliasAttribute(resourceRegistration, false, DESERIALIZATION_BLACKLIST, DESERIALIZATION_BLOCKLIST.getName());
+        if (registerRuntimeOnlyValid) {
+            for (AttributeDefinition metric : METRICS) {
+                resourceRegistration.registerMetric(metric, ConnectionFactoryReadAttributeHandler.INSTANCE);
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,78 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.jms;
+
+import static org.wildfly.extension.messaging.activemq.ActiveMQActivationService.ignoreOperationIfServerNotActive;
+
+import java.util.List;
+
+import jakarta.jms.ConnectionFactory;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.as.naming.deployment.ContextNames;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.messaging.activemq._private.MessagingLogger;
+import org.wildfly.extension.messaging.activemq.deployment.injection.JMSContextPool;
+
+/**
+ * Implements the {@code read-attribute} operation for the metrics of the pool of injected JMSContexts
+ * of a Jakarta Messaging connection factory.
+ */
+public class ConnectionFactoryReadAttributeHandler extends AbstractRuntimeOnlyHandler {
+
+    public static final ConnectionFactoryReadAttributeHandler INSTANCE = new ConnectionFactoryReadAttributeHandler();
+
+    private ConnectionFactoryReadAttributeHandler() {
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        if (ignoreOperationIfServerNotActive(context, operation)) {
+            return;
+        }
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        final JMSContextPool pool = getPool(context);
+        if (pool == null) {
+            // the metric is undefined
+            return;
+        }
+        if (ConnectionFactoryDefinition.JMS_CONTEXT_BORROW_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(pool.getBorrowCount());
+        } else if (ConnectionFactoryDefinition.JMS_CONTEXT_RETURN_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(pool.getReturnCount());
+        } else if (ConnectionFactoryDefinition.JMS_CONTEXT_CREATE_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(pool.getCreateCount());
+        } else if (ConnectionFactoryDefinition.JMS_CONTEXT_IDLE_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(pool.getIdleCount());
+        } else {
+            throw MessagingLogger.ROOT_LOGGER.unsupportedAttribute(attributeName);
+        }
+    }
+
+    /**
+     * Resolves the connection factory from its first JNDI binding.
+     */
+    private static JMSContextPool getPool(OperationContext context) throws OperationFailedException {
+        final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+        final List<String> entries = ConnectionFactoryAttributes.Common.ENTRIES.unwrap(context, model);
+        if (entries.isEmpty()) {
+            return null;
+        }
+        final ContextNames.BindInfo bindInfo = ContextNames.bindInfoFor(entries.get(0));
+        final ServiceController<?> bindingService = context.getServiceRegistry(false).getService(bindInfo.getBinderServiceName());
+        if (bindingService == null || bindingService.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        final Object instance = ManagedReferenceFactory.class.cast(bindingService.getValue()).getReference().getInstance();
+        return (instance instanceof ConnectionFactory) ? JMSContextPool.getPool((ConnectionFactory) instance) : null;
+    }
+}
@@ -12,6 +12,8 @@ import static org.wildfly.extension.messaging.activemq._private.MessagingLogger.
 import java.util.concurrent.CountDownLatch;
 import java.util.Locale;
 
+import jakarta.jms.ConnectionFactory;
+
 import org.apache.activemq.artemis.spi.core.naming.BindingRegistry;
 import org.jboss.msc.service.LifecycleEvent;
 import org.jboss.msc.service.LifecycleListener;
@@ -19,6 +21,7 @@ import org.jboss.as.naming.ManagedReferenceFactory;
 import org.jboss.as.naming.deployment.ContextNames;
 import org.jboss.msc.service.ServiceContainer;
 import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.messaging.activemq.deployment.injection.JMSContextPool;
 
 /**
  * A {@link BindingRegistry} implementation for WildFly.
@@ -57,6 +60,9 @@ public class WildFlyBindingRegistry implements BindingRegistry {
         }
         installBinderService(container, name, obj);
         ROOT_LOGGER.boundJndiName(name);
+        if (obj instanceof ConnectionFactory) {
+            JMSContextPool.register((ConnectionFactory) obj);
+        }
         return true;
     }
 
@@ -74,6 +80,13 @@ public class WildFlyBindingRegistry implements BindingRegistry {
             ROOT_LOGGER.debugf("Cannot unbind %s since no binding exists with that name", name);
             return;
         }
+        if (bindingService.getState() == ServiceController.State.UP) {
+            Object obj = ManagedReferenceFactory.class.cast(bindingService.getValue()).getReference().getInstance();
+            if (obj instanceof ConnectionFactory) {
+                // close the JMSContexts pooled for the injection of the connection factory
+                JMSContextPool.unregister((ConnectionFactory) obj);
+            }
+        }
         // remove the binding service
         final CountDownLatch latch = new CountDownLatch(1);
         bindingService.addListener(new LifecycleListener() {
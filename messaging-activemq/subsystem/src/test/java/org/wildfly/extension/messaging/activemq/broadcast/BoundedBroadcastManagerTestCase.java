@@ -0,0 +1,85 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.messaging.activemq.broadcast;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.wildfly.clustering.server.Registration;
+
+/**
+ * Unit test for {@link BoundedBroadcastManager}.
+ */
+public class BoundedBroadcastManagerTestCase {
+
+    @Test
+    public void coalesce() throws InterruptedException {
+        BroadcastManager manager = new BoundedBroadcastManager("group", 4);
+        byte[] data1 = new byte[] { 1 };
+        byte[] data2 = new byte[] { 2 };
+
+        manager.receive(data1);
+        manager.receive(data2);
+        // An identical broadcast, received from the same sender, is coalesced with the pending broadcast
+        manager.receive(new byte[] { 1 });
+
+        Assert.assertEquals(2L, manager.getQueuedBroadcasts());
+        Assert.assertEquals(1L, manager.getCoalescedBroadcasts());
+        Assert.assertSame(data1, manager.getBroadcast());
+        Assert.assertSame(data2, manager.getBroadcast());
+        Assert.assertNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+
+        // Once retrieved, an identical broadcast is queued again
+        manager.receive(new byte[] { 1 });
+
+        Assert.assertEquals(1L, manager.getQueuedBroadcasts());
+        Assert.assertEquals(1L, manager.getCoalescedBroadcasts());
+    }
+
+    @Test
+    public void dropOldest() throws InterruptedException {
+        BroadcastManager manager = new BoundedBroadcastManager("group", 2);
+
+        manager.receive(new byte[] { 1 });
+        manager.receive(new byte[] { 2 });
+        manager.receive(new byte[] { 3 });
+
+        Assert.assertEquals(2L, manager.getQueuedBroadcasts());
+        Assert.assertEquals(1L, manager.getDroppedBroadcasts());
+        Assert.assertArrayEquals(new byte[] { 2 }, manager.getBroadcast(1, TimeUnit.SECONDS));
+        Assert.assertArrayEquals(new byte[] { 3 }, manager.getBroadcast(1, TimeUnit.SECONDS));
+
+        manager.receive(new byte[] { 4 });
+        manager.clear();
+
+        Assert.assertEquals(0L, manager.getQueuedBroadcasts());
+        Assert.assertNull(manager.getBroadcast(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void statistics() {
+        BroadcastCommandDispatcherFactory factory = new ConcurrentBroadcastCommandDispatcherFactory(null);
+        BroadcastManager manager1 = new BoundedBroadcastManager("group", 1);
+        BroadcastManager manager2 = new BoundedBroadcastManager("group", 1);
+
+        try (Registration registration1 = factory.register(manager1)) {
+            try (Registration registration2 = factory.register(manager2)) {
+                factory.receive(new byte[] { 1 });
+                factory.receive(new byte[] { 1 });
+                factory.receive(new byte[] { 2 });
+
+                Assert.assertEquals(2L, factory.getQueuedBroadcasts());
+                Assert.assertEquals(2L, factory.getCoalescedBroadcasts());
+                Assert.assertEquals(2L, factory.getDroppedBroadcasts());
+            }
+            // Statistics of unregistered managers are retained
+            Assert.assertEquals(1L, factory.getQueuedBroadcasts());
+            Assert.assertEquals(2L, factory.getCoalescedBroadcasts());
+            Assert.assertEquals(2L, factory.getDroppedBroadcasts());
+        }
+    }
+}
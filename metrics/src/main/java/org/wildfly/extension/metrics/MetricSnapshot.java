@@ -0,0 +1,93 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The values of a set of metrics, read once per scrape.
+ * The values of the {@link WildFlyMetric}s are read with a composite management operation per batch of metrics,
+ * instead of a management operation per metric.
+ */
+final class MetricSnapshot {
+
+    /**
+     * The maximum number of steps of a composite operation
+     */
+    private static final int MAX_STEPS = 512;
+
+    private final Map<Metric, OptionalDouble> values = new IdentityHashMap<>();
+
+    MetricSnapshot(Collection<Metric> metrics) {
+        Map<LocalModelControllerClient, List<WildFlyMetric>> wildFlyMetrics = new IdentityHashMap<>();
+        for (Metric metric : metrics) {
+            if (metric instanceof WildFlyMetric) {
+                WildFlyMetric wildFlyMetric = (WildFlyMetric) metric;
+                wildFlyMetrics.computeIfAbsent(wildFlyMetric.getModelControllerClient(), client -> new ArrayList<>()).add(wildFlyMetric);
+            } else {
+                values.put(metric, metric.getValue());
+            }
+        }
+        for (Map.Entry<LocalModelControllerClient, List<WildFlyMetric>> entry : wildFlyMetrics.entrySet()) {
+            List<WildFlyMetric> clientMetrics = entry.getValue();
+            for (int i = 0; i < clientMetrics.size(); i += MAX_STEPS) {
+                read(entry.getKey(), clientMetrics.subList(i, Math.min(i + MAX_STEPS, clientMetrics.size())));
+            }
+        }
+    }
+
+    /**
+     * @param metric a metric of the snapshot
+     * @return the value of the metric when the snapshot was taken
+     */
+    OptionalDouble getValue(Metric metric) {
+        OptionalDouble value = values.get(metric);
+        return value != null ? value : metric.getValue();
+    }
+
+    private void read(LocalModelControllerClient modelControllerClient, List<WildFlyMetric> metrics) {
+        final ModelNode compositeOp = new ModelNode();
+        compositeOp.get(OP).set(COMPOSITE);
+        compositeOp.get(OP_ADDR).setEmptyList();
+        // the failure of a step, e.g. if a resource was removed, must not affect the other steps
+        compositeOp.get(OPERATION_HEADERS, ROLLBACK_ON_RUNTIME_FAILURE).set(false);
+        final ModelNode steps = compositeOp.get(STEPS).setEmptyList();
+        for (WildFlyMetric metric : metrics) {
+            steps.add(metric.createReadAttributeOperation());
+        }
+        final ModelNode response = modelControllerClient.execute(compositeOp);
+        // a step failing in the model stage (e.g. WFLYCTL0216 if the resource was removed) fails the whole composite operation,
+        // in spite of the rollback-on-runtime-failure header
+        final ModelNode result = SUCCESS.equals(response.get(OUTCOME).asStringOrNull()) ? response.get(RESULT) : new ModelNode();
+        for (int i = 0; i < metrics.size(); i++) {
+            final WildFlyMetric metric = metrics.get(i);
+            final ModelNode stepResponse = result.get("step-" + (i + 1));
+            // fallback to a read of the single metric if the step of the composite operation did not succeed
+            values.put(metric, isSuccess(stepResponse) ? metric.getValue(stepResponse) : metric.getValue());
+        }
+    }
+
+    private static boolean isSuccess(ModelNode response) {
+        return response.hasDefined(OUTCOME) && SUCCESS.equals(response.get(OUTCOME).asString());
+    }
+}
@@ -4,6 +4,10 @@
  */
 package org.wildfly.extension.metrics;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.OptionalDouble;
@@ -17,37 +21,62 @@ public class PrometheusExporter {
     private static final String LF = "\n";
 
     public String export(WildFlyMetricRegistry registry) {
-        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        StringWriter out = new StringWriter();
+        try {
+            export(registry, out);
+        } catch (IOException e) {
+            // not thrown by a StringWriter
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
 
-        StringBuilder out = new StringBuilder();
+    /**
+     * Writes the metrics of the registry, in the Prometheus text format.
+     * The values of the metrics are read at once, before any is written.
+     *
+     * @param registry the metric registry, read locked by the caller
+     * @param out the writer of the metrics
+     * @throws IOException if the metrics could not be written
+     */
+    public void export(WildFlyMetricRegistry registry, Writer out) throws IOException {
+        Set<String> alreadyExportedMetrics = new HashSet<String>();
+        MetricSnapshot snapshot = new MetricSnapshot(registry.getMetrics().values());
 
         for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
             MetricID metricID = entry.getKey();
             String metricName = metricID.getMetricName();
-            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
-            String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
-            OptionalDouble metricValue = entry.getValue().getValue();
+            OptionalDouble metricValue = snapshot.getValue(entry.getValue());
             // if the metric does not return a value, we skip printing the HELP and TYPE
             if (!metricValue.isPresent()) {
                 continue;
             }
-            if (!alreadyExportedMetrics.contains(metricName)) {
-                out.append("# HELP " + prometheusMetricName + " " + metadata.getDescription());
-                out.append(LF);
-                out.append("# TYPE " + prometheusMetricName + " " + metadata.getType());
-                out.append(LF);
-                alreadyExportedMetrics.add(metricName);
+            MetricMetadata metadata = registry.getMetricMetadata().get(metricName);
+            String prometheusMetricName = toPrometheusMetricName(metricID, metadata);
+            if (alreadyExportedMetrics.add(metricName)) {
+                out.write("# HELP ");
+                out.write(prometheusMetricName);
+                out.write(' ');
+                out.write(String.valueOf(metadata.getDescription()));
+                out.write(LF);
+                out.write("# TYPE ");
+                out.write(prometheusMetricName);
+                out.write(' ');
+                out.write(String.valueOf(metadata.getType()));
+                out.write(LF);
             }
             double scaledValue = scaleToBaseUnit(metricValue.getAsDouble(), metadata.getMeasurementUnit());
+            out.write(prometheusMetricName);
             // I'm pretty sure this is incorrect but that aligns with smallrye-metrics OpenMetricsExporter behaviour
             if (metadata.getType() == MetricMetadata.Type.COUNTER && metadata.getMeasurementUnit() != MeasurementUnit.NONE) {
-                prometheusMetricName += "_" + metadata.getBaseMetricUnit();
+                out.write('_');
+                out.write(metadata.getBaseMetricUnit());
             }
-            out.append(prometheusMetricName + getTagsAsAString(metricID) + " " + scaledValue);
-            out.append(LF);
+            writeTags(metricID, out);
+            out.write(' ');
+            out.write(Double.toString(scaledValue));
+            out.write(LF);
         }
-
-        return out.toString();
     }
 
     private static double scaleToBaseUnit(double value, MeasurementUnit unit) {
@@ -69,6 +98,25 @@ public class PrometheusExporter {
         return prometheusName;
     }
 
+    private static void writeTags(MetricID metricID, Writer out) throws IOException {
+        MetricTag[] tags = metricID.getTags();
+        if (tags.length == 0) {
+            return;
+        }
+        out.write('{');
+        for (int i = 0; i < tags.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            MetricTag tag = tags[i];
+            out.write(tag.getKey());
+            out.write("=\"");
+            out.write(tag.getValue());
+            out.write('"');
+        }
+        out.write('}');
+    }
+
     public static String getTagsAsAString(MetricID metricID) {
         MetricTag[] tags = metricID.getTags();
         if (tags.length == 0) {
@@ -38,9 +38,33 @@ public class WildFlyMetric implements Metric {
         this.attributeName = attributeName;
     }
 
+    LocalModelControllerClient getModelControllerClient() {
+        return modelControllerClient;
+    }
+
     @Override
     public OptionalDouble getValue() {
-        ModelNode result = readAttributeValue(address, attributeName);
+        return getValue(modelControllerClient.execute(createReadAttributeOperation()));
+    }
+
+    /**
+     * @return the operation reading the value of the metric
+     */
+    ModelNode createReadAttributeOperation() {
+        final ModelNode readAttributeOp = new ModelNode();
+        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
+        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
+        readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
+        readAttributeOp.get(NAME).set(attributeName);
+        return readAttributeOp;
+    }
+
+    /**
+     * @param response the response of the operation reading the value of the metric
+     * @return the value of the metric
+     */
+    OptionalDouble getValue(ModelNode response) {
+        ModelNode result = getResult(response);
         if (result.isDefined()) {
             try {
                 return OptionalDouble.of(result.asDouble());
@@ -51,13 +75,7 @@ public class WildFlyMetric implements Metric {
         return OptionalDouble.empty();
     }
 
-    private ModelNode readAttributeValue(PathAddress address, String attributeName) {
-        final ModelNode readAttributeOp = new ModelNode();
-        readAttributeOp.get(OP).set(READ_ATTRIBUTE_OPERATION);
-        readAttributeOp.get(OP_ADDR).set(address.toModelNode());
-        readAttributeOp.get(ModelDescriptionConstants.INCLUDE_UNDEFINED_METRIC_VALUES).set(false);
-        readAttributeOp.get(NAME).set(attributeName);
-        ModelNode response = modelControllerClient.execute(readAttributeOp);
+    private ModelNode getResult(ModelNode response) {
         String error = getFailureDescription(response);
         // TODO: Revisit this handling
         if (error != null) {
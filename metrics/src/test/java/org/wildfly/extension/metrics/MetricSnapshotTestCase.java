@@ -0,0 +1,172 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILED;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OUTCOME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import org.jboss.as.controller.LocalModelControllerClient;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link MetricSnapshot}.
+ */
+public class MetricSnapshotTestCase {
+
+    private final LocalModelControllerClient client = mock(LocalModelControllerClient.class);
+    // the responses of the read-attribute operations, per resource address
+    private final Map<PathAddress, ModelNode> responses = new HashMap<>();
+    // whether the composite operation fails as a whole, as it does if a step fails in the model stage
+    private boolean compositeFailure = false;
+
+    @Before
+    public void init() {
+        when(this.client.execute(any(ModelNode.class))).thenAnswer(invocation -> this.execute(invocation.getArgument(0)));
+    }
+
+    private ModelNode execute(ModelNode operation) {
+        if (!COMPOSITE.equals(operation.get(OP).asString())) {
+            return this.responses.get(PathAddress.pathAddress(operation.get(OP_ADDR)));
+        }
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(this.compositeFailure ? FAILED : SUCCESS);
+        List<ModelNode> steps = operation.get(STEPS).asList();
+        for (int i = 0; i < steps.size(); i++) {
+            ModelNode stepResponse = this.responses.get(PathAddress.pathAddress(steps.get(i).get(OP_ADDR))).clone();
+            if (this.compositeFailure && stepResponse.get(OUTCOME).asString().equals(SUCCESS)) {
+                // steps that succeeded are rolled back
+                stepResponse.remove(RESULT);
+                stepResponse.get(OUTCOME).set(FAILED);
+            }
+            response.get(RESULT, "step-" + (i + 1)).set(stepResponse);
+        }
+        return response;
+    }
+
+    private WildFlyMetric createMetric(String name, double value) {
+        PathAddress address = PathAddress.pathAddress("subsystem", "test").append("resource", name);
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(SUCCESS);
+        response.get(RESULT).set(value);
+        this.responses.put(address, response);
+        return new WildFlyMetric(this.client, address, "metric");
+    }
+
+    private WildFlyMetric createFailingMetric(String name, String failure) {
+        PathAddress address = PathAddress.pathAddress("subsystem", "test").append("resource", name);
+        ModelNode response = new ModelNode();
+        response.get(OUTCOME).set(FAILED);
+        response.get(FAILURE_DESCRIPTION).set(failure);
+        this.responses.put(address, response);
+        return new WildFlyMetric(this.client, address, "metric");
+    }
+
+    private static ModelNode isComposite() {
+        return argThat(operation -> COMPOSITE.equals(operation.get(OP).asString()));
+    }
+
+    private static ModelNode isReadAttribute() {
+        return argThat(operation -> !COMPOSITE.equals(operation.get(OP).asString()));
+    }
+
+    @Test
+    public void compositeRead() {
+        WildFlyMetric metric1 = this.createMetric("1", 1);
+        WildFlyMetric metric2 = this.createMetric("2", 2);
+
+        MetricSnapshot snapshot = new MetricSnapshot(Arrays.asList(metric1, metric2));
+
+        assertEquals(OptionalDouble.of(1), snapshot.getValue(metric1));
+        assertEquals(OptionalDouble.of(2), snapshot.getValue(metric2));
+        verify(this.client, times(1)).execute(isComposite());
+        verify(this.client, times(0)).execute(isReadAttribute());
+    }
+
+    @Test
+    public void batchedRead() {
+        List<Metric> metrics = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            metrics.add(this.createMetric(String.valueOf(i), i));
+        }
+
+        MetricSnapshot snapshot = new MetricSnapshot(metrics);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(OptionalDouble.of(i), snapshot.getValue(metrics.get(i)));
+        }
+        // 512 steps per composite operation
+        verify(this.client, times(2)).execute(isComposite());
+        verify(this.client, times(0)).execute(isReadAttribute());
+    }
+
+    @Test
+    public void failedStep() {
+        WildFlyMetric metric1 = this.createMetric("1", 1);
+        WildFlyMetric metric2 = this.createFailingMetric("2", "WFLYCTL0132: runtime failure");
+        WildFlyMetric metric3 = this.createMetric("3", 3);
+
+        MetricSnapshot snapshot = new MetricSnapshot(Arrays.asList(metric1, metric2, metric3));
+
+        assertEquals(OptionalDouble.of(1), snapshot.getValue(metric1));
+        assertFalse(snapshot.getValue(metric2).isPresent());
+        assertEquals(OptionalDouble.of(3), snapshot.getValue(metric3));
+        verify(this.client, times(1)).execute(isComposite());
+        // only the failed step is read again
+        verify(this.client, times(1)).execute(isReadAttribute());
+    }
+
+    @Test
+    public void failedComposite() {
+        this.compositeFailure = true;
+        WildFlyMetric metric1 = this.createMetric("1", 1);
+        WildFlyMetric metric2 = this.createFailingMetric("2", "WFLYCTL0216: Management resource not found");
+        WildFlyMetric metric3 = this.createMetric("3", 3);
+
+        MetricSnapshot snapshot = new MetricSnapshot(Arrays.asList(metric1, metric2, metric3));
+
+        // the failure of a step in the model stage must not affect the other metrics
+        assertEquals(OptionalDouble.of(1), snapshot.getValue(metric1));
+        assertFalse(snapshot.getValue(metric2).isPresent());
+        assertEquals(OptionalDouble.of(3), snapshot.getValue(metric3));
+        verify(this.client, times(1)).execute(isComposite());
+        verify(this.client, times(3)).execute(isReadAttribute());
+    }
+
+    @Test
+    public void otherMetric() {
+        Metric metric = () -> OptionalDouble.of(42);
+
+        MetricSnapshot snapshot = new MetricSnapshot(Arrays.asList(metric));
+
+        assertEquals(OptionalDouble.of(42), snapshot.getValue(metric));
+        verify(this.client, times(0)).execute(any(ModelNode.class));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link PrometheusExporter}.
+ */
+public class PrometheusExporterTestCase {
+
+    private static final PathAddress SUBSYSTEM_ADDRESS = PathAddress.pathAddress("subsystem", "undertow");
+
+    @Test
+    public void export() throws IOException {
+        WildFlyMetricRegistry registry = new WildFlyMetricRegistry();
+        CountingMetric requestCountA = new CountingMetric(OptionalDouble.of(1));
+        CountingMetric requestCountB = new CountingMetric(OptionalDouble.of(2));
+        CountingMetric processingTime = new CountingMetric(OptionalDouble.of(1500));
+        CountingMetric undefined = new CountingMetric(OptionalDouble.empty());
+        registry.registerMetric(requestCountA, new WildFlyMetricMetadata("requestCount", SUBSYSTEM_ADDRESS.append("server", "a"), null, "Number of requests", MeasurementUnit.NONE, MetricMetadata.Type.COUNTER));
+        registry.registerMetric(requestCountB, new WildFlyMetricMetadata("requestCount", SUBSYSTEM_ADDRESS.append("server", "b"), null, "Number of requests", MeasurementUnit.NONE, MetricMetadata.Type.COUNTER));
+        registry.registerMetric(processingTime, new WildFlyMetricMetadata("processingTime", SUBSYSTEM_ADDRESS, null, "Processing time", MeasurementUnit.MILLISECONDS, MetricMetadata.Type.GAUGE));
+        registry.registerMetric(undefined, new WildFlyMetricMetadata("undefined", SUBSYSTEM_ADDRESS, null, "Undefined", MeasurementUnit.NONE, MetricMetadata.Type.GAUGE));
+
+        PrometheusExporter exporter = new PrometheusExporter();
+        StringWriter out = new StringWriter();
+        registry.readLock();
+        try {
+            exporter.export(registry, out);
+        } finally {
+            registry.unlock();
+        }
+
+        String expected = "# HELP undertow_processing_time_seconds Processing time\n"
+                + "# TYPE undertow_processing_time_seconds gauge\n"
+                + "undertow_processing_time_seconds 1.5\n"
+                + "# HELP undertow_request_count_total Number of requests\n"
+                + "# TYPE undertow_request_count_total counter\n"
+                + "undertow_request_count_total{server=\"a\"} 1.0\n"
+                + "undertow_request_count_total{server=\"b\"} 2.0\n";
+        assertEquals(expected, out.toString());
+
+        // the value of each metric is read once per export
+        for (CountingMetric metric : new CountingMetric[] { requestCountA, requestCountB, processingTime, undefined }) {
+            assertEquals(1, metric.count.get());
+        }
+
+        // the exported string is the same as the streamed output
+        registry.readLock();
+        try {
+            assertEquals(expected, exporter.export(registry));
+        } finally {
+            registry.unlock();
+        }
+    }
+
+    @Test
+    public void exportEmptyRegistry() throws IOException {
+        StringWriter out = new StringWriter();
+        new PrometheusExporter().export(new WildFlyMetricRegistry(), out);
+        assertEquals("", out.toString());
+    }
+
+    private static class CountingMetric implements Metric {
+        final AtomicInteger count = new AtomicInteger();
+        private final OptionalDouble value;
+
+        CountingMetric(OptionalDouble value) {
+            this.value = value;
+        }
+
+        @Override
+        public OptionalDouble getValue() {
+            this.count.incrementAndGet();
+            return this.value;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.naming;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup statistics of the {@link ServiceBasedNamingStore} instances of the server.
+ */
+public final class NamingStatistics {
+
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder CACHED_LOOKUPS = new LongAdder();
+    private static final LongAdder LOOKUP_TIME = new LongAdder();
+
+    private NamingStatistics() {
+    }
+
+    static void recordLookup(final long nanos, final boolean cached) {
+        LOOKUPS.increment();
+        if (cached) {
+            CACHED_LOOKUPS.increment();
+        }
+        LOOKUP_TIME.add(nanos);
+    }
+
+    /**
+     * @return the number of lookups
+     */
+    public static long getLookupCount() {
+        return LOOKUPS.sum();
+    }
+
+    /**
+     * @return the number of lookups resolved by the lookup cache of a naming store
+     */
+    public static long getCachedLookupCount() {
+        return CACHED_LOOKUPS.sum();
+    }
+
+    /**
+     * @return the total duration of the lookups, in nanoseconds
+     */
+    public static long getLookupTime() {
+        return LOOKUP_TIME.sum();
+    }
+}
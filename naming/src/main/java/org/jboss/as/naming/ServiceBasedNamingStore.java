@@ -11,9 +11,12 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.naming.Binding;
 import javax.naming.CannotProceedException;
@@ -48,6 +51,11 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     private ConcurrentSkipListSet<ServiceName> boundServices = new ConcurrentSkipListSet<ServiceName>();
 
+    // Services resolved by previous lookups, keyed by the name looked up
+    private final Map<String, CachedBinding> lookupCache = new ConcurrentHashMap<String, CachedBinding>();
+    // Incremented on each bind and unbind, which invalidates the cached bindings
+    private final AtomicLong generation = new AtomicLong();
+
     public ServiceBasedNamingStore(final ServiceRegistry serviceRegistry, final ServiceName serviceNameBase) {
         this.serviceRegistry = serviceRegistry;
         this.serviceNameBase = serviceNameBase;
@@ -62,8 +70,33 @@ public class ServiceBasedNamingStore implements NamingStore {
         if (name.isEmpty()) {
             return new NamingContext(EMPTY_NAME, this, null);
         }
+        final long start = System.nanoTime();
+        boolean cached = false;
+        try {
+            final String key = name.toString();
+            final CachedBinding binding = lookupCache.get(key);
+            if (binding != null) {
+                if (binding.generation == generation.get() && binding.controller.getState() != ServiceController.State.REMOVED) {
+                    final Object obj = lookup(key, binding.controller, dereference);
+                    if (obj != null) {
+                        cached = true;
+                        return obj;
+                    }
+                }
+                lookupCache.remove(key, binding);
+            }
+            return lookup(name, key, dereference);
+        } finally {
+            NamingStatistics.recordLookup(System.nanoTime() - start, cached);
+        }
+    }
+
+    private Object lookup(final Name name, final String key, boolean dereference) throws NamingException {
+        // read before resolving, so that a concurrent bind or unbind invalidates the resolved binding
+        final long generation = this.generation.get();
         final ServiceName lookupName = buildServiceName(name);
-        Object obj = lookup(name.toString(), lookupName, dereference);
+        final ServiceController<?> controller = serviceRegistry.getService(lookupName);
+        Object obj = lookup(key, controller, dereference);
         if (obj == null) {
             final ServiceName lower = boundServices.lower(lookupName);
             if (lower != null && lower.isParentOf(lookupName)) {
@@ -89,6 +122,9 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw new NameNotFoundException(name.toString() + " -- " + lookupName);
         }
 
+        if (boundServices.contains(lookupName)) {
+            lookupCache.put(key, new CachedBinding(controller, generation));
+        }
         return obj;
     }
 
@@ -107,8 +143,11 @@ public class ServiceBasedNamingStore implements NamingStore {
     }
 
     private Object lookup(final String name, final ServiceName lookupName, boolean dereference) throws NamingException {
+        return lookup(name, serviceRegistry.getService(lookupName), dereference);
+    }
+
+    private Object lookup(final String name, final ServiceController<?> controller, boolean dereference) throws NamingException {
         try {
-            final ServiceController<?> controller = serviceRegistry.getService(lookupName);
             if (controller != null) {
                 final Object object = controller.getValue();
                 if (dereference && object instanceof ManagedReferenceFactory) {
@@ -240,6 +279,7 @@ public class ServiceBasedNamingStore implements NamingStore {
 
     public void close() throws NamingException {
         boundServices.clear();
+        invalidateLookupCache();
     }
 
     public void addNamingListener(Name target, int scope, NamingListener listener) {
@@ -254,10 +294,17 @@ public class ServiceBasedNamingStore implements NamingStore {
             throw NamingLogger.ROOT_LOGGER.serviceAlreadyBound(serviceName);
         }
         boundServices.add(serviceName);
+        invalidateLookupCache();
     }
 
     public void remove(final ServiceName serviceName) {
         boundServices.remove(serviceName);
+        invalidateLookupCache();
+    }
+
+    private void invalidateLookupCache() {
+        generation.incrementAndGet();
+        lookupCache.clear();
     }
 
     protected ServiceName buildServiceName(final Name name) {
@@ -350,4 +397,14 @@ public class ServiceBasedNamingStore implements NamingStore {
         }
         return new CompositeName();
     }
+
+    private static final class CachedBinding {
+        private final ServiceController<?> controller;
+        private final long generation;
+
+        private CachedBinding(final ServiceController<?> controller, final long generation) {
+            this.controller = controller;
+            this.generation = generation;
+        }
+    }
 }
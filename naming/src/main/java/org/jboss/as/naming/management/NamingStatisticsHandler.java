@@ -0,0 +1,34 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.naming.management;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.naming.NamingStatistics;
+import org.jboss.as.naming.subsystem.NamingSubsystemModel;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Reads the lookup metrics of the naming subsystem.
+ */
+public class NamingStatisticsHandler extends AbstractRuntimeOnlyHandler {
+    public static final NamingStatisticsHandler INSTANCE = new NamingStatisticsHandler();
+
+    @Override
+    protected void executeRuntimeStep(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+        final String metric = operation.require(NAME).asString();
+        if (NamingSubsystemModel.LOOKUP_COUNT.equals(metric)) {
+            context.getResult().set(NamingStatistics.getLookupCount());
+        } else if (NamingSubsystemModel.CACHED_LOOKUP_COUNT.equals(metric)) {
+            context.getResult().set(NamingStatistics.getCachedLookupCount());
+        } else if (NamingSubsystemModel.LOOKUP_TIME.equals(metric)) {
+            context.getResult().set(NamingStatistics.getLookupTime());
+        }
+    }
+}
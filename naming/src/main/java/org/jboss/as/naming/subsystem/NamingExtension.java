@@ -7,6 +7,7 @@ package org.jboss.as.naming.subsystem;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.Extension;
 import org.jboss.as.controller.ExtensionContext;
 import org.jboss.as.controller.ModelVersion;
@@ -23,6 +24,7 @@ import org.jboss.as.controller.operations.common.GenericSubsystemDescribeHandler
 import org.jboss.as.controller.parsing.ExtensionParsingContext;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.naming.management.JndiViewOperation;
+import org.jboss.as.naming.management.NamingStatisticsHandler;
 
 /**
  * Domain extension used to initialize the naming subsystem element handlers.
@@ -75,6 +77,9 @@ public class NamingExtension implements Extension {
 
         if (context.isRuntimeOnlyRegistrationValid()) {
             registration.registerOperationHandler(NamingSubsystemRootResourceDefinition.JNDI_VIEW, JndiViewOperation.INSTANCE, false);
+            for (AttributeDefinition metric : NamingSubsystemRootResourceDefinition.METRICS) {
+                registration.registerMetric(metric, NamingStatisticsHandler.INSTANCE);
+            }
         }
 
         subsystem.registerXMLElementWriter(NamingSubsystemXMLPersister.INSTANCE);
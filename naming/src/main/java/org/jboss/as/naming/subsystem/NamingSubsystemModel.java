@@ -21,6 +21,9 @@ public interface NamingSubsystemModel {
     String EXTERNAL_CONTEXT = "external-context";
 
     String LOOKUP = "lookup";
+    String LOOKUP_COUNT = "lookup-count";
+    String CACHED_LOOKUP_COUNT = "cached-lookup-count";
+    String LOOKUP_TIME = "lookup-time";
 
     String OBJECT_FACTORY = "object-factory";
     String ENVIRONMENT = "environment";
@@ -14,12 +14,16 @@ import javax.naming.CompositeName;
 import javax.naming.Context;
 import javax.naming.Name;
 import javax.naming.NameClassPair;
+import javax.naming.NameNotFoundException;
 import javax.naming.NameParser;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 
+import org.jboss.msc.service.LifecycleEvent;
+import org.jboss.msc.service.LifecycleListener;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
@@ -80,6 +84,31 @@ public class ServiceBasedNamingStoreTestCase {
         assertEquals(value, obj);
     }
 
+    @Test
+    public void testLookupCachedBinding() throws Exception {
+        final ServiceName bindingName = ServiceName.JBOSS.append("foo", "cached");
+        final Object value = new Object();
+        final ServiceController<?> controller = bindObject(bindingName, value);
+
+        final long cachedLookups = NamingStatistics.getCachedLookupCount();
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(value, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(cachedLookups + 1, NamingStatistics.getCachedLookupCount());
+
+        // Unbinding invalidates the cached binding
+        unbindObject(bindingName, controller);
+        try {
+            store.lookup(new CompositeName("foo/cached"));
+            fail("Should have thrown name not found");
+        } catch (NameNotFoundException expected) {
+        }
+
+        final Object newValue = new Object();
+        bindObject(bindingName, newValue);
+        assertEquals(newValue, store.lookup(new CompositeName("foo/cached")));
+        assertEquals(newValue, store.lookup(new CompositeName("foo/cached")));
+    }
+
     @Test
     public void testLookupParentContext() throws Exception {
         final ServiceName bindingName = ServiceName.JBOSS.append("foo", "bar");
@@ -380,9 +409,9 @@ public class ServiceBasedNamingStoreTestCase {
         fail("Child [" + name + "] not found in [" + list + "]");
     }
 
-    private void bindObject(final ServiceName serviceName, final Object value) throws Exception {
+    private ServiceController<?> bindObject(final ServiceName serviceName, final Object value) throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
-        container.addService(serviceName, new Service<ManagedReferenceFactory>() {
+        final ServiceController<?> controller = container.addService(serviceName, new Service<ManagedReferenceFactory>() {
             public void start(StartContext context) throws StartException {
                 store.add(serviceName);
                 latch.countDown();
@@ -396,5 +425,20 @@ public class ServiceBasedNamingStoreTestCase {
             }
         }).install();
         latch.await();
+        return controller;
+    }
+
+    private void unbindObject(final ServiceName serviceName, final ServiceController<?> controller) throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        controller.addListener(new LifecycleListener() {
+            public void handleEvent(ServiceController<?> controller, LifecycleEvent event) {
+                if (event == LifecycleEvent.REMOVED) {
+                    latch.countDown();
+                }
+            }
+        });
+        store.remove(serviceName);
+        controller.setMode(ServiceController.Mode.REMOVE);
+        latch.await();
     }
 }
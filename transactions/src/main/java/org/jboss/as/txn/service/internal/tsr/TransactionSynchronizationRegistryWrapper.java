@@ -51,7 +51,9 @@ public class TransactionSynchronizationRegistryWrapper implements TransactionSyn
             JCAOrderedLastSynchronizationList jcaOrderedLastSynchronization = (JCAOrderedLastSynchronizationList) tx.getResource(key);
             if (jcaOrderedLastSynchronization == null) {
                 final ContextTransactionSynchronizationRegistry tsr = ContextTransactionSynchronizationRegistry.getInstance();
-                synchronized (key) {
+                // The list is created once per transaction, so only concurrent registrations within the same transaction
+                // need to be serialized, registrations of distinct transactions must not contend on a shared monitor
+                synchronized (tx) {
                     jcaOrderedLastSynchronization = (JCAOrderedLastSynchronizationList) tx.getResource(key);
                     if (jcaOrderedLastSynchronization == null) {
                         jcaOrderedLastSynchronization = new JCAOrderedLastSynchronizationList();
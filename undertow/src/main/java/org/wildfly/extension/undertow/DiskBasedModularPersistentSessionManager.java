@@ -71,6 +71,9 @@ public class DiskBasedModularPersistentSessionManager extends AbstractPersistent
         }
     }
 
+    File getBaseDir() {
+        return baseDir;
+    }
 
     @Override
     protected void persistSerializedSessions(String deploymentName, Map<String, SessionEntry> serializedData) throws IOException {
@@ -0,0 +1,299 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.wildfly.extension.undertow;
+
+import io.undertow.servlet.UndertowServletLogger;
+import io.undertow.servlet.api.SessionPersistenceManager;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+import org.jboss.modules.ModuleLoader;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Persistent session manager that stores the sessions of each deployment to disk as individual records of a single file.
+ * On restore, the file is memory mapped and only its index is read, the attributes of each session being unmarshalled
+ * once the session is first accessed. Sessions that were not accessed since they were restored are carried over as is on the
+ * next persist, without being unmarshalled and marshalled again.
+ * A session whose attributes cannot be unmarshalled is discarded, rather than restored without its attributes.
+ * <p>
+ * The file consists of a header, followed by one record per session:
+ * <pre>
+ * [id][expiration][length][attribute count]([name][value length][value])*
+ * </pre>
+ */
+public class MappedPersistentSessionManager extends DiskBasedModularPersistentSessionManager {
+
+    private static final String SUFFIX = ".sessions";
+    private static final int MAGIC = 0x57464C59;
+    private static final byte VERSION = 1;
+
+    /**
+     * The sessions restored for each deployment, which are carried over on the next persist unless accessed
+     */
+    private final Map<String, ConcurrentMap<String, MappedSessionData>> restoredSessions = new ConcurrentHashMap<>();
+
+    MappedPersistentSessionManager(final Consumer<SessionPersistenceManager> serviceConsumer,
+                                   final Supplier<ModuleLoader> moduleLoader,
+                                   final Supplier<PathManager> pathManager,
+                                   final String path, final String pathRelativeTo) {
+        super(serviceConsumer, moduleLoader, pathManager, path, pathRelativeTo);
+    }
+
+    @Override
+    public void persistSessions(String deploymentName, Map<String, PersistentSession> sessionData) {
+        final Map<String, MappedSessionData> restored = restoredSessions.remove(deploymentName);
+        final File file = new File(getBaseDir(), deploymentName + SUFFIX);
+        final File tmp = new File(getBaseDir(), deploymentName + SUFFIX + ".tmp");
+        try {
+            final long time = System.currentTimeMillis();
+            final Marshaller marshaller = createMarshaller();
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp, false)))) {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                for (Map.Entry<String, PersistentSession> sessionEntry : sessionData.entrySet()) {
+                    final Map<String, Object> data = sessionEntry.getValue().getSessionData();
+                    final long expiry = sessionEntry.getValue().getExpiration().getTime();
+                    if (data instanceof MappedSessionData && !((MappedSessionData) data).isRestored()) {
+                        writeRecord(output, sessionEntry.getKey(), expiry, ((MappedSessionData) data).payload.duplicate());
+                    } else {
+                        writeRecord(output, sessionEntry.getKey(), expiry, marshal(marshaller, sessionEntry.getKey(), data));
+                    }
+                }
+                if (restored != null) {
+                    for (Map.Entry<String, MappedSessionData> sessionEntry : restored.entrySet()) {
+                        final MappedSessionData data = sessionEntry.getValue();
+                        if (!data.isRestored() && data.expiry > time && !sessionData.containsKey(sessionEntry.getKey())) {
+                            writeRecord(output, sessionEntry.getKey(), data.expiry, data.payload.duplicate());
+                        }
+                    }
+                }
+            } finally {
+                marshaller.close();
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The sessions persisted by the disk based session manager are superseded
+            Files.deleteIfExists(new File(getBaseDir(), deploymentName).toPath());
+        } catch (Exception e) {
+            tmp.delete();
+            UndertowServletLogger.ROOT_LOGGER.failedToPersistSessions(e);
+        }
+    }
+
+    @Override
+    public Map<String, PersistentSession> loadSessionAttributes(String deploymentName, final ClassLoader classLoader) {
+        final File file = new File(getBaseDir(), deploymentName + SUFFIX);
+        if (!file.exists()) {
+            // Restore any sessions persisted by the disk based session manager
+            return super.loadSessionAttributes(deploymentName, classLoader);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file.getPath());
+            }
+            // The mapping remains valid once the channel is closed
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException(file.getPath());
+            }
+            final long time = System.currentTimeMillis();
+            final Map<String, PersistentSession> ret = new HashMap<>();
+            final ConcurrentMap<String, MappedSessionData> restored = new ConcurrentHashMap<>();
+            try {
+                while (buffer.hasRemaining()) {
+                    final String id = readString(buffer);
+                    final long expiry = buffer.getLong();
+                    final int length = buffer.getInt();
+                    final ByteBuffer payload = buffer.slice();
+                    payload.limit(length);
+                    buffer.position(buffer.position() + length);
+                    if (expiry > time) {
+                        final MappedSessionData data = new MappedSessionData(id, expiry, payload, restored);
+                        restored.put(id, data);
+                        ret.put(id, new MappedPersistentSession(data));
+                    }
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+                // Keep the sessions of the intact records preceding a truncated or corrupt record
+                UndertowLogger.ROOT_LOGGER.corruptPersistentSessions(file.getPath(), ret.size(), e);
+            }
+            restoredSessions.put(deploymentName, restored);
+            return ret;
+        } catch (Exception e) {
+            UndertowServletLogger.ROOT_LOGGER.failedtoLoadPersistentSessions(e);
+        }
+        return null;
+    }
+
+    @Override
+    public void clear(String deploymentName) {
+        restoredSessions.remove(deploymentName);
+    }
+
+    private static ByteBuffer marshal(Marshaller marshaller, String sessionId, Map<String, Object> data) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        final Map<String, byte[]> attributes = new HashMap<>();
+        for (Map.Entry<String, Object> sessionAttribute : data.entrySet()) {
+            try {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                marshaller.start(new OutputStreamByteOutput(out));
+                marshaller.writeObject(sessionAttribute.getValue());
+                marshaller.finish();
+                attributes.put(sessionAttribute.getKey(), out.toByteArray());
+            } catch (Exception e) {
+                UndertowLogger.ROOT_LOGGER.failedToPersistSessionAttribute(sessionAttribute.getKey(), sessionAttribute.getValue(), sessionId, e);
+            }
+        }
+        output.writeInt(attributes.size());
+        for (Map.Entry<String, byte[]> attribute : attributes.entrySet()) {
+            writeString(output, attribute.getKey());
+            output.writeInt(attribute.getValue().length);
+            output.write(attribute.getValue());
+        }
+        output.flush();
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static void writeRecord(DataOutputStream output, String sessionId, long expiry, ByteBuffer payload) throws IOException {
+        writeString(output, sessionId);
+        output.writeLong(expiry);
+        output.writeInt(payload.remaining());
+        if (payload.hasArray()) {
+            output.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+        } else {
+            final byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            output.write(bytes);
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A persisted session, whose attributes are unmarshalled once Undertow restores the session, i.e. once it checks its expiration.
+     * A session whose attributes cannot be unmarshalled is reported as expired, so that it is not restored.
+     */
+    private static class MappedPersistentSession extends PersistentSession {
+        private static final Date EXPIRED = new Date(0);
+        private final MappedSessionData data;
+
+        MappedPersistentSession(MappedSessionData data) {
+            super(new Date(data.expiry), data);
+            this.data = data;
+        }
+
+        @Override
+        public Date getExpiration() {
+            return this.data.restore() ? super.getExpiration() : EXPIRED;
+        }
+    }
+
+    /**
+     * The attributes of a persisted session, unmarshalled from the mapped file on first access.
+     */
+    private class MappedSessionData extends AbstractMap<String, Object> {
+        private final String id;
+        private final long expiry;
+        private final ByteBuffer payload;
+        private final ConcurrentMap<String, MappedSessionData> sessions;
+        private volatile Map<String, Object> data;
+        private volatile boolean failed;
+
+        MappedSessionData(String id, long expiry, ByteBuffer payload, ConcurrentMap<String, MappedSessionData> sessions) {
+            this.id = id;
+            this.expiry = expiry;
+            this.payload = payload;
+            this.sessions = sessions;
+        }
+
+        boolean isRestored() {
+            return data != null;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            restore();
+            return data.entrySet();
+        }
+
+        /**
+         * Unmarshals the attributes of this session, if not already done.
+         * @return true, if the attributes of this session were restored, false if they could not be unmarshalled
+         */
+        boolean restore() {
+            if (this.data == null) {
+                synchronized (this) {
+                    if (this.data == null) {
+                        Map<String, Object> data = new HashMap<>();
+                        try {
+                            final Unmarshaller unmarshaller = createUnmarshaller();
+                            try {
+                                final ByteBuffer buffer = payload.duplicate();
+                                final int count = buffer.getInt();
+                                for (int i = 0; i < count; ++i) {
+                                    final String name = readString(buffer);
+                                    final int length = buffer.getInt();
+                                    final ByteBuffer value = buffer.slice();
+                                    value.limit(length);
+                                    buffer.position(buffer.position() + length);
+                                    unmarshaller.start(new ByteBufferInput(value));
+                                    data.put(name, unmarshaller.readObject());
+                                    unmarshaller.finish();
+                                }
+                            } finally {
+                                unmarshaller.close();
+                            }
+                        } catch (Exception e) {
+                            UndertowLogger.ROOT_LOGGER.failedToRestorePersistentSession(id, e);
+                            // Discard the session, which is also no longer carried over on the next persist
+                            sessions.remove(id, this);
+                            data = Collections.emptyMap();
+                            this.failed = true;
+                        }
+                        this.data = data;
+                    }
+                }
+            }
+            return !this.failed;
+        }
+    }
+}
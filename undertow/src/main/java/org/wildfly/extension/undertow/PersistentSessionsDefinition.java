@@ -21,6 +21,7 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.server.Services;
+import org.jboss.as.version.Stability;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.modules.ModuleLoader;
@@ -52,7 +53,15 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     .setAllowExpression(true)
                     .build();
 
-    static final Collection<AttributeDefinition> ATTRIBUTES = List.of(PATH, RELATIVE_TO);
+    protected static final SimpleAttributeDefinition MEMORY_MAPPED =
+            new SimpleAttributeDefinitionBuilder(Constants.MEMORY_MAPPED, ModelType.BOOLEAN, true)
+                    .setRestartAllServices()
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .setStability(Stability.PREVIEW)
+                    .build();
+
+    static final Collection<AttributeDefinition> ATTRIBUTES = List.of(PATH, RELATIVE_TO, MEMORY_MAPPED);
 
     PersistentSessionsDefinition() {
         super(new SimpleResourceDefinition.Parameters(PATH_ELEMENT, UndertowExtension.getResolver(PATH_ELEMENT.getKeyValuePair()))
@@ -106,7 +115,11 @@ class PersistentSessionsDefinition extends PersistentResourceDefinition {
                     final ModelNode relativeToValue = RELATIVE_TO.resolveModelAttribute(context, model);
                     final String relativeTo = relativeToValue.isDefined() ? relativeToValue.asString() : null;
                     final Supplier<PathManager> pmSupplier = sb.requires(PathManager.SERVICE_DESCRIPTOR);
-                    sb.setInstance(new DiskBasedModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    if (MEMORY_MAPPED.resolveModelAttribute(context, model).asBoolean()) {
+                        sb.setInstance(new MappedPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    } else {
+                        sb.setInstance(new DiskBasedModularPersistentSessionManager(sConsumer, mlSupplier, pmSupplier, path, relativeTo));
+                    }
                 } else {
                     sb.setInstance(new InMemoryModularPersistentSessionManager(sConsumer, mlSupplier));
                 }
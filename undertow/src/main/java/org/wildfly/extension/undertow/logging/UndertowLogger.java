@@ -429,4 +429,12 @@ public interface UndertowLogger extends BasicLogger {
     @Message(id = 111, value = "The annotation: '%s' will have no effect on Servlet: '%s'")
     void badAnnotationOnServlet(String annotation, String servlet);
 
+    @LogMessage(level = WARN)
+    @Message(id = 112, value = "Failed to restore the attributes of persistent session %s, the session is discarded")
+    void failedToRestorePersistentSession(String sessionID, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 113, value = "Persistent sessions file %s is truncated or corrupt, only the %d sessions preceding the damaged record are restored")
+    void corruptPersistentSessions(String path, int sessions, @Cause Throwable cause);
+
 }
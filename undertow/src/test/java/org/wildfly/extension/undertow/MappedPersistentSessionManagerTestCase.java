@@ -0,0 +1,202 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.servlet.api.SessionPersistenceManager.PersistentSession;
+import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.modules.ModuleLoader;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link MappedPersistentSessionManager}.
+ */
+public class MappedPersistentSessionManagerTestCase {
+
+    private static final String DEPLOYMENT = "test.war";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MappedPersistentSessionManager manager;
+
+    @Before
+    public void init() throws Exception {
+        this.manager = this.createManager();
+    }
+
+    private MappedPersistentSessionManager createManager() throws Exception {
+        PathManager pathManager = mock(PathManager.class);
+        when(pathManager.resolveRelativePathEntry(any(), isNull())).thenReturn(this.folder.getRoot().getPath());
+        ModuleLoader moduleLoader = mock(ModuleLoader.class);
+        MappedPersistentSessionManager manager = new MappedPersistentSessionManager(value -> { }, () -> moduleLoader, () -> pathManager, "sessions", null);
+        manager.start(null);
+        return manager;
+    }
+
+    private static long inOneHour() {
+        return System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+    }
+
+    private static Map<String, Object> attributes(String value) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("string", value);
+        attributes.put("integer", 42);
+        attributes.put("custom", new Custom(value, 1));
+        return attributes;
+    }
+
+    @Test
+    public void persistRestore() throws Exception {
+        long expiry = inOneHour();
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        sessions.put("session1", new PersistentSession(new Date(expiry), attributes("value1")));
+        sessions.put("session2", new PersistentSession(new Date(expiry + 1), attributes("value2")));
+        sessions.put("expired", new PersistentSession(new Date(System.currentTimeMillis() - 1), attributes("expired")));
+        this.manager.persistSessions(DEPLOYMENT, sessions);
+
+        // Restore from a new manager, as on server restart
+        Map<String, PersistentSession> restored = this.createManager().loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        Assert.assertNotNull(restored);
+        Assert.assertEquals(2, restored.size());
+        Assert.assertFalse(restored.containsKey("expired"));
+        Assert.assertEquals(new Date(expiry), restored.get("session1").getExpiration());
+        Assert.assertEquals(attributes("value1"), restored.get("session1").getSessionData());
+        Assert.assertEquals(new Date(expiry + 1), restored.get("session2").getExpiration());
+        Assert.assertEquals(attributes("value2"), restored.get("session2").getSessionData());
+    }
+
+    @Test
+    public void carryOver() throws Exception {
+        long expiry = inOneHour();
+        Map<String, PersistentSession> sessions = new HashMap<>();
+        sessions.put("accessed", new PersistentSession(new Date(expiry), attributes("accessed")));
+        sessions.put("idle", new PersistentSession(new Date(expiry), attributes("idle")));
+        this.manager.persistSessions(DEPLOYMENT, sessions);
+
+        MappedPersistentSessionManager manager = this.createManager();
+        Map<String, PersistentSession> restored = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        Assert.assertEquals(attributes("accessed"), restored.get("accessed").getSessionData());
+
+        // Only the accessed session is handed back by Undertow, the idle session is carried over without being unmarshalled
+        Map<String, Object> updated = attributes("updated");
+        manager.persistSessions(DEPLOYMENT, Map.of("accessed", new PersistentSession(new Date(expiry), updated)));
+
+        restored = this.createManager().loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        Assert.assertEquals(2, restored.size());
+        Assert.assertEquals(updated, restored.get("accessed").getSessionData());
+        Assert.assertEquals(attributes("idle"), restored.get("idle").getSessionData());
+    }
+
+    @Test
+    public void truncatedFile() throws Exception {
+        long expiry = inOneHour();
+        this.manager.persistSessions(DEPLOYMENT, Map.of("session", new PersistentSession(new Date(expiry), attributes("value"))));
+        File file = this.file();
+        long length = file.length();
+        // Persist a second session after the first one
+        MappedPersistentSessionManager manager = this.createManager();
+        Assert.assertEquals(1, manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader()).size());
+        manager.persistSessions(DEPLOYMENT, Map.of("other", new PersistentSession(new Date(expiry), attributes("other"))));
+        Assert.assertTrue(file.length() > length);
+
+        // Truncate the second record
+        try (RandomAccessFile output = new RandomAccessFile(file, "rw")) {
+            output.setLength(file.length() - 10);
+        }
+
+        Map<String, PersistentSession> restored = this.createManager().loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        Assert.assertNotNull(restored);
+        // The intact record is restored
+        Assert.assertEquals(1, restored.size());
+        PersistentSession session = restored.values().iterator().next();
+        Assert.assertEquals(new Date(expiry), session.getExpiration());
+        Assert.assertFalse(session.getSessionData().isEmpty());
+    }
+
+    @Test
+    public void corruptRecord() throws Exception {
+        long expiry = inOneHour();
+        String id = "session";
+        this.manager.persistSessions(DEPLOYMENT, Map.of(id, new PersistentSession(new Date(expiry), attributes("value"))));
+
+        // Corrupt the attribute count of the record: [magic][version][id length][id][expiration][length][attribute count]
+        try (RandomAccessFile output = new RandomAccessFile(this.file(), "rw")) {
+            output.seek(Integer.BYTES + Byte.BYTES + Integer.BYTES + id.getBytes(StandardCharsets.UTF_8).length + Long.BYTES + Integer.BYTES);
+            output.writeInt(Integer.MAX_VALUE);
+        }
+
+        MappedPersistentSessionManager manager = this.createManager();
+        Map<String, PersistentSession> restored = manager.loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader());
+        Assert.assertEquals(1, restored.size());
+        PersistentSession session = restored.get(id);
+        // The session is reported as expired, so that Undertow does not restore it
+        Assert.assertTrue(session.getExpiration().getTime() < System.currentTimeMillis());
+        Assert.assertTrue(session.getSessionData().isEmpty());
+
+        // The session is not carried over on the next persist
+        manager.persistSessions(DEPLOYMENT, Map.of());
+        Assert.assertTrue(this.createManager().loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader()).isEmpty());
+    }
+
+    @Test
+    public void invalidHeader() throws Exception {
+        this.manager.persistSessions(DEPLOYMENT, Map.of("session", new PersistentSession(new Date(inOneHour()), attributes("value"))));
+        try (RandomAccessFile output = new RandomAccessFile(this.file(), "rw")) {
+            output.writeInt(0);
+        }
+        Assert.assertNull(this.createManager().loadSessionAttributes(DEPLOYMENT, this.getClass().getClassLoader()));
+    }
+
+    private File file() throws IOException {
+        File file = new File(this.folder.getRoot(), DEPLOYMENT + ".sessions");
+        Assert.assertTrue(file.exists());
+        return file;
+    }
+
+    public static class Custom implements Serializable {
+        private static final long serialVersionUID = 8017376213419356839L;
+
+        private final String name;
+        private final int value;
+
+        Custom(String name, int value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.name, this.value);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Custom)) return false;
+            Custom custom = (Custom) object;
+            return this.name.equals(custom.name) && (this.value == custom.value);
+        }
+    }
+}
@@ -10,11 +10,14 @@ import java.util.EnumSet;
 import java.util.Map;
 
 import org.jboss.as.ee.component.ComponentRegistry;
+import org.jboss.as.naming.ImmediateManagedReference;
 import org.jboss.as.naming.ManagedReference;
 import org.jboss.as.naming.ManagedReferenceFactory;
+import org.jboss.as.naming.ValueManagedReference;
 
 /**
  * A {@link WebInjectionContainer} that caches {@link ManagedReference} instances between {@link #newInstance(Object)} and {@link #destroyInstance(Object)}.
+ * References whose release is a no-op, e.g. those of instances created reflectively, are not cached.
  * @author Emanuel Muckenhuber
  * @author Paul Ferraro
  */
@@ -42,8 +45,11 @@ public class CachingWebInjectionContainer extends AbstractWebInjectionContainer
         final ManagedReferenceFactory factory = this.getComponentRegistry().createInstanceFactory(clazz);
         ManagedReference reference = factory.getReference();
         if (reference != null) {
-            this.references.put(reference.getInstance(), reference);
-            return reference.getInstance();
+            final Object instance = reference.getInstance();
+            if (requiresRelease(reference)) {
+                this.references.put(instance, reference);
+            }
+            return instance;
         }
         return clazz.newInstance();
     }
@@ -51,8 +57,13 @@ public class CachingWebInjectionContainer extends AbstractWebInjectionContainer
     @Override
     public void newInstance(Object instance) {
         final ManagedReference reference = this.getComponentRegistry().createInstance(instance);
-        if (reference != null) {
+        if (reference != null && requiresRelease(reference)) {
             this.references.put(instance, reference);
         }
     }
+
+    private static boolean requiresRelease(ManagedReference reference) {
+        // subclasses of ImmediateManagedReference may override release()
+        return reference.getClass() != ImmediateManagedReference.class && !(reference instanceof ValueManagedReference);
+    }
 }
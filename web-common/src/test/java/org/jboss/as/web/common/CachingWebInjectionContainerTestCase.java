@@ -0,0 +1,68 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.web.common;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.jboss.as.ee.component.ComponentRegistry;
+import org.jboss.as.naming.ImmediateManagedReference;
+import org.jboss.as.naming.ManagedReference;
+import org.jboss.as.naming.ManagedReferenceFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CachingWebInjectionContainer}.
+ */
+public class CachingWebInjectionContainerTestCase {
+
+    private final ComponentRegistry registry = mock(ComponentRegistry.class);
+    private final CachingWebInjectionContainer container = new CachingWebInjectionContainer(this.getClass().getClassLoader(), this.registry);
+
+    @Test
+    public void releasableReference() throws Exception {
+        Object instance = new Object();
+        ManagedReference reference = mock(ManagedReference.class);
+        ManagedReferenceFactory factory = mock(ManagedReferenceFactory.class);
+        when(this.registry.createInstanceFactory(Object.class)).thenReturn(factory);
+        when(factory.getReference()).thenReturn(reference);
+        when(reference.getInstance()).thenReturn(instance);
+
+        assertSame(instance, this.container.newInstance(Object.class));
+
+        this.container.destroyInstance(instance);
+        this.container.destroyInstance(instance);
+
+        verify(reference, times(1)).release();
+    }
+
+    @Test
+    public void injectedInstance() {
+        Object instance = new Object();
+        ManagedReference reference = mock(ManagedReference.class);
+        when(this.registry.createInstance(instance)).thenReturn(reference);
+
+        this.container.newInstance(instance);
+        this.container.destroyInstance(instance);
+
+        verify(reference, times(1)).release();
+    }
+
+    @Test
+    public void immediateReference() throws Exception {
+        Object instance = new Object();
+        ManagedReferenceFactory factory = mock(ManagedReferenceFactory.class);
+        when(this.registry.createInstanceFactory(Object.class)).thenReturn(factory);
+        when(factory.getReference()).thenReturn(new ImmediateManagedReference(instance));
+
+        assertSame(instance, this.container.newInstance(Object.class));
+        // nothing to release
+        this.container.destroyInstance(instance);
+    }
+}
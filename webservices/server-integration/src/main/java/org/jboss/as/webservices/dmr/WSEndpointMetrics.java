@@ -9,13 +9,21 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectMapAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.ee.utils.LatencyHistogram;
+import org.jboss.as.webservices.invocation.OperationMetrics;
 import org.jboss.as.webservices.logging.WSLogger;
 import org.jboss.as.webservices.util.ServiceContainerEndpointRegistry;
 import org.jboss.as.webservices.util.WSServices;
@@ -66,14 +74,43 @@ final class WSEndpointMetrics implements OperationStepHandler {
             .setStorageRuntime()
             .build();
 
+    private static final AttributeDefinition INVOCATIONS = new SimpleAttributeDefinitionBuilder("invocations", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+    private static final AttributeDefinition FAULTS = new SimpleAttributeDefinitionBuilder("faults", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
+            .build();
+
+    private static final double[] PERCENTILES = new double[] { 50d, 90d, 99d, 99.9d };
+    private static final AttributeDefinition[] PERCENTILE_FIELDS = new AttributeDefinition[] {
+            createPercentileField("p50"), createPercentileField("p90"), createPercentileField("p99"), createPercentileField("p999"), createPercentileField("max") };
+
+    static final AttributeDefinition OPERATIONS = ObjectMapAttributeDefinition.Builder.of("operations",
+            ObjectTypeAttributeDefinition.Builder.of("operation", INVOCATIONS, FAULTS, PERCENTILE_FIELDS[0], PERCENTILE_FIELDS[1],
+                    PERCENTILE_FIELDS[2], PERCENTILE_FIELDS[3], PERCENTILE_FIELDS[4])
+            .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
 
     static final AttributeDefinition[] ATTRIBUTES = {MIN_PROCESSING_TIME, MAX_PROCESSING_TIME, AVERAGE_PROCESSING_TIME,
-            TOTAL_PROCESSING_TIME, REQUEST_COUNT, RESPONSE_COUNT, FAULT_COUNT};
+            TOTAL_PROCESSING_TIME, REQUEST_COUNT, RESPONSE_COUNT, FAULT_COUNT, OPERATIONS};
 
 
     private WSEndpointMetrics() {
     }
 
+    private static AttributeDefinition createPercentileField(String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+                .setStorageRuntime()
+                .build();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -116,6 +153,16 @@ final class WSEndpointMetrics implements OperationStepHandler {
             throw new OperationFailedException(WSLogger.ROOT_LOGGER.noMetricsAvailable());
         }
         final ModelNode result = new ModelNode();
+        if (OPERATIONS.getName().equals(metricName)) {
+            final OperationMetrics operationMetrics = endpoint.getAttachment(OperationMetrics.class);
+            if (operationMetrics != null) {
+                result.setEmptyObject();
+                for (Map.Entry<String, OperationMetrics.Values> entry : operationMetrics.getOperations().entrySet()) {
+                    result.get(entry.getKey()).set(getOperationMetrics(entry.getValue()));
+                }
+            }
+            return result;
+        }
         final EndpointMetrics endpointMetrics = endpoint.getEndpointMetrics();
         if (endpointMetrics != null) {
             if (MIN_PROCESSING_TIME.getName().equals(metricName)) {
@@ -137,6 +184,19 @@ final class WSEndpointMetrics implements OperationStepHandler {
         return result;
     }
 
+    private static ModelNode getOperationMetrics(final OperationMetrics.Values values) {
+        final ModelNode result = new ModelNode();
+        result.get(INVOCATIONS.getName()).set(values.getInvocations());
+        result.get(FAULTS.getName()).set(values.getFaults());
+        final LatencyHistogram histogram = values.getExecutionTimeHistogram();
+        final long[] percentiles = histogram.getValuesAtPercentiles(PERCENTILES);
+        for (int i = 0; i < percentiles.length; ++i) {
+            result.get(PERCENTILE_FIELDS[i].getName()).set(TimeUnit.NANOSECONDS.toMicros(percentiles[i]));
+        }
+        result.get(PERCENTILE_FIELDS[percentiles.length].getName()).set(TimeUnit.NANOSECONDS.toMicros(histogram.getMax()));
+        return result;
+    }
+
     private static String getFallbackMessage() {
         return WSLogger.ROOT_LOGGER.noMetricsAvailable();
     }
@@ -14,7 +14,9 @@ import java.lang.reflect.UndeclaredThrowableException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.management.MBeanException;
 import jakarta.xml.ws.soap.SOAPFaultException;
@@ -45,14 +47,18 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
    private volatile ServiceName componentViewName;
    private volatile ComponentView componentView;
    protected volatile ManagedReference reference;
+   // SEI method -> component view method, resolved once per operation
+   private final Map<Method, Operation> operations = new ConcurrentHashMap<>();
+   private final OperationMetrics operationMetrics = new OperationMetrics();
 
    /**
-    * Initializes component view name.
+    * Initializes component view name and attaches the operation metrics to the endpoint.
     *
     * @param endpoint web service endpoint
     */
    public void init(final Endpoint endpoint) {
        componentViewName = (ServiceName) endpoint.getProperty(COMPONENT_VIEW_NAME);
+       endpoint.addAttachment(OperationMetrics.class, operationMetrics);
    }
 
     /**
@@ -134,10 +140,10 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
                     ((WSComponent) component).setReference(reference);
                 }
             }
-        final Method method = getComponentViewMethod(wsInvocation.getJavaMethod(), componentView.getViewMethods());
+        final Operation operation = getOperation(wsInvocation.getJavaMethod(), componentView);
         final InterceptorContext context = new InterceptorContext();
         prepareForInvocation(context, wsInvocation);
-        context.setMethod(method);
+        context.setMethod(operation.viewMethod);
         context.setParameters(wsInvocation.getArgs());
         context.putPrivateData(Component.class, component);
         context.putPrivateData(ComponentView.class, componentView);
@@ -148,11 +154,27 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
             context.putPrivateData(ManagedReference.class, reference);
         }
         // invoke method
-        final Object retObj = componentView.invoke(context);
-        // set return value
-        wsInvocation.setReturnValue(retObj);
+        final long start = System.nanoTime();
+        boolean fault = true;
+        try {
+            final Object retObj = componentView.invoke(context);
+            // set return value
+            wsInvocation.setReturnValue(retObj);
+            fault = false;
+        } finally {
+            operation.metrics.record(System.nanoTime() - start, fault);
+        }
     }
 
+   private Operation getOperation(final Method seiMethod, final ComponentView componentView) {
+       Operation operation = operations.get(seiMethod);
+       if (operation == null) {
+           operation = operations.computeIfAbsent(seiMethod, key -> new Operation(getComponentViewMethod(key, componentView.getViewMethods()),
+                   operationMetrics.getValues(key)));
+       }
+       return operation;
+   }
+
    protected void prepareForInvocation(final InterceptorContext context, final Invocation wsInvocation) {
       // does nothing
    }
@@ -211,7 +233,7 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
     * @param viewMethod target method
     * @return true if they match, false otherwise
     */
-   private boolean matches(final Method seiMethod, final Method viewMethod) {
+   private static boolean matches(final Method seiMethod, final Method viewMethod) {
        if (!seiMethod.getName().equals(viewMethod.getName())) return false;
        final Class<?>[] sourceParams = seiMethod.getParameterTypes();
        final Class<?>[] targetParams = viewMethod.getParameterTypes();
@@ -222,5 +244,13 @@ abstract class AbstractInvocationHandler extends org.jboss.ws.common.invocation.
        return true;
    }
 
-}
+   private static final class Operation {
+       private final Method viewMethod;
+       private final OperationMetrics.Values metrics;
 
+       Operation(final Method viewMethod, final OperationMetrics.Values metrics) {
+           this.viewMethod = viewMethod;
+           this.metrics = metrics;
+       }
+   }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.jboss.as.webservices.invocation;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.jboss.as.ee.utils.LatencyHistogram;
+
+/**
+ * Invocation metrics of the operations of a WS endpoint, attached to the endpoint by its invocation handler.
+ */
+public final class OperationMetrics {
+
+    private final Map<String, Values> operations = new ConcurrentHashMap<>();
+
+    Values getValues(final Method method) {
+        // SEI methods with the same signature are the same operation, even if declared by distinct interfaces
+        return operations.computeIfAbsent(method.getName() + Arrays.stream(method.getParameterTypes()).map(Class::getTypeName).collect(Collectors.joining(",", "(", ")")), key -> new Values());
+    }
+
+    /**
+     * Returns the metrics of each invoked operation, keyed by operation name.
+     * Overloaded operations are distinguished by their parameter types.
+     *
+     * @return a map of operation metrics
+     */
+    public Map<String, Values> getOperations() {
+        final Map<String, Long> overloads = operations.keySet().stream().collect(Collectors.groupingBy(OperationMetrics::getName, Collectors.counting()));
+        final Map<String, Values> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Values> entry : operations.entrySet()) {
+            final String name = getName(entry.getKey());
+            result.put(overloads.get(name) > 1 ? entry.getKey() : name, entry.getValue());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static String getName(final String signature) {
+        return signature.substring(0, signature.indexOf('('));
+    }
+
+    public static final class Values {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder faults = new LongAdder();
+        private final LatencyHistogram executionTime = new LatencyHistogram();
+
+        void record(final long nanos, final boolean fault) {
+            invocations.increment();
+            if (fault) {
+                faults.increment();
+            }
+            executionTime.record(nanos);
+        }
+
+        public long getInvocations() {
+            return invocations.sum();
+        }
+
+        public long getFaults() {
+            return faults.sum();
+        }
+
+        public LatencyHistogram getExecutionTimeHistogram() {
+            return executionTime;
+        }
+    }
+}
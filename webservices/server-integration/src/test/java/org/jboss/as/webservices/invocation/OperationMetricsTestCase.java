@@ -0,0 +1,56 @@
+/*
+ * Copyright The WildFly Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.jboss.as.webservices.invocation;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link OperationMetrics}.
+ */
+public class OperationMetricsTestCase {
+
+    @Test
+    public void testOverloadedOperations() throws NoSuchMethodException {
+        OperationMetrics metrics = new OperationMetrics();
+        Method echoString = Endpoint.class.getMethod("echo", String.class);
+        Method echoInt = Endpoint.class.getMethod("echo", int.class);
+        Method ping = Endpoint.class.getMethod("ping");
+        // Same signature, declared by another interface
+        Method inheritedPing = OtherEndpoint.class.getMethod("ping");
+
+        metrics.getValues(echoString).record(TimeUnit.MILLISECONDS.toNanos(1), false);
+        metrics.getValues(echoString).record(TimeUnit.MILLISECONDS.toNanos(1), true);
+        metrics.getValues(echoInt).record(TimeUnit.MILLISECONDS.toNanos(1), false);
+        metrics.getValues(ping).record(TimeUnit.MILLISECONDS.toNanos(1), false);
+        metrics.getValues(inheritedPing).record(TimeUnit.MILLISECONDS.toNanos(1), false);
+
+        Map<String, OperationMetrics.Values> operations = metrics.getOperations();
+        Assert.assertEquals(3, operations.size());
+        Assert.assertEquals(2, operations.get("echo(java.lang.String)").getInvocations());
+        Assert.assertEquals(1, operations.get("echo(java.lang.String)").getFaults());
+        Assert.assertEquals(1, operations.get("echo(int)").getInvocations());
+        Assert.assertEquals(0, operations.get("echo(int)").getFaults());
+        // Operations that are not overloaded are keyed by name only
+        Assert.assertEquals(2, operations.get("ping").getInvocations());
+    }
+
+    public interface Endpoint {
+        String echo(String value);
+
+        int echo(int value);
+
+        void ping();
+    }
+
+    public interface OtherEndpoint {
+        void ping();
+    }
+}